@@ -18,14 +18,26 @@ package org.eclipse.jdt.core.groovy.tests.builder;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
+import java.net.URLClassLoader;
 import java.util.Arrays;
 import java.util.Hashtable;
 import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import groovy.lang.GroovyClassLoader;
 
 import org.codehaus.groovy.ast.ClassHelper;
 import org.codehaus.groovy.ast.ClassNode;
@@ -37,13 +49,19 @@ import org.codehaus.groovy.ast.PropertyNode;
 import org.codehaus.groovy.ast.expr.ConstructorCallExpression;
 import org.codehaus.groovy.ast.expr.Expression;
 import org.codehaus.groovy.ast.stmt.ReturnStatement;
+import org.codehaus.groovy.control.CompilationUnit;
+import org.codehaus.groovy.control.Phases;
+import org.codehaus.groovy.tools.GroovyClass;
 import org.codehaus.groovy.vmplugin.VMPluginFactory;
+import org.codehaus.jdt.groovy.internal.compiler.ast.GroovyParser;
 import org.codehaus.jdt.groovy.internal.compiler.ast.JDTClassNode;
 import org.codehaus.jdt.groovy.internal.compiler.ast.JDTResolver;
 import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
 import org.codehaus.jdt.groovy.model.ModuleNodeMapper.ModuleNodeInfo;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
@@ -52,9 +70,12 @@ import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.compiler.CategorizedProblem;
 import org.eclipse.jdt.core.tests.builder.Problem;
 import org.eclipse.jdt.groovy.core.Activator;
+import org.eclipse.jdt.groovy.core.util.ReflectionUtils;
 import org.eclipse.jdt.groovy.search.VariableScope;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.core.JavaModelManager;
 import org.eclipse.jdt.internal.core.builder.AbstractImageBuilder;
+import org.eclipse.jdt.internal.core.builder.JavaBuilder;
 import org.junit.After;
 import org.junit.Ignore;
 import org.junit.Test;
@@ -3205,4 +3226,310 @@ public final class BasicGroovyBuildTests extends BuilderTestSuite {
         expectingCompiledClasses("a.Hello", "b.Hello", "c.Hello", "d.Hello");
         expectingNoProblems();
     }
+
+    @Test
+    public void testClosureChangeDoesNotRecompileDependents() throws Exception {
+        IPath[] paths = createSimpleProject("Project", true);
+
+        env.addGroovyClass(paths[1], "p", "Foo",
+            "package p\n" +
+            "class Foo {\n" +
+            "  def bar() {\n" +
+            "    [1, 2].each { println it }\n" +
+            "  }\n" +
+            "}\n");
+        env.addGroovyClass(paths[1], "p", "Baz",
+            "package p\n" +
+            "class Baz {\n" +
+            "  def baz() { new Foo().bar() }\n" +
+            "}\n");
+        incrementalBuild(paths[0]);
+        expectingCompiledClasses("p.Baz", "p.Foo", "p.Foo$_bar_closure1");
+        expectingNoProblems();
+
+        // add a closure ahead of the existing one, which renumbers it
+        env.addGroovyClass(paths[1], "p", "Foo",
+            "package p\n" +
+            "class Foo {\n" +
+            "  def bar() {\n" +
+            "    [3].collect { it * 2 }\n" +
+            "    [1, 2].each { println it }\n" +
+            "  }\n" +
+            "}\n");
+        incrementalBuild(paths[0]);
+        expectingCompiledClasses("p.Foo", "p.Foo$_bar_closure1", "p.Foo$_bar_closure2");
+        expectingNoProblems();
+
+        // remove it again
+        env.addGroovyClass(paths[1], "p", "Foo",
+            "package p\n" +
+            "class Foo {\n" +
+            "  def bar() {\n" +
+            "    [1, 2].each { println it }\n" +
+            "  }\n" +
+            "}\n");
+        incrementalBuild(paths[0]);
+        expectingCompiledClasses("p.Foo", "p.Foo$_bar_closure1");
+        expectingNoProblems();
+    }
+
+    @Test
+    public void testClosureSignatureChangeDoesNotRecompileDependents() throws Exception {
+        IPath[] paths = createSimpleProject("Project", true);
+
+        env.addGroovyClass(paths[1], "p", "Foo",
+            "package p\n" +
+            "class Foo {\n" +
+            "  def bar() {\n" +
+            "    def c = { -> 'bar' }\n" +
+            "    c()\n" +
+            "  }\n" +
+            "}\n");
+        env.addGroovyClass(paths[1], "p", "Baz",
+            "package p\n" +
+            "class Baz {\n" +
+            "  def baz() { new Foo().bar() }\n" +
+            "}\n");
+        incrementalBuild(paths[0]);
+        expectingCompiledClasses("p.Baz", "p.Foo", "p.Foo$_bar_closure1");
+        expectingNoProblems();
+
+        // change the parameters of the closure, which changes the signature of its doCall method
+        env.addGroovyClass(paths[1], "p", "Foo",
+            "package p\n" +
+            "class Foo {\n" +
+            "  def bar() {\n" +
+            "    def c = { String s -> s }\n" +
+            "    c('bar')\n" +
+            "  }\n" +
+            "}\n");
+        incrementalBuild(paths[0]);
+        expectingCompiledClasses("p.Foo", "p.Foo$_bar_closure1");
+        expectingNoProblems();
+    }
+
+    @Test
+    public void testTouchedSourceNotRecompiled() throws Exception {
+        IPath[] paths = createSimpleProject("Project", true);
+
+        IPath hello = env.addGroovyClass(paths[1], "p", "Hello",
+            "package p\n" +
+            "class Hello {\n" +
+            "  static main(args) { print 'Hello world' }\n" +
+            "}\n");
+        incrementalBuild(paths[0]);
+        expectingCompiledClasses("p.Hello");
+        expectingNoProblems();
+
+        // a touch (or checkout or refresh) that leaves the contents as they were
+        ResourcesPlugin.getWorkspace().getRoot().getFile(hello).touch(null);
+        incrementalBuild(paths[0]);
+        expectingCompiledClasses();
+
+        env.addGroovyClass(paths[1], "p", "Hello",
+            "package p\n" +
+            "class Hello {\n" +
+            "  static main(args) { print 'Hello Groovy world' }\n" +
+            "}\n");
+        incrementalBuild(paths[0]);
+        expectingCompiledClasses("p.Hello");
+        expectingNoProblems();
+    }
+
+    @Test
+    public void testTouchedSourceWithProblemsRecompiled() throws Exception {
+        IPath[] paths = createSimpleProject("Project", true);
+
+        IPath hello = env.addGroovyClass(paths[1], "p", "Hello",
+            "package p\n" +
+            "class Hello {\n" +
+            "  Missing m\n" +
+            "}\n");
+        incrementalBuild(paths[0]);
+        assertEquals(1, env.getProblemsFor(hello).length);
+
+        // touching a source with problems still forces it to be compiled
+        ResourcesPlugin.getWorkspace().getRoot().getFile(hello).touch(null);
+        incrementalBuild(paths[0]);
+        expectingCompiledClasses("p.Hello");
+        assertEquals(1, env.getProblemsFor(hello).length);
+    }
+
+    @Test
+    public void testStateWithoutContentHashes() throws Exception {
+        IPath[] paths = createSimpleProject("Project", true);
+
+        IPath hello = env.addGroovyClass(paths[1], "p", "Hello",
+            "package p\n" +
+            "class Hello {\n" +
+            "}\n");
+        incrementalBuild(paths[0]);
+        expectingCompiledClasses("p.Hello");
+
+        // write the state as a builder that does not know the content hashes would
+        IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject("Project");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        JavaBuilder.writeState(JavaModelManager.getJavaModelManager().getLastBuiltState(project, null), out);
+        out.close();
+        // trailing section: count, then the locator index and the SHA-1 digest (in hex) of Hello.groovy
+        byte[] withoutHashes = Arrays.copyOf(bytes.toByteArray(), bytes.size() - (4 + 4 + 2 + 40));
+
+        Object state = JavaBuilder.readState(project, new DataInputStream(new ByteArrayInputStream(withoutHashes)));
+        assertNotNull(state);
+        JavaModelManager.getJavaModelManager().setLastBuiltState(project, state);
+
+        // no digest, so a touched source is compiled; then its digest is known again
+        ResourcesPlugin.getWorkspace().getRoot().getFile(hello).touch(null);
+        incrementalBuild(paths[0]);
+        expectingCompiledClasses("p.Hello");
+        expectingNoProblems();
+
+        ResourcesPlugin.getWorkspace().getRoot().getFile(hello).touch(null);
+        incrementalBuild(paths[0]);
+        expectingCompiledClasses();
+    }
+
+    @Test
+    public void testTypeLookupCache() throws Exception {
+        IPath[] paths = createSimpleProject("Project", true);
+
+        // qualified names are looked up once per build; the outcome must hold for every unit
+        IPath one = env.addGroovyClass(paths[1], "p", "One",
+            "package p\n" +
+            "class One {\n" +
+            "  java.util.concurrent.atomic.AtomicInteger i\n" +
+            "  a.b.Missing m\n" +
+            "}\n");
+        IPath two = env.addGroovyClass(paths[1], "p", "Two",
+            "package p\n" +
+            "class Two {\n" +
+            "  java.util.concurrent.atomic.AtomicInteger i\n" +
+            "  a.b.Missing m\n" +
+            "}\n");
+
+        incrementalBuild(paths[0]);
+        for (IPath path : new IPath[] {one, two}) {
+            Problem[] problems = env.getProblemsFor(path);
+            assertEquals(Arrays.toString(problems), 1, problems.length);
+            assertTrue(problems[0].getMessage(), problems[0].getMessage().contains("unable to resolve class a.b.Missing"));
+        }
+    }
+
+    @Test
+    public void testMissingTypeCacheWithSourcePackage() throws Exception {
+        IPath[] paths = createSimpleProject("Project", true);
+
+        IPath main = env.addGroovyClass(paths[1], "p", "Main",
+            "package p\n" +
+            "class Main {\n" +
+            "  def m() { new Helper() }\n" +
+            "}\n");
+
+        incrementalBuild(paths[0]);
+        Problem[] problems = env.getProblemsFor(main);
+        assertEquals(Arrays.toString(problems), 1, problems.length);
+        assertTrue(problems[0].getMessage(), problems[0].getMessage().contains("unable to resolve class Helper"));
+
+        // add the type to a default-import package in the project's sources
+        env.addGroovyClass(paths[1], "groovy.util", "Helper",
+            "package groovy.util\n" +
+            "class Helper {\n" +
+            "}\n");
+        incrementalBuild(paths[0]);
+
+        // compile Main alone, so Helper is looked up instead of found in the same compilation
+        env.addGroovyClass(paths[1], "p", "Main",
+            "package p\n" +
+            "class Main {\n" +
+            "  def m() { new Helper() }\n" +
+            "  def n() { }\n" +
+            "}\n");
+        incrementalBuild(paths[0]);
+        expectingCompiledClasses("p.Main");
+        expectingNoProblems();
+    }
+
+    @Test
+    public void testSharedClassLoaders() throws Exception {
+        createSimpleProject("ProjectA", true);
+        createSimpleProject("ProjectB", true);
+        fullBuild();
+
+        // projects with the same archives share the loader of those archives
+        URLClassLoader loader = getArchiveClassLoader("ProjectA");
+        assertSame(loader, getArchiveClassLoader("ProjectB"));
+
+        GroovyParser.clearCache("ProjectA");
+        assertNotNull(loader.findResource("groovy/lang/GroovyObject.class"));
+        assertSame(loader, getArchiveClassLoader("ProjectA"));
+
+        GroovyParser.clearCache("ProjectA");
+        GroovyParser.clearCache("ProjectB");
+        // closed once the last project that references it is cleared
+        assertNull(loader.findResource("groovy/lang/GroovyObject.class"));
+        assertNotSame(loader, getArchiveClassLoader("ProjectB"));
+    }
+
+    @Test
+    public void testSharedClassLoadersClearAll() throws Exception {
+        createSimpleProject("ProjectA", true);
+        createSimpleProject("ProjectB", true);
+        fullBuild();
+
+        URLClassLoader loader = getArchiveClassLoader("ProjectA");
+        assertSame(loader, getArchiveClassLoader("ProjectB"));
+
+        Class<?> factory = GroovyParser.class.getClassLoader().loadClass("org.codehaus.jdt.groovy.internal.compiler.GroovyClassLoaderFactory");
+        ReflectionUtils.executePrivateMethod(factory, "clearCache", null);
+        assertNull(loader.findResource("groovy/lang/GroovyObject.class"));
+    }
+
+    @Test
+    public void testOutputFolderClassAheadOfArchive() throws Exception {
+        IPath[] paths = createSimpleProject("Project", true);
+
+        // an archive that has a class with the same name as one of the project's
+        File jar = env.getProject("Project").getLocation().append("dup.jar").toFile();
+        CompilationUnit unit = new CompilationUnit();
+        unit.addSource("Dup.groovy", "package p\nclass Dup { String fromArchive }\n");
+        unit.compile(Phases.CLASS_GENERATION);
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+            for (Object type : unit.getClasses()) {
+                out.putNextEntry(new JarEntry(((GroovyClass) type).getName().replace('.', '/') + ".class"));
+                out.write(((GroovyClass) type).getBytes());
+                out.closeEntry();
+            }
+        }
+        env.addExternalJar(paths[0], jar.getAbsolutePath());
+
+        env.addGroovyClass(paths[1], "p", "Dup",
+            "package p\n" +
+            "class Dup { String fromProject }\n");
+        fullBuild(paths[0]);
+        expectingNoProblems();
+
+        CompilerOptions options = new CompilerOptions();
+        options.groovyProjectName = "Project";
+        GroovyParser parser = new GroovyParser(options, null, true, false);
+        GroovyClassLoader classLoader = ((CompilationUnit) ReflectionUtils.getPrivateField(GroovyParser.class, "compilationUnit", parser)).getClassLoader();
+
+        assertEquals("file", classLoader.getResource("p/Dup.class").getProtocol());
+        assertNotNull(classLoader.loadClass("p.Dup").getDeclaredField("fromProject"));
+    }
+
+    private static URLClassLoader getArchiveClassLoader(String projectName) {
+        CompilerOptions options = new CompilerOptions();
+        options.groovyProjectName = projectName;
+        GroovyParser parser = new GroovyParser(options, null, true, false);
+        CompilationUnit unit = ReflectionUtils.getPrivateField(GroovyParser.class, "compilationUnit", parser);
+        GroovyClassLoader classLoader = unit.getClassLoader();
+
+        // output folders are loaded by a child-first loader over the loader for the archives
+        URLClassLoader loader = (URLClassLoader) classLoader.getParent();
+        while (Arrays.stream(loader.getURLs()).noneMatch(url -> url.getPath().endsWith(".jar"))) {
+            loader = (URLClassLoader) loader.getParent();
+        }
+        return loader;
+    }
 }
@@ -39,6 +39,7 @@ import org.eclipse.jdt.groovy.core.Activator;
 import org.eclipse.jdt.groovy.core.util.ScriptFolderSelector;
 import org.eclipse.jdt.groovy.core.util.ScriptFolderSelector.FileKind;
 import org.eclipse.jdt.internal.core.CompilationUnit;
+import org.eclipse.jdt.internal.core.util.Util;
 import org.junit.After;
 import org.junit.Test;
 
@@ -365,6 +366,93 @@ public final class ScriptFolderTests extends BuilderTestSuite {
         preferences.put(Activator.USING_PROJECT_PROPERTIES, "false");
     }
 
+    @Test
+    public void testScriptCopiesInOneBuild() throws Exception {
+        IPath[] paths = createScriptFoldersProject();
+        env.addGroovyClass(paths[1], "A", "def a");
+        env.addGroovyClass(paths[1], "p", "B", "def b");
+        env.addGroovyClass(paths[2], "p.q", "C", "def c");
+        fullBuild(paths[0]);
+
+        assertExists("Project/bin/A.groovy");
+        assertExists("Project/bin/p/B.groovy");
+        assertExists("Project/bin/p/q/C.groovy");
+
+        env.addGroovyClass(paths[1], "p", "B", "def b = 'changed'");
+        incrementalBuild(paths[0]);
+
+        assertExists("Project/bin/p/B.groovy");
+        assertEquals("def b = 'changed'", getContents("Project/bin/p/B.groovy"));
+    }
+
+    @Test
+    public void testScriptCopyNotRepeated() throws Exception {
+        IPath[] paths = createScriptFoldersProject();
+        // a script with problems is passed to the participant again when touched
+        IPath path = env.addGroovyClass(paths[1], "p", "Script", "def x = ");
+        fullBuild(paths[0]);
+
+        assertExists("Project/bin/p/Script.groovy");
+        IFile copy = env.getWorkspace().getRoot().getFile(new Path("Project/bin/p/Script.groovy"));
+        long stamp = copy.getModificationStamp();
+
+        env.getWorkspace().getRoot().getFile(path).touch(null);
+        incrementalBuild(paths[0]);
+
+        assertExists("Project/bin/p/Script.groovy");
+        assertEquals("Copy should not be made again", stamp, copy.getModificationStamp());
+    }
+
+    @Test
+    public void testDeletedScriptCopyRemoved() throws Exception {
+        IPath[] paths = createScriptFoldersProject();
+        IPath path = env.addGroovyClass(paths[1], "p", "Script", "def x");
+        env.addGroovyClass(paths[1], "p", "Other", "def y");
+        fullBuild(paths[0]);
+
+        assertExists("Project/bin/p/Script.groovy");
+
+        env.removeFile(path);
+        incrementalBuild(paths[0]);
+
+        assertNoExists("Project/bin/p/Script.groovy");
+        assertExists("Project/bin/p/Other.groovy");
+    }
+
+    @Test
+    public void testMovedScriptCopyKept() throws Exception {
+        IPath[] paths = createScriptFoldersProject();
+        IPath path = env.addGroovyClass(paths[1], "p", "Script", "def x");
+        fullBuild(paths[0]);
+
+        assertExists("Project/bin/p/Script.groovy");
+
+        // both source folders have the same output folder
+        env.removeFile(path);
+        env.addGroovyClass(paths[2], "p", "Script", "def x");
+        incrementalBuild(paths[0]);
+
+        assertExists("Project/bin/p/Script.groovy");
+    }
+
+    @Test
+    public void testDeletedScriptCopyRemovedAfterReopen() throws Exception {
+        IPath[] paths = createScriptFoldersProject();
+        IPath path = env.addGroovyClass(paths[1], "p", "Script", "def x");
+        env.addGroovyClass(paths[1], "p", "Other", "def y");
+        fullBuild(paths[0]);
+
+        // copies made before the project was closed are not known after it is opened
+        env.closeProject(paths[0]);
+        env.openProject(paths[0]);
+
+        env.removeFile(path);
+        incrementalBuild(paths[0]);
+
+        assertNoExists("Project/bin/p/Script.groovy");
+        assertExists("Project/bin/p/Other.groovy");
+    }
+
     //--------------------------------------------------------------------------
 
     private static IProject createPredefinedProject(final String projectName) throws Exception {
@@ -421,6 +509,24 @@ public final class ScriptFolderTests extends BuilderTestSuite {
         return (CompilationUnit) JavaCore.createCompilationUnitFrom(env.getWorkspace().getRoot().getFile(path));
     }
 
+    private static IPath[] createScriptFoldersProject() throws Exception {
+        Activator.getInstancePreferences().putBoolean(Activator.GROOVY_SCRIPT_FILTERS_ENABLED, true);
+        Activator.getInstancePreferences().put(Activator.GROOVY_SCRIPT_FILTERS, "scripts/**/*.groovy,y,scripts2/**/*.groovy,y");
+        IPath projectPath = env.addProject("Project");
+        env.addGroovyJars(projectPath);
+
+        env.removePackageFragmentRoot(projectPath, "");
+        IPath root = env.addPackageFragmentRoot(projectPath, "scripts");
+        IPath root2 = env.addPackageFragmentRoot(projectPath, "scripts2");
+        env.setOutputFolder(projectPath, "bin");
+        return new IPath[] {projectPath, root, root2};
+    }
+
+    private static String getContents(String projectRelativePath) throws Exception {
+        IFile file = env.getWorkspace().getRoot().getFile(new Path(projectRelativePath));
+        return new String(Util.getResourceContentsAsCharArray(file));
+    }
+
     private static void assertExists(String projectRelativePath) {
         IWorkspaceRoot root = env.getWorkspace().getRoot();
         IFile file = root.getFile(new Path(projectRelativePath));
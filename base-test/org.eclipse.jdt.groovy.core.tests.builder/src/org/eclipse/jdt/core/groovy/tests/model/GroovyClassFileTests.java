@@ -16,8 +16,12 @@
 package org.eclipse.jdt.core.groovy.tests.model;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import org.codehaus.groovy.ast.ModuleNode;
+import org.codehaus.jdt.groovy.model.GroovyClassFileWorkingCopy;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.jdt.core.IClassFile;
 import org.eclipse.jdt.core.IJavaElement;
@@ -25,7 +29,10 @@ import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.WorkingCopyOwner;
 import org.eclipse.jdt.internal.core.BinaryType;
+import org.eclipse.jdt.internal.core.ClassFile;
+import org.eclipse.jdt.internal.core.DefaultWorkingCopyOwner;
 import org.junit.Test;
 
 /**
@@ -78,6 +85,27 @@ public final class GroovyClassFileTests  extends GroovyTypeRootTestSuite {
         lookForProperties(classFile, contents, "prop2");
     }
 
+    @Test
+    public void testClassFileWorkingCopyReused() throws Exception {
+        IProject project = createSimpleGroovyProject().getProject();
+        env.addJar(project.getFullPath(), "lib/test-groovy-project.jar");
+        IJavaProject javaProject = JavaCore.create(project);
+        ClassFile classFile = (ClassFile) javaProject.findType("AGroovyClass").getClassFile();
+
+        GroovyClassFileWorkingCopy workingCopy = GroovyClassFileWorkingCopy.forClassFile(classFile, null);
+        ModuleNode moduleNode = workingCopy.getModuleNode();
+        assertSame(workingCopy, GroovyClassFileWorkingCopy.forClassFile(classFile, DefaultWorkingCopyOwner.PRIMARY));
+        assertSame(moduleNode, GroovyClassFileWorkingCopy.forClassFile(classFile, null).getModuleNode());
+
+        // each owner has its own working copy
+        assertNotSame(workingCopy, GroovyClassFileWorkingCopy.forClassFile(classFile, new WorkingCopyOwner() {}));
+
+        // a change to the classpath invalidates it
+        env.addJar(project.getFullPath(), "lib/code-select/test-project-for-code-select.jar");
+        classFile = (ClassFile) javaProject.findType("AGroovyClass").getClassFile();
+        assertNotSame(workingCopy, GroovyClassFileWorkingCopy.forClassFile(classFile, null));
+    }
+
     private void lookForProperties(IClassFile classFile, String contents, String prop) throws Exception {
         int first = contents.indexOf(prop),
             second = contents.indexOf(prop, first + 1),
@@ -224,6 +224,26 @@ public final class GroovyCompilationUnitTests extends GroovyTypeRootTestSuite {
         assertTrue("getNewModuleNode() should have forced creation of a new module node", module1 != module2);
     }
 
+    @Test
+    public void testStructureOnly() throws Exception {
+        IPath path = env.addGroovyClass(createEmptyGroovyProject(), "p", "X",
+            "package p\n" +
+            "class X {\n" +
+            "  String name\n" +
+            "  def method(Unknown u) {}\n" +
+            "}\n" +
+            "class Y extends X {}\n");
+
+        GroovyCompilationUnit unit = env.getUnit(path);
+        assertFalse(unit.isWorkingCopy());
+        IType[] types = unit.getTypes();
+        assertEquals(2, types.length);
+        assertEquals("X", types[0].getElementName());
+        assertTrue(types[0].getField("name").exists());
+        assertTrue(types[0].getMethod("method", new String[] {"QUnknown;"}).exists());
+        assertEquals("X", types[1].getSuperclassName());
+    }
+
     @Test
     public void testMarkerAnnotation1() throws Exception {
         IPath root = createAnnotationGroovyProject();
@@ -639,6 +639,29 @@ public final class DeclarationInferencingTests extends InferencingTestSuite {
         assertDeclaration(contents, start, end, "A", "field", DeclarationKind.PROPERTY);
     }
 
+    @Test
+    public void testRepeatedLookupsWithDifferentArguments() {
+        createUnit("A",
+            "class A {\n" +
+            "  String  m(String s) {}\n" +
+            "  Integer m(Integer i) {}\n" +
+            "  static A m() {}\n" +
+            "}");
+
+        String contents =
+            "def a = new A()\n" +
+            "a.m('')\n" +
+            "a.m(1)\n" +
+            "A.m()\n" +
+            "a.m('')\n";
+        int start = contents.indexOf("m(1)");
+        assertType(contents, start, start + 1, "java.lang.Integer");
+        start = contents.indexOf("m()");
+        assertType(contents, start, start + 1, "A");
+        start = contents.lastIndexOf("m('')");
+        assertType(contents, start, start + 1, "java.lang.String");
+    }
+
     @Test // GRECLIPSE-1105
     public void testFluentInterfaceWithFieldNameConflicts() {
         createUnit("A",
@@ -54,6 +54,29 @@ public final class GenericInferencingTests extends InferencingTestSuite {
         assertType(contents, start, end, "java.lang.Class<java.util.List<java.lang.String>>");
     }
 
+    @Test
+    public void testDistinctParameterizations() {
+        createUnit("Pair",
+            "class Pair<L, R> extends ArrayList<R> {\n" +
+            "  L left\n" +
+            "}");
+
+        String contents =
+            "Pair<String, Integer> a\n" +
+            "Pair<Integer, String> b\n" +
+            "a.left; a.get(0)\n" +
+            "b.left; b.get(0)\n" +
+            "a.get(0); a.left\n";
+        int start = contents.indexOf("b.get") + 2;
+        assertType(contents, start, start + 3, "java.lang.String");
+        start = contents.indexOf("b.left") + 2;
+        assertType(contents, start, start + 4, "java.lang.Integer");
+        start = contents.lastIndexOf("a.get") + 2;
+        assertType(contents, start, start + 3, "java.lang.Integer");
+        start = contents.lastIndexOf("a.left") + 2;
+        assertType(contents, start, start + 4, "java.lang.String");
+    }
+
     @Test
     public void testList1() {
         assertType("new LinkedList<String>()", "java.util.LinkedList<java.lang.String>");
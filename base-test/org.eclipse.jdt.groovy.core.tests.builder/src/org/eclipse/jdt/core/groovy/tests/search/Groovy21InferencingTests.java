@@ -239,6 +239,26 @@ public final class Groovy21InferencingTests extends InferencingTestSuite {
         assertUnknownConfidence(contents, offset, offset + 1, "B", false);
     }
 
+    @Test // annotation values are evaluated once, but target type varies by call
+    public void testDelegatesToTarget6() {
+        createUnit("C", "import groovy.lang.DelegatesTo.Target; class C { static def cat(\n" +
+            "@Target('self') Object self, @DelegatesTo(target='self', strategy=Closure.DELEGATE_FIRST) Closure code) { } }");
+
+        String contents = "class A { def x }\n" +
+            "class B { def y\n" +
+            "  def m(A a, B b) {\n" +
+            "    use (C) {\n" +
+            "      a.cat { x }\n" +
+            "      b.cat { y }\n" +
+            "    }\n" +
+            "  }\n" +
+            "}";
+        int offset = contents.lastIndexOf('x');
+        assertDeclaringType(contents, offset, offset + 1, "A");
+        offset = contents.lastIndexOf('y');
+        assertDeclaringType(contents, offset, offset + 1, "B");
+    }
+
     @Test // https://github.com/groovy/groovy-eclipse/issues/415
     public void testDelegatesToTypeName1() {
         String contents =
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2009-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.jdt.core.groovy.tests.search;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.groovy.search.SearchTokenFilter;
+import org.junit.Test;
+
+public final class SearchTokenFilterTests {
+
+    private static final int EXACT = SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE;
+
+    private static Set<String> names(String... names) {
+        return new HashSet<>(Arrays.asList(names));
+    }
+
+    @Test
+    public void testCandidateOffsets() {
+        char[] contents = "def foo = bar.foo + food\n\"$foo\"\nfoo_1 = it.foo".toCharArray();
+        int[] offsets = SearchTokenFilter.findCandidateOffsets(contents, Collections.singleton("foo"));
+        assertArrayEquals(new int[] {4, 14, 27, 43}, offsets);
+
+        assertTrue(SearchTokenFilter.containsOffset(offsets, 10, 20));
+        assertFalse(SearchTokenFilter.containsOffset(offsets, 15, 26));
+        assertEquals(0, SearchTokenFilter.findCandidateOffsets(contents, Collections.singleton("fo")).length);
+    }
+
+    @Test
+    public void testCandidateNamesForAccessors() {
+        SearchPattern pattern = SearchPattern.createPattern("getFooBar", IJavaSearchConstants.METHOD, IJavaSearchConstants.REFERENCES, EXACT);
+        assertEquals(names("getFooBar", "FooBar", "fooBar"), SearchTokenFilter.getCandidateNames(pattern));
+
+        pattern = SearchPattern.createPattern("setX", IJavaSearchConstants.METHOD, IJavaSearchConstants.REFERENCES, EXACT);
+        assertEquals(names("setX", "X", "x"), SearchTokenFilter.getCandidateNames(pattern));
+
+        pattern = SearchPattern.createPattern("isDone", IJavaSearchConstants.METHOD, IJavaSearchConstants.REFERENCES, EXACT);
+        assertEquals(names("isDone", "Done", "done"), SearchTokenFilter.getCandidateNames(pattern));
+
+        pattern = SearchPattern.createPattern("getaway", IJavaSearchConstants.METHOD, IJavaSearchConstants.REFERENCES, EXACT);
+        assertEquals(names("getaway"), SearchTokenFilter.getCandidateNames(pattern));
+    }
+
+    @Test
+    public void testCandidateNamesNotAvailable() {
+        // implicitly-invoked methods need not appear in the source
+        SearchPattern pattern = SearchPattern.createPattern("plus", IJavaSearchConstants.METHOD, IJavaSearchConstants.REFERENCES, EXACT);
+        assertNull(SearchTokenFilter.getCandidateNames(pattern));
+
+        pattern = SearchPattern.createPattern("get*", IJavaSearchConstants.METHOD, IJavaSearchConstants.REFERENCES, SearchPattern.R_PATTERN_MATCH);
+        assertNull(SearchTokenFilter.getCandidateNames(pattern));
+
+        pattern = SearchPattern.createPattern("foo", IJavaSearchConstants.FIELD, IJavaSearchConstants.REFERENCES, SearchPattern.R_EXACT_MATCH);
+        assertNull(SearchTokenFilter.getCandidateNames(pattern));
+    }
+
+    @Test
+    public void testRecordedFilter() {
+        String path = "/Project/src/p/Filtered.groovy";
+        SearchTokenFilter.recordIdentifiers(path, 42L, "class Filtered { def foo() { bar } }".toCharArray());
+
+        assertTrue(SearchTokenFilter.isRecorded(path, 42L));
+        assertTrue(SearchTokenFilter.mightContain(path, 42L, names("bar")));
+        assertFalse(SearchTokenFilter.mightContain(path, 42L, names("baz", "qux")));
+    }
+
+    @Test
+    public void testRecordedFilterStampMismatch() {
+        String path = "/Project/src/p/Stale.groovy";
+        SearchTokenFilter.recordIdentifiers(path, 1L, "class Stale { }".toCharArray());
+
+        // a filter for other contents than those of the current stamp must not rule anything out
+        assertFalse(SearchTokenFilter.isRecorded(path, 2L));
+        assertFalse(SearchTokenFilter.mightContain(path, 1L, names("baz")));
+        assertTrue(SearchTokenFilter.mightContain(path, 2L, names("baz")));
+        assertTrue(SearchTokenFilter.mightContain("/Project/src/p/Unknown.groovy", 1L, names("baz")));
+    }
+}
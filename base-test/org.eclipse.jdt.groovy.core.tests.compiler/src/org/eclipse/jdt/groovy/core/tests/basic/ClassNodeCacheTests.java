@@ -0,0 +1,167 @@
+/*
+ * Copyright 2009-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.jdt.groovy.core.tests.basic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+
+import org.codehaus.groovy.ast.ClassHelper;
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.ast.ImmutableClassNode;
+import org.codehaus.groovy.ast.MethodNode;
+import org.codehaus.jdt.groovy.internal.compiler.ast.JDTClassNode;
+import org.codehaus.jdt.groovy.internal.compiler.ast.JDTResolver;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Ensures that the hierarchy queries remembered by {@link ImmutableClassNode}
+ * and {@link JDTClassNode} answer the same as {@link ClassNode} and that the
+ * collections they return can be changed by callers.
+ */
+public final class ClassNodeCacheTests extends GroovyCompilerTestSuite {
+
+    private static final Class<?>[] TYPES = {
+        Object.class, Number.class, Integer.class, String.class, AbstractCollection.class, AbstractList.class, ArrayList.class,
+        AbstractMap.class, HashMap.class, Iterable.class, Collection.class, List.class, RandomAccess.class, Map.class,
+        Comparable.class, CharSequence.class, Serializable.class, Cloneable.class, Runnable.class,
+    };
+
+    @After
+    public void tearDown() {
+        if (JDTResolver.instances != null) {
+            JDTResolver.instances.clear();
+        }
+        JDTResolver.recordInstances = false;
+    }
+
+    @Test
+    public void testImmutableClassNodeHierarchy() {
+        for (Class<?> type : new Class[] {ArrayList.class, HashMap.class, Integer.class, String.class, List.class}) {
+            ClassNode node = ClassHelper.make(type);
+            assertTrue(type.getName(), node instanceof ImmutableClassNode);
+
+            assertSameHierarchy(new ClassNode(type), node);
+            assertSameMethods(new ClassNode(type), node);
+        }
+    }
+
+    @Test
+    public void testImmutableClassNodeCopies() {
+        assertCopies(ClassHelper.make(ArrayList.class));
+    }
+
+    @Test
+    public void testJDTClassNodeHierarchy() {
+        for (Class<?> type : new Class[] {ArrayList.class, HashMap.class}) {
+            ClassNode node = getJDTClassNode(type);
+
+            assertSameHierarchy(new ClassNode(type), node);
+
+            Map<String, MethodNode> methods = node.getDeclaredMethodsMap();
+            assertTrue(methods.containsKey("int size()"));
+            assertEquals(methods.keySet(), node.getDeclaredMethodsMap().keySet());
+        }
+    }
+
+    @Test
+    public void testJDTClassNodeCopies() {
+        assertCopies(getJDTClassNode(ArrayList.class));
+    }
+
+    //--------------------------------------------------------------------------
+
+    private JDTClassNode getJDTClassNode(Class<?> type) {
+        if (!JDTResolver.recordInstances) {
+            JDTResolver.recordInstances = true;
+            runConformTest(new String[] {
+                "Main.groovy",
+                "class Main {\n" +
+                "  static main(args) {\n" +
+                "    ArrayList<String> list = new ArrayList<String>()\n" +
+                "    HashMap<String, String> map = new HashMap<String, String>()\n" +
+                "    print list.size() + map.size()\n" +
+                "  }\n" +
+                "}\n",
+            }, "0");
+        }
+
+        String name = type.getName() + (type == HashMap.class ? "<K,V>" : "<E>");
+        JDTClassNode node = JDTResolver.getCachedNode(name);
+        assertNotNull(name, node);
+        node.lazyClassInit();
+        return node;
+    }
+
+    private static void assertSameHierarchy(ClassNode expected, ClassNode actual) {
+        // the second round of queries is answered from what the first one remembered
+        for (int i = 0; i < 2; i += 1) {
+            for (Class<?> type : TYPES) {
+                ClassNode node = ClassHelper.make(type);
+                String message = actual.getName() + " and " + type.getName();
+                assertEquals(message, expected.isDerivedFrom(node), actual.isDerivedFrom(node));
+                assertEquals(message, expected.declaresInterface(node), actual.declaresInterface(node));
+                assertEquals(message, expected.implementsInterface(node), actual.implementsInterface(node));
+            }
+            assertEquals(actual.getName(), getNames(expected.getAllInterfaces()), getNames(actual.getAllInterfaces()));
+        }
+    }
+
+    private static void assertSameMethods(ClassNode expected, ClassNode actual) {
+        for (int i = 0; i < 2; i += 1) {
+            assertEquals(actual.getName(), expected.getDeclaredMethodsMap().keySet(), actual.getDeclaredMethodsMap().keySet());
+        }
+    }
+
+    private static void assertCopies(ClassNode node) {
+        Set<ClassNode> interfaces = node.getAllInterfaces();
+        Set<String> interfaceNames = getNames(interfaces);
+        assertFalse(interfaces.isEmpty());
+        interfaces.clear();
+        assertEquals(interfaceNames, getNames(node.getAllInterfaces()));
+
+        Map<String, MethodNode> methods = node.getDeclaredMethodsMap();
+        Set<String> methodNames = new HashSet<>(methods.keySet());
+        assertFalse(methods.isEmpty());
+        // ClassNodeUtils.addDeclaredMethodsFromInterfaces adds to the map of the super class
+        methods.put("void added()", methods.values().iterator().next());
+        methods.remove("int size()");
+        assertEquals(methodNames, node.getDeclaredMethodsMap().keySet());
+    }
+
+    private static Set<String> getNames(Set<ClassNode> nodes) {
+        Set<String> names = new HashSet<>();
+        for (ClassNode node : nodes) {
+            names.add(node.getName());
+        }
+        return names;
+    }
+}
@@ -15,16 +15,22 @@
  */
 package org.eclipse.jdt.groovy.core.tests.basic;
 
+import static org.eclipse.jdt.groovy.core.tests.GroovyBundle.isAtLeastGroovy;
 import static org.eclipse.jdt.groovy.core.tests.GroovyBundle.isParrotParser;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.Arrays;
+import java.util.Map;
 
 import org.codehaus.groovy.ast.ClassNode;
 import org.codehaus.groovy.ast.ModuleNode;
 import org.codehaus.groovy.ast.Parameter;
+import org.eclipse.jdt.groovy.core.util.ReflectionUtils;
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -1263,4 +1269,40 @@ public final class ErrorRecoveryTests extends GroovyCompilerTestSuite {
             "  }\n" +
             "}\n");
     }
+
+    @Test
+    public void testParrotParserFallbackCounts() throws Exception {
+        assumeTrue(isAtLeastGroovy(26));
+
+        // the counters are static, so compare them before and after a parse that fails in SLL mode
+        long parses = this.<Long>callAstBuilder("getParseCount");
+        long fallbacks = this.<Long>callAstBuilder("getFallbackCount");
+        long failures = sum(this.<Map<String, Long>>callAstBuilder("getFallbackCountsByRule"));
+
+        callAstBuilder("warmUp", "X.groovy",
+            "class X {\n" +
+            "  def m() {\n" +
+            "    def x = \n" +
+            "  }\n" +
+            "}\n");
+
+        // other parses may run at the same time, like the warm-up at startup
+        assertTrue(this.<Long>callAstBuilder("getParseCount") >= parses + 1);
+        assertTrue(this.<Long>callAstBuilder("getFallbackCount") >= fallbacks + 1);
+        assertTrue(sum(this.<Map<String, Long>>callAstBuilder("getFallbackCountsByRule")) >= failures + 1);
+    }
+
+    private <T> T callAstBuilder(String methodName, String... args) throws Exception {
+        Class<?>[] types = new Class[args.length];
+        Arrays.fill(types, String.class);
+        return ReflectionUtils.throwableExecutePrivateMethod(Class.forName("org.apache.groovy.parser.antlr4.AstBuilder"), methodName, types, null, args);
+    }
+
+    private static long sum(Map<String, Long> counts) {
+        long sum = 0;
+        for (Long count : counts.values()) {
+            sum += count;
+        }
+        return sum;
+    }
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2009-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.jdt.groovy.core.tests.basic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collections;
+import java.util.List;
+
+import org.codehaus.greclipse.GlobalTransformDefinitions;
+import org.junit.Test;
+
+/**
+ * Ensures that the remembered service definitions follow changes to the service files of directories.
+ */
+public final class GlobalTransformDefinitionsTests {
+
+    private static final String SERVICE = "META-INF/services/org.codehaus.groovy.transform.ASTTransformation";
+
+    @Test
+    public void testChangedServiceFile() throws Exception {
+        File dir = createTempDir();
+        File service = new File(dir, SERVICE);
+        try {
+            write(service, "a.Transform");
+            ClassLoader loader = new URLClassLoader(new URL[] {dir.toURI().toURL()}, null);
+
+            List<URL> services = Collections.list(GlobalTransformDefinitions.getResources(loader));
+            assertEquals(1, services.size());
+            assertEquals("a.Transform", GlobalTransformDefinitions.getContents(loader, services.get(0)));
+
+            write(service, "b.Transform");
+            assertTrue(service.setLastModified(service.lastModified() + 60000));
+
+            services = Collections.list(GlobalTransformDefinitions.getResources(loader));
+            assertEquals(1, services.size());
+            assertEquals("b.Transform", GlobalTransformDefinitions.getContents(loader, services.get(0)));
+        } finally {
+            delete(dir);
+        }
+    }
+
+    @Test
+    public void testAddedServiceFile() throws Exception {
+        File dir = createTempDir();
+        try {
+            ClassLoader loader = new URLClassLoader(new URL[] {dir.toURI().toURL()}, null);
+            assertFalse(GlobalTransformDefinitions.getResources(loader).hasMoreElements());
+
+            write(new File(dir, SERVICE), "a.Transform");
+            assertTrue(GlobalTransformDefinitions.getResources(loader).hasMoreElements());
+        } finally {
+            delete(dir);
+        }
+    }
+
+    //--------------------------------------------------------------------------
+
+    private static File createTempDir() throws Exception {
+        File dir = File.createTempFile("transforms", "");
+        assertTrue(dir.delete() && dir.mkdirs());
+        return dir;
+    }
+
+    private static void write(File file, String contents) throws Exception {
+        file.getParentFile().mkdirs();
+        try (OutputStream out = new FileOutputStream(file)) {
+            out.write(contents.getBytes("UTF-8"));
+        }
+    }
+
+    private static void delete(File file) {
+        File[] files = file.listFiles();
+        if (files != null) {
+            for (File child : files) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2009-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.jdt.groovy.core.tests.basic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import org.codehaus.greclipse.GrapeResolutionCache;
+import org.eclipse.jdt.groovy.core.util.ReflectionUtils;
+import org.junit.Test;
+
+/**
+ * Ensures that dynamic coordinates are not cached and that resolutions are stored properly.
+ */
+public final class GrapeResolutionCacheTests {
+
+    @Test
+    public void testDynamicVersions() throws Exception {
+        for (String version : new String[] {"*", "1.+", "[1.0,2.0)", "]1.0,2.0]", "(,2.0]", "latest.release", "latest.integration", "1.0-SNAPSHOT"}) {
+            assertTrue(version, isDynamic(version));
+        }
+        for (String version : new String[] {"1.0", "2.5.0-rc-1", "1.0.RELEASE"}) {
+            assertFalse(version, isDynamic(version));
+        }
+    }
+
+    @Test
+    public void testStoreAndLookup() throws Exception {
+        File root = File.createTempFile("grapes", "");
+        assertTrue(root.delete() && new File(root, "grapes").mkdirs());
+        File jar = new File(root, "a-1.0.jar");
+        try (OutputStream out = new FileOutputStream(jar)) {
+            out.write(new byte[] {1, 2, 3});
+        }
+
+        String grapeRoot = System.getProperty("grape.root");
+        System.setProperty("grape.root", root.getAbsolutePath());
+        try {
+            String key = "{group=g, module=a, version=1.0}";
+            store(key, Collections.singletonList(jar));
+            assertEquals(Collections.singletonList(jar.getAbsoluteFile()), lookup(key));
+
+            // the cache file is moved into place; no temporary file is left behind
+            File[] files = new File(root, "grapes").listFiles();
+            assertEquals(1, files.length);
+            assertEquals("greclipse-resolutions.properties", files[0].getName());
+
+            Properties properties = new Properties();
+            try (InputStream in = new FileInputStream(files[0])) {
+                properties.load(in);
+            }
+            assertNotNull(properties.getProperty(key));
+
+            // a modified artifact invalidates the resolution
+            assertTrue(jar.setLastModified(jar.lastModified() - 60000));
+            assertNull(lookup(key));
+        } finally {
+            if (grapeRoot != null) {
+                System.setProperty("grape.root", grapeRoot);
+            } else {
+                System.clearProperty("grape.root");
+            }
+            for (File file : new File(root, "grapes").listFiles()) {
+                file.delete();
+            }
+            new File(root, "grapes").delete();
+            jar.delete();
+            root.delete();
+        }
+    }
+
+    //--------------------------------------------------------------------------
+
+    // the cache is internal to the Groovy bundle, so its package-private methods are called reflectively
+
+    private static boolean isDynamic(String version) throws Exception {
+        Boolean dynamic = ReflectionUtils.throwableExecutePrivateMethod(GrapeResolutionCache.class, "isDynamic",
+            new Class[] {String.class}, null, new Object[] {version});
+        return dynamic.booleanValue();
+    }
+
+    private static List<File> lookup(String key) throws Exception {
+        return ReflectionUtils.throwableExecutePrivateMethod(GrapeResolutionCache.class, "lookup",
+            new Class[] {String.class}, null, new Object[] {key});
+    }
+
+    private static void store(String key, List<File> files) throws Exception {
+        ReflectionUtils.throwableExecutePrivateMethod(GrapeResolutionCache.class, "store",
+            new Class[] {String.class, List.class}, null, new Object[] {key, files});
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2009-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Accumulates counts and elapsed times of compiler activities: phases, source
+ * units, AST transforms and type lookups. Nothing is recorded until profiling
+ * is enabled, either by the "greclipse.profile" system property or through
+ * {@link #setEnabled(boolean)}.
+ * <p>
+ * Sections overlap: time spent in a transform is also part of its phase and
+ * of the source unit it was applied to.
+ *
+ * NOTE: This class is a singleton.
+ */
+public class GroovyProfiler {
+    public static final GroovyProfiler profiler = new GroovyProfiler();
+
+    public enum Section {
+        PHASE("Phases"),
+        SOURCE("Source units"),
+        TRANSFORM("AST transforms"),
+        LOOKUP("Type lookups");
+
+        Section(String label) {
+            this.label = label;
+        }
+
+        public final String label;
+    }
+
+    private static final int MAX_REPORT_ROWS = 25;
+
+    private GroovyProfiler() {
+        for (Section section : Section.values()) {
+            sections.put(section, new ConcurrentHashMap<String, Entry>());
+        }
+    }
+
+    private volatile boolean enabled = Boolean.getBoolean("greclipse.profile");
+
+    private final Map<Section, ConcurrentMap<String, Entry>> sections = new EnumMap<Section, ConcurrentMap<String, Entry>>(Section.class);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return the current time in nanoseconds, or 0 if profiling is disabled
+     */
+    public long start() {
+        return (enabled ? System.nanoTime() : 0L);
+    }
+
+    /**
+     * Records one occurrence of the named activity. Use 0 for {@code nanos} to
+     * count an activity without timing it.
+     */
+    public void record(Section section, String name, long nanos) {
+        if (!enabled) {
+            return;
+        }
+        ConcurrentMap<String, Entry> entries = sections.get(section);
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            Entry newEntry = new Entry(name);
+            entry = entries.putIfAbsent(name, newEntry);
+            if (entry == null) {
+                entry = newEntry;
+            }
+        }
+        entry.count.incrementAndGet();
+        entry.nanos.addAndGet(nanos);
+    }
+
+    /**
+     * Returns the activities recorded since the previous report, slowest first
+     * within each section, and starts over.
+     *
+     * @return the report or {@code null} if nothing was recorded
+     */
+    public String takeReport() {
+        StringBuilder report = new StringBuilder();
+        for (Map.Entry<Section, ConcurrentMap<String, Entry>> section : sections.entrySet()) {
+            List<Entry> entries = new ArrayList<Entry>(section.getValue().values());
+            section.getValue().clear();
+            if (entries.isEmpty()) {
+                continue;
+            }
+            Collections.sort(entries, new Comparator<Entry>() {
+                public int compare(Entry one, Entry two) {
+                    int result = compareLongs(two.nanos.get(), one.nanos.get());
+                    return (result != 0 ? result : compareLongs(two.count.get(), one.count.get()));
+                }
+            });
+
+            long count = 0, nanos = 0;
+            for (Entry entry : entries) {
+                count += entry.count.get();
+                nanos += entry.nanos.get();
+            }
+            report.append(String.format("%s: %d in %.1f ms%n", section.getKey().label, count, nanos / 1e6));
+            for (int i = 0, n = Math.min(entries.size(), MAX_REPORT_ROWS); i < n; i += 1) {
+                Entry entry = entries.get(i);
+                report.append(String.format("  %10.1f ms %8d  %s%n", entry.nanos.get() / 1e6, entry.count.get(), entry.name));
+            }
+            if (entries.size() > MAX_REPORT_ROWS) {
+                report.append(String.format("  ... %d more%n", entries.size() - MAX_REPORT_ROWS));
+            }
+        }
+        return (report.length() > 0 ? report.toString() : null);
+    }
+
+    private static int compareLongs(long a, long b) {
+        return (a < b ? -1 : (a == b ? 0 : 1));
+    }
+
+    //--------------------------------------------------------------------------
+
+    private static class Entry {
+        Entry(String name) {
+            this.name = name;
+        }
+
+        final String name;
+        final AtomicLong count = new AtomicLong();
+        final AtomicLong nanos = new AtomicLong();
+    }
+}
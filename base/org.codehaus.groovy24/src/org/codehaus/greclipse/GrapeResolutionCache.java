@@ -0,0 +1,229 @@
+/*
+ * Copyright 2009-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.greclipse;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import groovy.grape.Grape;
+import groovy.lang.GroovyClassLoader;
+
+/**
+ * Remembers the artifacts that {@code @Grab} coordinates resolved to, so that
+ * compiling or reconciling a script again adds them to the class loader without
+ * running Ivy. Resolutions are kept in a properties file next to the Grape cache
+ * and are reused across sessions (and offline) as long as each artifact still
+ * has the same timestamp and size.
+ * <p>
+ * Dynamic coordinates (wildcards, version ranges, latest revisions, snapshots
+ * and changing modules) are always resolved by Grape.
+ */
+public class GrapeResolutionCache {
+
+    private static final String[] GRAB_SETTINGS = {"excludes", "autoDownload", "disableChecksums", "systemProperties"};
+
+    private static Properties resolutions;
+
+    /**
+     * Adds the artifacts of {@code dependency} to the class loader given by the
+     * "classLoader" argument. Same arguments as {@link Grape#grab(Map, Map...)}.
+     */
+    public static void grab(Map<String, Object> args, Map<String, Object> dependency) {
+        Object loader = args.get("classLoader");
+        String key = (loader instanceof GroovyClassLoader ? getKey(args, dependency) : null);
+        if (key == null) {
+            Grape.grab(args, dependency);
+            return;
+        }
+
+        List<File> files = lookup(key);
+        if (files == null) {
+            Map<String, Object> resolveArgs = new HashMap<String, Object>(args);
+            // Grape resolves everything grabbed for a loader; use a new one to get this dependency alone
+            resolveArgs.put("classLoader", new GroovyClassLoader());
+            URI[] uris = Grape.resolve(resolveArgs, dependency);
+            if (uris == null) {
+                return; // grapes are disabled
+            }
+            files = new ArrayList<File>(uris.length);
+            for (URI uri : uris) {
+                files.add(new File(uri));
+            }
+            store(key, files);
+        }
+
+        for (File file : files) {
+            try {
+                ((GroovyClassLoader) loader).addURL(file.toURI().toURL());
+            } catch (MalformedURLException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * @return the normalized coordinate and Grape settings, or {@code null} if the dependency should not be cached
+     */
+    private static String getKey(Map<String, Object> args, Map<String, Object> dependency) {
+        Object version = first(dependency, "version", "revision", "rev");
+        if (version == null || isDynamic(String.valueOf(version)) || Boolean.TRUE.equals(dependency.get("changing"))) {
+            return null;
+        }
+
+        StringBuilder key = new StringBuilder();
+        key.append(normalize(dependency));
+        for (String name : GRAB_SETTINGS) {
+            Object value = args.get(name);
+            if (value != null) {
+                key.append(';').append(name).append('=').append(normalize(value));
+            }
+        }
+        File config = getGrapeConfig();
+        key.append(";config=").append(config.getAbsolutePath()).append('@').append(config.lastModified());
+        return key.toString();
+    }
+
+    static boolean isDynamic(String version) {
+        return version.contains("*") || version.contains("+") || version.startsWith("[") || version.startsWith("(") || version.startsWith("]") ||
+            version.startsWith("latest.") || version.endsWith("SNAPSHOT");
+    }
+
+    private static Object first(Map<String, Object> map, String... names) {
+        for (String name : names) {
+            if (map.get(name) != null) {
+                return map.get(name);
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String normalize(Object value) {
+        if (value instanceof Map) {
+            Map<String, String> sorted = new TreeMap<String, String>();
+            for (Map.Entry<Object, Object> entry : ((Map<Object, Object>) value).entrySet()) {
+                sorted.put(String.valueOf(entry.getKey()), normalize(entry.getValue()));
+            }
+            return sorted.toString();
+        }
+        if (value instanceof Iterable) {
+            StringBuilder list = new StringBuilder("[");
+            for (Object item : (Iterable<Object>) value) {
+                list.append(normalize(item)).append(',');
+            }
+            return list.append(']').toString();
+        }
+        return String.valueOf(value);
+    }
+
+    //--------------------------------------------------------------------------
+
+    static synchronized List<File> lookup(String key) {
+        String value = getResolutions().getProperty(key);
+        if (value == null) {
+            return null;
+        }
+        List<File> files = new ArrayList<File>();
+        for (String line : value.split("\n")) {
+            String[] parts = line.split("\t");
+            File file = new File(parts[0]);
+            if (parts.length != 3 || file.lastModified() != Long.parseLong(parts[1]) || file.length() != Long.parseLong(parts[2])) {
+                getResolutions().remove(key);
+                return null;
+            }
+            files.add(file);
+        }
+        return files;
+    }
+
+    static synchronized void store(String key, List<File> files) {
+        StringBuilder value = new StringBuilder();
+        for (File file : files) {
+            if (value.length() > 0) value.append('\n');
+            value.append(file.getAbsolutePath()).append('\t').append(file.lastModified()).append('\t').append(file.length());
+        }
+        getResolutions().setProperty(key, value.toString());
+
+        // write a file alongside and rename it, so a concurrent reader never sees part of it
+        File cacheFile = getCacheFile();
+        try {
+            File tempFile = File.createTempFile(cacheFile.getName(), ".tmp", cacheFile.getParentFile());
+            try {
+                OutputStream out = new FileOutputStream(tempFile);
+                try {
+                    resolutions.store(out, "Resolved @Grab dependencies");
+                } finally {
+                    out.close();
+                }
+                if (!tempFile.renameTo(cacheFile)) {
+                    // the target cannot be replaced by a rename on some platforms
+                    cacheFile.delete();
+                    tempFile.renameTo(cacheFile);
+                }
+            } finally {
+                tempFile.delete(); // unless renamed
+            }
+        } catch (IOException ignore) {
+            // resolutions are still cached for this session
+        }
+    }
+
+    private static Properties getResolutions() {
+        if (resolutions == null) {
+            resolutions = new Properties();
+            File file = getCacheFile();
+            if (file.isFile()) {
+                try {
+                    InputStream in = new FileInputStream(file);
+                    try {
+                        resolutions.load(in);
+                    } finally {
+                        in.close();
+                    }
+                } catch (IOException ignore) {
+                    resolutions.clear();
+                }
+            }
+        }
+        return resolutions;
+    }
+
+    private static File getGroovyRoot() {
+        String root = System.getProperty("grape.root");
+        return new File(root != null ? root : System.getProperty("user.home") + File.separator + ".groovy");
+    }
+
+    private static File getGrapeConfig() {
+        String config = System.getProperty("grape.config");
+        return (config != null ? new File(config) : new File(getGroovyRoot(), "grapeConfig.xml"));
+    }
+
+    private static File getCacheFile() {
+        return new File(new File(getGroovyRoot(), "grapes"), "greclipse-resolutions.properties");
+    }
+}
@@ -36,6 +36,7 @@ import org.codehaus.groovy.control.SourceUnit;
 import org.codehaus.groovy.control.messages.SimpleMessage;
 import org.codehaus.groovy.control.messages.WarningMessage;
 import org.codehaus.groovy.eclipse.GroovyLogManager;
+import org.codehaus.groovy.eclipse.GroovyProfiler;
 import org.codehaus.groovy.eclipse.TraceCategory;
 import org.codehaus.groovy.syntax.SyntaxException;
 
@@ -43,6 +44,7 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.StringReader;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.ArrayList;
@@ -172,7 +174,8 @@ public final class ASTTransformationVisitor extends ClassCodeVisitorSupport {
                             }
                         }
                         long etime = System.nanoTime(); 
-                        if (GroovyLogManager.manager.hasLoggers()) {
+                        GroovyProfiler.profiler.record(GroovyProfiler.Section.TRANSFORM, snt.getClass().getName(), etime - stime);
+                        if (GroovyLogManager.manager.isEnabled(TraceCategory.AST_TRANSFORM)) {
                             try {
                                 GroovyLogManager.manager.log(TraceCategory.AST_TRANSFORM, "Local transform " + snt.getClass().getName() + " on " + classNode.getName() + ":" + node[1] + " = " + ((etime - stime) / 1000000) + "ms");
                             } catch (Throwable t) {
@@ -255,7 +258,10 @@ public final class ASTTransformationVisitor extends ClassCodeVisitorSupport {
         GroovyClassLoader transformLoader = compilationUnit.getTransformLoader();
         Map<String, URL> transformNames = new LinkedHashMap<String, URL>();
         try {
-            Enumeration<URL> globalServices = transformLoader.getResources("META-INF/services/org.codehaus.groovy.transform.ASTTransformation");
+            // GRECLIPSE edit -- the transform loader is shared; scan it and read its definitions once
+            //Enumeration<URL> globalServices = transformLoader.getResources("META-INF/services/org.codehaus.groovy.transform.ASTTransformation");
+            Enumeration<URL> globalServices = org.codehaus.greclipse.GlobalTransformDefinitions.getResources(transformLoader);
+            // GRECLIPSE end
             while (globalServices.hasMoreElements()) {
                 URL service = globalServices.nextElement();
                 String className;
@@ -264,7 +270,10 @@ public final class ASTTransformationVisitor extends ClassCodeVisitorSupport {
                 // GRECLIPSE end
                 BufferedReader svcIn = null;
                 try {
-                    svcIn = new BufferedReader(new InputStreamReader(service.openStream(), "UTF-8"));
+                    // GRECLIPSE edit
+                    //svcIn = new BufferedReader(new InputStreamReader(service.openStream(), "UTF-8"));
+                    svcIn = new BufferedReader(new StringReader(org.codehaus.greclipse.GlobalTransformDefinitions.getContents(transformLoader, service)));
+                    // GRECLIPSE end
                     try {
                         className = svcIn.readLine();
                     } catch (IOException ioe) {
@@ -448,7 +457,8 @@ public final class ASTTransformationVisitor extends ClassCodeVisitorSupport {
                                     }
                                 }
                                 long etime = System.nanoTime(); 
-                                if (GroovyLogManager.manager.hasLoggers()) {
+                                GroovyProfiler.profiler.record(GroovyProfiler.Section.TRANSFORM, instance.getClass().getName(), etime - stime);
+                                if (GroovyLogManager.manager.isEnabled(TraceCategory.AST_TRANSFORM)) {
                                     long timetaken = (etime - stime) / 1000000;
                                     if (timetaken > 0) {
                                         try {
@@ -15,6 +15,9 @@
  */
 package org.codehaus.groovy.eclipse;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -99,4 +102,95 @@ public final class LoggerTest {
         Assert.assertTrue(GroovyLogManager.manager.removeLogger(logger1));
         Assert.assertFalse(GroovyLogManager.manager.removeLogger(logger1));
     }
+
+    @Test
+    public void testCategories() throws Exception {
+        final List<String> messages = new ArrayList<String>();
+        IGroovyLogger logger = new IGroovyLogger() {
+            public void log(TraceCategory category, String message) {
+                messages.add(message);
+            }
+            public boolean isCategoryEnabled(TraceCategory category) {
+                return category == TraceCategory.DSL;
+            }
+        };
+
+        Assert.assertFalse(GroovyLogManager.manager.isEnabled(TraceCategory.DSL));
+        Assert.assertTrue(GroovyLogManager.manager.addLogger(logger));
+        try {
+            Assert.assertTrue(GroovyLogManager.manager.isEnabled(TraceCategory.DSL));
+            Assert.assertFalse(GroovyLogManager.manager.isEnabled(TraceCategory.COMPILER));
+
+            GroovyLogManager.manager.log(TraceCategory.COMPILER, "ignored");
+            GroovyLogManager.manager.log(TraceCategory.DSL, "accepted");
+            Assert.assertEquals("[accepted]", messages.toString());
+        } finally {
+            GroovyLogManager.manager.removeLogger(logger);
+        }
+    }
+
+    @Test
+    public void testSpans() throws Exception {
+        GroovyLogManager.Span span = GroovyLogManager.manager.startSpan(TraceCategory.COMPILER, "inactive");
+        Assert.assertFalse(span.isActive());
+        span.end();
+
+        final List<String> messages = new ArrayList<String>();
+        IGroovyLogger logger = new IGroovyLogger() {
+            public void log(TraceCategory category, String message) {
+                messages.add(message);
+            }
+            public boolean isCategoryEnabled(TraceCategory category) {
+                return true;
+            }
+        };
+        GroovyLogManager.manager.addLogger(logger);
+        try {
+            GroovyLogManager.Span outer = GroovyLogManager.manager.startSpan(TraceCategory.COMPILER, "outer");
+            GroovyLogManager.Span inner = GroovyLogManager.manager.startSpan(TraceCategory.COMPILER, "inner");
+            Assert.assertTrue(inner.isActive());
+            GroovyLogManager.manager.log(TraceCategory.COMPILER, "message");
+            inner.end();
+            inner.end();
+            outer.end("done");
+
+            Assert.assertEquals(3, messages.size());
+            Assert.assertEquals("    message", messages.get(0));
+            Assert.assertTrue(messages.get(1), messages.get(1).matches("  Event complete: \\d+ms: inner"));
+            Assert.assertTrue(messages.get(2), messages.get(2).matches("Event complete: \\d+ms: outer \\(done\\)"));
+
+            // a span that is not ended does not indent messages after the enclosing span ends
+            messages.clear();
+            outer = GroovyLogManager.manager.startSpan(TraceCategory.COMPILER, "outer");
+            GroovyLogManager.manager.startSpan(TraceCategory.COMPILER, "abandoned");
+            outer.end();
+            GroovyLogManager.manager.log(TraceCategory.COMPILER, "message");
+
+            Assert.assertEquals(2, messages.size());
+            Assert.assertTrue(messages.get(0), messages.get(0).matches("Event complete: \\d+ms: outer"));
+            Assert.assertEquals("message", messages.get(1));
+        } finally {
+            GroovyLogManager.manager.removeLogger(logger);
+        }
+    }
+
+    @Test
+    public void testCapture() throws Exception {
+        Assert.assertNull(GroovyLogManager.manager.dumpCapture());
+        GroovyLogManager.manager.setCaptureSize(2);
+        try {
+            Assert.assertTrue(GroovyLogManager.manager.isEnabled(TraceCategory.COMPILER));
+            GroovyLogManager.manager.log(TraceCategory.COMPILER, "one");
+            GroovyLogManager.manager.log(TraceCategory.DSL, "two");
+            GroovyLogManager.manager.log(TraceCategory.COMPILER, "three");
+
+            String[] lines = GroovyLogManager.manager.dumpCapture().split("\n");
+            Assert.assertEquals(2, lines.length);
+            Assert.assertTrue(lines[0], lines[0].endsWith(TraceCategory.DSL.getPaddedLabel() + " : two"));
+            Assert.assertTrue(lines[1], lines[1].endsWith(TraceCategory.COMPILER.getPaddedLabel() + " : three"));
+        } finally {
+            GroovyLogManager.manager.setCaptureSize(0);
+        }
+        Assert.assertNull(GroovyLogManager.manager.dumpCapture());
+    }
 }
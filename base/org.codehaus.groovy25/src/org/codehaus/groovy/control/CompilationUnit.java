@@ -44,6 +44,7 @@ import org.codehaus.groovy.control.io.ReaderSource;
 import org.codehaus.groovy.control.messages.ExceptionMessage;
 import org.codehaus.groovy.control.messages.Message;
 import org.codehaus.groovy.control.messages.SimpleMessage;
+import org.codehaus.groovy.eclipse.GroovyProfiler;
 import org.codehaus.groovy.syntax.SyntaxException;
 import org.codehaus.groovy.tools.GroovyClass;
 import org.codehaus.groovy.transform.ASTTransformationVisitor;
@@ -974,8 +975,14 @@ public class CompilationUnit extends ProcessingUnit {
             SourceUnit source = sources.get(name);
             if ((source.phase < phase) || (source.phase == phase && !source.phaseComplete)) {
                 try {
+                    // GRECLIPSE add
+                    long start = GroovyProfiler.profiler.start();
+                    // GRECLIPSE end
                     body.call(source);
                     // GRECLIPSE add
+                    if (start != 0L) {
+                        recordProfile(name, System.nanoTime() - start);
+                    }
                     if (phase == Phases.CONVERSION && getProgressListener() != null && body == phaseOperations[phase].getLast()) {
                         getProgressListener().parseComplete(phase, name);
                     }
@@ -1134,7 +1141,15 @@ public class CompilationUnit extends ProcessingUnit {
                         iterator.next();
                         offset++;
                     }
+                    // GRECLIPSE add
+                    long start = GroovyProfiler.profiler.start();
+                    // GRECLIPSE end
                     body.call(context, new GeneratorContext(this.ast, offset), classNode);
+                    // GRECLIPSE add
+                    if (start != 0L) {
+                        recordProfile(context != null ? context.getName() : classNode.getName(), System.nanoTime() - start);
+                    }
+                    // GRECLIPSE end
                 }
             } catch (CompilationFailedException e) {
                 // fall through, getErrorReporter().failIfErrors() will trigger
@@ -1157,6 +1172,13 @@ public class CompilationUnit extends ProcessingUnit {
         getErrorCollector().failIfErrors();
     }
 
+    // GRECLIPSE add
+    private void recordProfile(String sourceName, long nanos) {
+        GroovyProfiler.profiler.record(GroovyProfiler.Section.PHASE, getPhaseDescription(), nanos);
+        GroovyProfiler.profiler.record(GroovyProfiler.Section.SOURCE, sourceName, nanos);
+    }
+    // GRECLIPSE end
+
     private void convertUncaughtExceptionToCompilationError(final Throwable e) {
         // check the exception for a nested compilation exception
         ErrorCollector nestedCollector = null;
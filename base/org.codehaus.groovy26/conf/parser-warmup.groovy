@@ -0,0 +1,194 @@
+package org.codehaus.groovy.warmup
+
+import static java.util.Collections.emptyList
+import java.util.concurrent.*
+import java.util.function.Function
+import groovy.transform.*
+
+@CompileStatic
+@ToString(includeNames = true)
+class Person<T extends Comparable<T>> implements Comparable<Person<T>>, Serializable {
+    private static final long serialVersionUID = 1L
+    public static final String DEFAULT = 'unknown'
+
+    final String name
+    int age = 0
+    protected List<String> tags = []
+    Map<String, ? super Number> props = [:]
+    T key
+
+    Person() {
+        this(DEFAULT)
+    }
+
+    Person(String name, int age = 42) {
+        super()
+        this.name = name
+        this.age = age
+    }
+
+    @Override
+    int compareTo(Person<T> that) {
+        key <=> that?.key
+    }
+
+    String getDisplayName() {
+        "$name (${age > 17 ? 'adult' : 'minor'})"
+    }
+
+    def <U> U apply(Function<? super T, ? extends U> fn) throws IOException {
+        return fn.apply(key)
+    }
+
+    synchronized void addTags(String... values) {
+        for (String value : values) {
+            if (!value?.trim()) continue
+            tags << value.toLowerCase()
+        }
+        tags.sort(true) { a, b -> a.length() <=> b.length() ?: a <=> b }
+    }
+
+    static Person<String> parse(String text) {
+        def (String first, String second) = text.split(/,/)*.trim()
+        new Person<String>(name: first, age: second as int, key: first.reverse())
+    }
+}
+
+trait Named {
+    abstract String getName()
+    String greet() { "Hello, ${-> getName()}!" }
+}
+
+interface Shape {
+    double area()
+    default String describe() { getClass().simpleName + '[' + area() + ']' }
+}
+
+enum Color implements Named {
+    RED('#f00'), GREEN('#0f0') {
+        @Override String getName() { 'green' }
+    }, BLUE('#00f')
+
+    private final String hex
+    Color(String hex) { this.hex = hex }
+    String getName() { name().toLowerCase() }
+}
+
+@interface Marker {
+    String value() default ''
+    Class<?>[] types() default []
+    int[] ranks() default [1, 2, 3]
+}
+
+abstract class Base {
+    protected abstract void doIt(int i, long l, double d, char c, boolean b, byte[] bytes)
+
+    static class Nested extends Base {
+        @Override
+        protected void doIt(int i, long l, double d, char c, boolean b, byte[] bytes) {
+            int[][] grid = new int[3][4]
+            String[] words = new String[] {'a', 'b'}
+            i += 1; l -= 2L; d *= 3.5d; i /= 2; i %= 7; i <<= 1; i >>= 1; i >>>= 1; i &= 0xFF; i |= 0b1010; i ^= 077
+            i++; --l; b = !b && (i > 0 || l < 0) || i != 1 && i == 2 ^ b
+            c = (char) (c + 1)
+            def x = ~/[a-z]+\d*/
+            def y = 'abc' =~ x
+            def z = 'abc' ==~ x
+            assert y && z : 'no match'
+            assert i instanceof Integer && !(l in [1L, 2L]) && words !instanceof Map && !(d !in [0d])
+        }
+    }
+}
+
+def script = { Map<String, Object> args ->
+    def list = [1, 2, 3, *[4, 5]]
+    def map = [a: 1, 'b': 2, (Color.RED): 3, *: [c: 4]]
+    def range = 1..<10
+    def set = [1, 1, 2] as Set
+    def nested = [[x: 1], [x: 2]]*.x.sum()
+    def elvis = args?.name ?: args?.'alt'?.@value ?: 'none'
+    def safe = args?.get('key')?.toString()?.size()
+    def gstr = """multi
+        ${list.collect { it * 2 }.join(', ')}
+        $map.a and ${map['b']}"""
+    def slashy = /a\/b${1 + 1}/
+    def dollarSlashy = $/a/b$$/$
+    def ref = String::valueOf
+    def pointer = this.&println
+    def lambda = (int a, int b) -> a + b
+    def block = () -> { return 42 }
+    def bigNum = 1_000_000G + 3.14G - 2e10 * 0x1FL / 0b11i
+    def ternary = list.empty ? null : list.first()
+    def casted = (Object) list as List<Integer>
+    def nocast = (list)
+    def spread = list*.toString()
+    def memberOf = list.&add
+    def bits = 1 << 2 >> 1 >>> 0 & 7 | 8 ^ 9
+    def power = 2 ** 10
+    def cmp = 1 <=> 2
+    def identity = list.is(list)
+    [list, map, range, set, nested, elvis, safe, gstr, slashy, dollarSlashy, ref, pointer, lambda, block,
+            bigNum, ternary, casted, nocast, spread, memberOf, bits, power, cmp, identity]
+}
+
+void control(int n, List<?> items) {
+    label:
+    for (int i = 0, j = n; i < j; i += 1, j -= 1) {
+        if (i % 2 == 0) {
+            continue label
+        } else if (i > 10) {
+            break label
+        } else {
+            println i
+        }
+    }
+    for (item in items) println item
+    for (Object item : items) println item
+    while (n-- > 0) { println n }
+    do {
+        n += 1
+    } while (n < 5)
+    switch (n) {
+    case 0:
+    case [1, 2]:
+        println 'small'
+        break
+    case Integer:
+    case ~/\d+/:
+    case { it > 100 }:
+        println 'big'
+        break
+    default:
+        println 'other'
+    }
+    try (def reader = new StringReader('text'); def writer = new StringWriter()) {
+        writer << reader.text
+    } catch (IOException | IllegalStateException e) {
+        throw new RuntimeException(e)
+    } catch (e) {
+        e.printStackTrace()
+    } finally {
+        println 'done'
+    }
+    synchronized (this) {
+        assert n >= 0
+    }
+    def executor = Executors.newFixedThreadPool(2)
+    executor.submit({ -> println 'task' } as Callable)
+    def builder = new StringBuilder().with {
+        append 'a' append 'b'
+        it
+    }
+    println builder
+    please show the square_root of 100
+    move 1, 2 to: 'x', by: 3
+    new Object() {
+        @Override String toString() { 'anonymous' }
+    }
+    return
+}
+
+Closure<?> closure = { String s, int... rest -> s * rest.length }
+final x = 1, y = 2
+int[] array = [1, 2, 3]
+println "${closure('x', 1, 2)} $x $y ${array.length} ${emptyList()}"
@@ -1,5 +1,5 @@
 /*
- * Copyright 2009-2017 the original author or authors.
+ * Copyright 2009-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,11 +17,19 @@ package org.codehaus.groovy.eclipse;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
-import java.util.HashMap;
-import java.util.Map;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Manages the current {@link IGroovyLogger} instance.
+ * <p>
+ * Besides the loggers, recent messages can be captured in a ring buffer (see
+ * {@link #setCaptureSize(int)} or the "greclipse.trace.capture" system property)
+ * and dumped on demand, for example to attach a timeline to a bug report.
+ * Messages logged within a {@link Span} are indented by the nesting depth of
+ * the spans of the current thread.
  *
  * NOTE: This class is a singleton.
  */
@@ -31,25 +39,36 @@ public class GroovyLogManager {
     public static final GroovyLogManager manager = new GroovyLogManager();
 
     private GroovyLogManager() {
+        setCaptureSize(Integer.getInteger("greclipse.trace.capture", 0));
     }
 
-    private IGroovyLogger[] loggers;
+    private volatile IGroovyLogger[] loggers;
 
     // only use default logger if no others are registered
     private final IGroovyLogger defaultLogger = new DefaultGroovyLogger();
 
-    private final Map<String, Long> timers = new HashMap<>();
+    private final ConcurrentMap<String, Long> timers = new ConcurrentHashMap<String, Long>();
 
-    private boolean useDefaultLogger;
+    private final ThreadLocal<int[]> spanDepth = new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+            return new int[1];
+        }
+    };
+
+    private volatile boolean useDefaultLogger;
+
+    private volatile TraceBuffer capture;
 
     /**
      * @return true if logger was added; false if not if not added --
      *         then this means the exact logger is already in the list
      */
-    public boolean addLogger(IGroovyLogger logger) {
+    public synchronized boolean addLogger(IGroovyLogger logger) {
         int newIndex;
+        IGroovyLogger[] newLoggers;
         if (loggers == null) {
-            loggers = new IGroovyLogger[1];
+            newLoggers = new IGroovyLogger[1];
             newIndex = 0;
         } else {
             // check to see if already there
@@ -59,11 +78,11 @@ public class GroovyLogManager {
                 }
             }
             newIndex = loggers.length;
-            IGroovyLogger[] newLoggers = new IGroovyLogger[newIndex + 1];
+            newLoggers = new IGroovyLogger[newIndex + 1];
             System.arraycopy(loggers, 0, newLoggers, 0, newIndex);
-            loggers = newLoggers;
         }
-        loggers[newIndex] = logger;
+        newLoggers[newIndex] = logger;
+        loggers = newLoggers;
         return true;
     }
 
@@ -72,7 +91,7 @@ public class GroovyLogManager {
      *
      * @return true iff found and removed; false iff nothing found
      */
-    public boolean removeLogger(IGroovyLogger logger) {
+    public synchronized boolean removeLogger(IGroovyLogger logger) {
         if (logger != null && loggers != null) {
             int foundIndex = -1;
             for (int i = 0, n = loggers.length; i < n; i += 1) {
@@ -98,8 +117,13 @@ public class GroovyLogManager {
         return false;
     }
 
+    /**
+     * Starts the timer for the named event. Event names are shared by all
+     * threads; prefer {@link #startSpan(TraceCategory, String)} if the same
+     * event may be in progress on more than one thread.
+     */
     public void logStart(String event) {
-        timers.put(event, System.currentTimeMillis());
+        timers.put(event, System.nanoTime());
     }
 
     public void logEnd(String event, TraceCategory category) {
@@ -107,18 +131,49 @@ public class GroovyLogManager {
     }
 
     public void logEnd(String event, TraceCategory category, String message) {
-        Long then = timers.get(event);
-        if (then != null) {
-            if (hasLoggers()) {
-                long now = System.currentTimeMillis();
-                long elapsed = now - then.longValue();
-                if (message != null && !message.isEmpty()) {
-                    log(category, "Event complete: " + elapsed + "ms: " + event + " (" + message + ")");
-                } else {
-                    log(category, "Event complete: " + elapsed + "ms: " + event);
-                }
-            }
-            timers.remove(event);
+        Long then = timers.remove(event);
+        if (then != null && hasLoggers()) {
+            logComplete(category, event, System.nanoTime() - then.longValue(), message);
+        }
+    }
+
+    /**
+     * Starts a timed event on the current thread. Messages logged before the
+     * span ends are indented below it. If no logger is interested in the
+     * category, a shared inactive span is returned and nothing is recorded.
+     */
+    public Span startSpan(TraceCategory category, String event) {
+        if (!isEnabled(category)) {
+            return Span.INACTIVE;
+        }
+        int[] depth = spanDepth.get();
+        Span span = new Span(category, event, System.nanoTime(), depth[0]);
+        depth[0] += 1;
+        return span;
+    }
+
+    /**
+     * Starts a timed event named by {@code event} followed by {@code subject};
+     * the name is only built if the span is active.
+     */
+    public Span startSpan(TraceCategory category, String event, Object subject) {
+        if (!isEnabled(category)) {
+            return Span.INACTIVE;
+        }
+        return startSpan(category, event + subject);
+    }
+
+    private void endSpan(Span span, String message) {
+        spanDepth.get()[0] = span.depth;
+        logComplete(span.category, span.event, System.nanoTime() - span.start, message);
+    }
+
+    private void logComplete(TraceCategory category, String event, long nanos, String message) {
+        long elapsed = nanos / 1000000;
+        if (message != null && !message.isEmpty()) {
+            log(category, "Event complete: " + elapsed + "ms: " + event + " (" + message + ")");
+        } else {
+            log(category, "Event complete: " + elapsed + "ms: " + event);
         }
     }
 
@@ -127,12 +182,23 @@ public class GroovyLogManager {
     }
 
     public void log(TraceCategory category, String message) {
-        if (!hasLoggers()) {
+        IGroovyLogger[] current = loggers;
+        TraceBuffer buffer = capture;
+        if (current == null && !useDefaultLogger && buffer == null) {
             return;
         }
 
-        if (loggers != null) {
-            for (IGroovyLogger logger : loggers) {
+        int depth = spanDepth.get()[0];
+        if (depth > 0) {
+            StringBuilder sb = new StringBuilder(message.length() + depth * 2);
+            for (int i = 0; i < depth; i += 1) {
+                sb.append("  ");
+            }
+            message = sb.append(message).toString();
+        }
+
+        if (current != null) {
+            for (IGroovyLogger logger : current) {
                 if (logger.isCategoryEnabled(category)) {
                     logger.log(category, message);
                 }
@@ -142,6 +208,10 @@ public class GroovyLogManager {
         if (useDefaultLogger) {
             defaultLogger.log(category, message);
         }
+
+        if (buffer != null) {
+            buffer.add(category, message);
+        }
     }
 
     /**
@@ -150,7 +220,27 @@ public class GroovyLogManager {
      * logging messages unless required.
      */
     public boolean hasLoggers() {
-        return loggers != null || useDefaultLogger;
+        return loggers != null || useDefaultLogger || capture != null;
+    }
+
+    /**
+     * Checks if any logger (or the capture buffer) accepts messages of the
+     * given category. Use this in preference to {@link #hasLoggers()} to avoid
+     * building messages that all of the installed loggers would ignore.
+     */
+    public boolean isEnabled(TraceCategory category) {
+        if (useDefaultLogger || capture != null) {
+            return true;
+        }
+        IGroovyLogger[] current = loggers;
+        if (current != null) {
+            for (IGroovyLogger logger : current) {
+                if (logger.isCategoryEnabled(category)) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
     /**
@@ -161,11 +251,100 @@ public class GroovyLogManager {
     }
 
     public void logException(TraceCategory cat, Throwable t) {
-        if (hasLoggers()) {
+        if (isEnabled(cat)) {
             // only log if logger is available, otherwise, ignore
             StringWriter writer = new StringWriter();
             t.printStackTrace(new PrintWriter(writer));
             log(cat, "Exception caught.\n" + writer.getBuffer());
         }
     }
+
+    /**
+     * Keeps the given number of most recent messages of all categories for
+     * {@link #dumpCapture()}; 0 discards the buffer and stops capturing.
+     */
+    public synchronized void setCaptureSize(int size) {
+        if (size <= 0) {
+            capture = null;
+        } else if (capture == null || capture.lines.length != size) {
+            capture = new TraceBuffer(size);
+        }
+    }
+
+    /**
+     * @return the captured messages, oldest first, one per line; or {@code null} if capture is disabled
+     */
+    public String dumpCapture() {
+        TraceBuffer buffer = capture;
+        return (buffer != null ? buffer.dump() : null);
+    }
+
+    //--------------------------------------------------------------------------
+
+    /**
+     * A timed event; see {@link GroovyLogManager#startSpan(TraceCategory, String)}.
+     * A span should be ended by the thread that started it. Ending a span
+     * restores the nesting depth it was started at, so spans within it that
+     * were not ended do not leave later messages indented.
+     */
+    public static final class Span {
+        static final Span INACTIVE = new Span(null, null, 0L, 0);
+
+        private final TraceCategory category;
+        private final String event;
+        private final long start;
+        private final int depth;
+        private boolean ended;
+
+        private Span(TraceCategory category, String event, long start, int depth) {
+            this.category = category;
+            this.event = event;
+            this.start = start;
+            this.depth = depth;
+        }
+
+        public boolean isActive() {
+            return (this != INACTIVE && !ended);
+        }
+
+        public void end() {
+            end(null);
+        }
+
+        public void end(String message) {
+            if (isActive()) {
+                ended = true;
+                manager.endSpan(this, message);
+            }
+        }
+    }
+
+    private static final class TraceBuffer {
+        private final String[] lines;
+        private int next;
+
+        TraceBuffer(int size) {
+            lines = new String[size];
+        }
+
+        void add(TraceCategory category, String message) {
+            String line = new SimpleDateFormat("HH:mm:ss.SSS").format(new Date()) +
+                " [" + Thread.currentThread().getName() + "] " + category.getPaddedLabel() + " : " + message;
+            synchronized (this) {
+                lines[next] = line;
+                next = (next + 1) % lines.length;
+            }
+        }
+
+        synchronized String dump() {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0, n = lines.length; i < n; i += 1) {
+                String line = lines[(next + i) % n];
+                if (line != null) {
+                    sb.append(line).append('\n');
+                }
+            }
+            return sb.toString();
+        }
+    }
 }
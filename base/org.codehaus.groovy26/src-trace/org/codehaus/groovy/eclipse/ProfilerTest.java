@@ -0,0 +1,58 @@
+/*
+ * Copyright 2009-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse;
+
+import org.codehaus.groovy.eclipse.GroovyProfiler.Section;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Ensures that profiled activities are accumulated and reported properly.
+ */
+public final class ProfilerTest {
+
+    @Test
+    public void testProfiler() throws Exception {
+        GroovyProfiler profiler = GroovyProfiler.profiler;
+        boolean enabled = profiler.isEnabled();
+        try {
+            profiler.setEnabled(false);
+            profiler.takeReport();
+            Assert.assertEquals(0L, profiler.start());
+            profiler.record(Section.PHASE, "conversion", 1000000L);
+            Assert.assertNull(profiler.takeReport());
+
+            profiler.setEnabled(true);
+            Assert.assertTrue(profiler.start() != 0L);
+            profiler.record(Section.PHASE, "conversion", 1000000L);
+            profiler.record(Section.PHASE, "conversion", 2000000L);
+            profiler.record(Section.PHASE, "class generation", 5000000L);
+            profiler.record(Section.LOOKUP, "cached", 0L);
+
+            String report = profiler.takeReport();
+            Assert.assertNotNull(report);
+            Assert.assertTrue(report, report.contains("Phases: 3 in 8.0 ms"));
+            Assert.assertTrue(report, report.indexOf("class generation") < report.indexOf("conversion"));
+            Assert.assertTrue(report, report.contains("Type lookups: 1 in 0.0 ms"));
+            Assert.assertFalse(report, report.contains("AST transforms"));
+
+            // report starts over
+            Assert.assertNull(profiler.takeReport());
+        } finally {
+            profiler.setEnabled(enabled);
+        }
+    }
+}
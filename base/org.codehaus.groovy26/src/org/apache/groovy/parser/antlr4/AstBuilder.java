@@ -23,6 +23,8 @@ import groovyjarjarantlr4.v4.runtime.ANTLRErrorListener;
 import groovyjarjarantlr4.v4.runtime.CharStream;
 import groovyjarjarantlr4.v4.runtime.CharStreams;
 import groovyjarjarantlr4.v4.runtime.CommonTokenStream;
+import groovyjarjarantlr4.v4.runtime.Parser;
+import groovyjarjarantlr4.v4.runtime.ParserRuleContext;
 import groovyjarjarantlr4.v4.runtime.RecognitionException;
 import groovyjarjarantlr4.v4.runtime.Recognizer;
 import groovyjarjarantlr4.v4.runtime.Token;
@@ -113,8 +115,12 @@ import org.codehaus.groovy.ast.stmt.TryCatchStatement;
 import org.codehaus.groovy.ast.stmt.WhileStatement;
 import org.codehaus.groovy.control.CompilationFailedException;
 import org.codehaus.groovy.control.CompilePhase;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.control.ErrorCollector;
 import org.codehaus.groovy.control.SourceUnit;
 import org.codehaus.groovy.control.messages.SyntaxErrorMessage;
+import org.codehaus.groovy.eclipse.GroovyLogManager;
+import org.codehaus.groovy.eclipse.TraceCategory;
 import org.codehaus.groovy.runtime.StringGroovyMethods;
 import org.codehaus.groovy.syntax.Numbers;
 import org.codehaus.groovy.syntax.SyntaxException;
@@ -135,6 +141,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.apache.groovy.parser.antlr4.GroovyLangParser.ADD;
 import static org.apache.groovy.parser.antlr4.GroovyLangParser.AS;
@@ -359,7 +369,41 @@ public class AstBuilder extends GroovyParserBaseVisitor<Object> {
 
         this.lexer = new GroovyLangLexer(charStream);
         this.parser = new GroovyLangParser(new CommonTokenStream(this.lexer));
+        /* GRECLIPSE edit
         this.parser.setErrorHandler(new DescriptiveErrorStrategy(charStream));
+        */
+        this.parser.setErrorHandler(new DescriptiveErrorStrategy(charStream) {
+            private boolean recoveringInline;
+
+            @Override
+            public void recover(Parser recognizer, RecognitionException e) {
+                if (!recoveringInline) recordFailure(recognizer);
+                super.recover(recognizer, e);
+            }
+
+            @Override
+            public Token recoverInline(Parser recognizer) throws RecognitionException {
+                // a token mismatch does not always go through recover
+                recordFailure(recognizer);
+                recoveringInline = true;
+                try {
+                    return super.recoverInline(recognizer);
+                } finally {
+                    recoveringInline = false;
+                }
+            }
+
+            private void recordFailure(Parser recognizer) {
+                if (PredictionMode.SLL.equals(recognizer.getInterpreter().getPredictionMode())) {
+                    ParserRuleContext context = recognizer.getContext();
+                    if (context != null) {
+                        sllFailureRule = recognizer.getRuleNames()[context.getRuleIndex()];
+                        recordFallback(sllFailureRule);
+                    }
+                }
+            }
+        });
+        // GRECLIPSE end
 
         this.tryWithResourcesASTTransformation = new TryWithResourcesASTTransformation(this);
         this.groovydocManager = GroovydocManager.getInstance();
@@ -440,6 +484,9 @@ public class AstBuilder extends GroovyParserBaseVisitor<Object> {
 
     private GroovyParserRuleContext buildCST() throws CompilationFailedException {
         GroovyParserRuleContext result;
+        // GRECLIPSE add
+        PARSE_COUNT.incrementAndGet();
+        // GRECLIPSE end
 
         try {
             // parsing have to wait util clearing is complete.
@@ -451,6 +498,13 @@ public class AstBuilder extends GroovyParserBaseVisitor<Object> {
                 if (t instanceof GroovySyntaxError && GroovySyntaxError.LEXER == ((GroovySyntaxError) t).getSource()) {
                     throw t;
                 }
+                // GRECLIPSE add
+                long fallbacks = FALLBACK_COUNT.incrementAndGet();
+                if (GroovyLogManager.manager.isEnabled(TraceCategory.COMPILER)) {
+                    GroovyLogManager.manager.log(TraceCategory.COMPILER, "SLL parse of " + sourceUnit.getName() + " failed" +
+                        (sllFailureRule != null ? " in rule " + sllFailureRule : "") + "; using LL (" + fallbacks + " of " + PARSE_COUNT.get() + " parses)");
+                }
+                // GRECLIPSE end
 
                 result = buildCST(PredictionMode.LL);
             } finally {
@@ -476,6 +530,62 @@ public class AstBuilder extends GroovyParserBaseVisitor<Object> {
         return parser.compilationUnit();
     }
 
+    // GRECLIPSE add
+    private String sllFailureRule;
+
+    private static final AtomicLong PARSE_COUNT = new AtomicLong();
+    private static final AtomicLong FALLBACK_COUNT = new AtomicLong();
+    private static final ConcurrentMap<String, AtomicLong> FALLBACK_RULES = new ConcurrentHashMap<>();
+
+    private static void recordFallback(String ruleName) {
+        AtomicLong counter = FALLBACK_RULES.get(ruleName);
+        if (counter == null) {
+            AtomicLong prev = FALLBACK_RULES.putIfAbsent(ruleName, counter = new AtomicLong());
+            if (prev != null) counter = prev;
+        }
+        counter.incrementAndGet();
+    }
+
+    /**
+     * @return number of compilation units that have been parsed (SLL attempts)
+     */
+    public static long getParseCount() {
+        return PARSE_COUNT.get();
+    }
+
+    /**
+     * @return number of compilation units that had to be re-parsed using full LL prediction
+     */
+    public static long getFallbackCount() {
+        return FALLBACK_COUNT.get();
+    }
+
+    /**
+     * @return grammar rules in which SLL parsing failed (by {@code recover} or
+     *     {@code recoverInline}), mapped to number of failures
+     */
+    public static Map<String, Long> getFallbackCountsByRule() {
+        Map<String, Long> counts = new TreeMap<>();
+        for (Map.Entry<String, AtomicLong> entry : FALLBACK_RULES.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().get());
+        }
+        return counts;
+    }
+
+    /**
+     * Parses the given source (without building an AST) so that the shared DFA
+     * cache of the parser and lexer is populated before real sources arrive.
+     */
+    public static void warmUp(String name, String text) {
+        CompilerConfiguration config = new CompilerConfiguration();
+        SourceUnit unit = new SourceUnit(name, text, config, null, new ErrorCollector(config));
+        try {
+            new AstBuilder(unit).buildCST();
+        } catch (CompilationFailedException ignore) {
+        }
+    }
+    // GRECLIPSE end
+
     private CompilationFailedException convertException(Throwable t) {
         CompilationFailedException cfe;
 
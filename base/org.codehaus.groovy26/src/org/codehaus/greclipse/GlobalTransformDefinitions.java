@@ -0,0 +1,158 @@
+/*
+ * Copyright 2009-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.greclipse;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Remembers the global AST transformation service definitions found on a
+ * transform loader. Every compilation unit scans its transform loader for
+ * them; the loaders are shared by all compiles and reconciles of a project,
+ * so the classpath scan and the reading of the definitions are done once.
+ * <p>
+ * A loader's definitions are read again if URLs have been added to it (for
+ * example by {@code @Grab}) or if the service file of one of its directories
+ * has changed. Loaders with URLs other than files and archives are scanned
+ * every time.
+ */
+public class GlobalTransformDefinitions {
+
+    private static final String SERVICE = "META-INF/services/org.codehaus.groovy.transform.ASTTransformation";
+
+    private static final Map<ClassLoader, Definitions> cache = new WeakHashMap<ClassLoader, Definitions>();
+
+    /**
+     * Same as {@code loader.getResources("META-INF/services/org.codehaus.groovy.transform.ASTTransformation")}.
+     */
+    public static Enumeration<URL> getResources(ClassLoader loader) throws IOException {
+        List<Long> stamps = getStamps(loader);
+        if (stamps == null) {
+            synchronized (cache) {
+                cache.remove(loader);
+            }
+            return loader.getResources(SERVICE);
+        }
+        synchronized (cache) {
+            Definitions definitions = cache.get(loader);
+            if (definitions != null && definitions.stamps.equals(stamps)) {
+                return Collections.enumeration(definitions.services);
+            }
+        }
+        List<URL> services = Collections.list(loader.getResources(SERVICE));
+        synchronized (cache) {
+            cache.put(loader, new Definitions(stamps, services));
+        }
+        return Collections.enumeration(services);
+    }
+
+    /**
+     * Returns the contents of a service definition returned by {@link #getResources(ClassLoader)}.
+     */
+    public static String getContents(ClassLoader loader, URL service) throws IOException {
+        String key = service.toExternalForm();
+        Definitions definitions;
+        synchronized (cache) {
+            definitions = cache.get(loader);
+            if (definitions != null && definitions.contents.containsKey(key)) {
+                return definitions.contents.get(key);
+            }
+        }
+        String contents = read(service);
+        if (definitions != null) {
+            synchronized (cache) {
+                definitions.contents.put(key, contents);
+            }
+        }
+        return contents;
+    }
+
+    /**
+     * Returns the URL count of each URL loader in the chain followed by the time
+     * stamp of the service file in each directory, or {@code null} if the loader
+     * has URLs that are neither files nor archives.
+     */
+    private static List<Long> getStamps(ClassLoader loader) {
+        List<Long> stamps = new ArrayList<Long>();
+        for (ClassLoader cl = loader; cl != null; cl = cl.getParent()) {
+            if (cl instanceof URLClassLoader) {
+                URL[] urls = ((URLClassLoader) cl).getURLs();
+                stamps.add(Long.valueOf(urls.length));
+                for (URL url : urls) {
+                    if ("jar".equals(url.getProtocol())) {
+                        continue;
+                    }
+                    if (!"file".equals(url.getProtocol())) {
+                        return null;
+                    }
+                    File file;
+                    try {
+                        file = new File(url.toURI());
+                    } catch (URISyntaxException e) {
+                        return null;
+                    } catch (IllegalArgumentException e) {
+                        return null;
+                    }
+                    if (file.isDirectory()) {
+                        // zero if there is no service file
+                        stamps.add(Long.valueOf(new File(file, SERVICE).lastModified()));
+                    }
+                }
+            }
+        }
+        return stamps;
+    }
+
+    private static String read(URL service) throws IOException {
+        InputStream stream = service.openStream();
+        try {
+            Reader reader = new InputStreamReader(stream, "UTF-8");
+            StringBuilder contents = new StringBuilder();
+            char[] buffer = new char[1024];
+            int n;
+            while ((n = reader.read(buffer)) != -1) {
+                contents.append(buffer, 0, n);
+            }
+            return contents.toString();
+        } finally {
+            stream.close();
+        }
+    }
+
+    private static class Definitions {
+        final List<Long> stamps;
+        final List<URL> services;
+        final Map<String, String> contents = new HashMap<String, String>();
+
+        Definitions(List<Long> stamps, List<URL> services) {
+            this.stamps = stamps;
+            this.services = services;
+        }
+    }
+}
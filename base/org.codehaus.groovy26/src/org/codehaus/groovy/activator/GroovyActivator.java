@@ -15,15 +15,20 @@
  */
 package org.codehaus.groovy.activator;
 
+import org.apache.groovy.parser.antlr4.AstBuilder;
 import org.eclipse.core.runtime.FileLocator;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Plugin;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 
 public class GroovyActivator extends Plugin {
@@ -34,6 +39,9 @@ public class GroovyActivator extends Plugin {
 
     public static URL GROOVY_JAR_URL;
 
+    /** Representative source parsed at startup to populate the parser's DFA cache. */
+    private static final String PARSER_WARMUP = "conf/parser-warmup.groovy";
+
     private static GroovyActivator DEFAULT;
 
     public GroovyActivator() {
@@ -76,6 +84,31 @@ public class GroovyActivator extends Plugin {
         } catch (Exception e) {
             getLog().log(new Status(IStatus.ERROR, PLUGIN_ID, "Error starting Groovy plugin", e));
         }
+
+        if (Boolean.getBoolean("groovy.antlr4") && !Boolean.getBoolean("greclipse.antlr4.warmup.disabled")) {
+            Job warmUp = new Job("Warm up Groovy parser") {
+                @Override
+                protected IStatus run(IProgressMonitor monitor) {
+                    URL entry = getBundle().getEntry(PARSER_WARMUP);
+                    if (entry != null && !monitor.isCanceled()) {
+                        try (InputStream in = entry.openStream()) {
+                            ByteArrayOutputStream out = new ByteArrayOutputStream();
+                            byte[] buf = new byte[4096];
+                            for (int n; (n = in.read(buf)) != -1;) {
+                                out.write(buf, 0, n);
+                            }
+                            AstBuilder.warmUp(PARSER_WARMUP, out.toString("UTF-8"));
+                        } catch (Exception e) {
+                            getLog().log(new Status(IStatus.WARNING, PLUGIN_ID, "Error warming up Groovy parser", e));
+                        }
+                    }
+                    return Status.OK_STATUS;
+                }
+            };
+            warmUp.setPriority(Job.DECORATE);
+            warmUp.setSystem(true);
+            warmUp.schedule();
+        }
     }
 
     @Override
@@ -16,7 +16,12 @@
 package org.codehaus.groovy.ast;
 
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.codehaus.groovy.GroovyBugError;
 
@@ -29,6 +34,14 @@ public class ImmutableClassNode extends ClassNode {
     private volatile boolean genericsInitialized;
     private volatile boolean writeProtected;
 
+    // the hierarchy of an initialized class node does not change, so hierarchy queries are answered from the names and methods
+    // collected on first use
+    private volatile Set<String> superClassNames;
+    private volatile Set<String> declaredInterfaceNames;
+    private volatile Set<String> implementedInterfaceNames;
+    private volatile Set<ClassNode> allInterfaces;
+    private volatile Map<String, MethodNode> declaredMethodsMap;
+
     public ImmutableClassNode(Class c) {
         super(c);
     }
@@ -104,6 +117,91 @@ public class ImmutableClassNode extends ClassNode {
         return super.getDeclaredMethods(name);
     }
 
+    @Override
+    public boolean isDerivedFrom(ClassNode type) {
+        if (!isHierarchyInitialized() || equals(ClassHelper.VOID_TYPE)) {
+            return super.isDerivedFrom(type);
+        }
+        if (type.equals(ClassHelper.OBJECT_TYPE)) return true;
+        if (superClassNames == null) {
+            Set<String> names = new HashSet<String>();
+            for (ClassNode node = this; node != null; node = node.getSuperClass()) {
+                names.add(node.getName());
+            }
+            superClassNames = names;
+        }
+        return superClassNames.contains(type.getName());
+    }
+
+    @Override
+    public boolean declaresInterface(ClassNode classNode) {
+        if (!isHierarchyInitialized()) {
+            return super.declaresInterface(classNode);
+        }
+        if (declaredInterfaceNames == null) {
+            Set<String> names = new HashSet<String>();
+            for (ClassNode face : getInterfaces()) {
+                collectInterfaceNames(face, names);
+            }
+            declaredInterfaceNames = names;
+        }
+        return declaredInterfaceNames.contains(classNode.getName());
+    }
+
+    @Override
+    public boolean implementsInterface(ClassNode classNode) {
+        if (!isHierarchyInitialized()) {
+            return super.implementsInterface(classNode);
+        }
+        if (implementedInterfaceNames == null) {
+            Set<String> names = new HashSet<String>();
+            for (ClassNode node = this; node != null; node = node.getSuperClass()) {
+                for (ClassNode face : node.getInterfaces()) {
+                    collectInterfaceNames(face, names);
+                }
+            }
+            implementedInterfaceNames = names;
+        }
+        return implementedInterfaceNames.contains(classNode.getName());
+    }
+
+    @Override
+    public Set<ClassNode> getAllInterfaces() {
+        if (!isHierarchyInitialized()) {
+            return super.getAllInterfaces();
+        }
+        if (allInterfaces == null) {
+            allInterfaces = super.getAllInterfaces();
+        }
+        return new LinkedHashSet<ClassNode>(allInterfaces);
+    }
+
+    @Override
+    public Map<String, MethodNode> getDeclaredMethodsMap() {
+        if (!isHierarchyInitialized()) {
+            return super.getDeclaredMethodsMap();
+        }
+        if (declaredMethodsMap == null) {
+            declaredMethodsMap = super.getDeclaredMethodsMap();
+        }
+        // callers add to the map of the super class
+        return new LinkedHashMap<String, MethodNode>(declaredMethodsMap);
+    }
+
+    private boolean isHierarchyInitialized() {
+        if (redirect != null) return false;
+        lazyClassInit();
+        return lazyInitDone;
+    }
+
+    private static void collectInterfaceNames(ClassNode face, Set<String> names) {
+        if (names.add(face.getName())) {
+            for (ClassNode superFace : face.getInterfaces()) {
+                collectInterfaceNames(superFace, names);
+            }
+        }
+    }
+
     @Override
     public void setAnnotated(boolean b) {}
 
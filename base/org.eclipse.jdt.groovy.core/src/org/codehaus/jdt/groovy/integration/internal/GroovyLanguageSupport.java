@@ -21,6 +21,7 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 import groovy.lang.Binding;
 import groovy.lang.GroovyClassLoader;
@@ -31,6 +32,7 @@ import org.codehaus.groovy.control.ErrorCollector;
 import org.codehaus.groovy.control.Phases;
 import org.codehaus.groovy.control.SourceUnit;
 import org.codehaus.groovy.control.customizers.ImportCustomizer;
+import org.codehaus.groovy.eclipse.GroovyProfiler;
 import org.codehaus.jdt.groovy.integration.EventHandler;
 import org.codehaus.jdt.groovy.integration.ISupplementalIndexer;
 import org.codehaus.jdt.groovy.integration.LanguageSupport;
@@ -42,6 +44,7 @@ import org.codehaus.jdt.groovy.model.GroovyClassFileWorkingCopy;
 import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
 import org.codehaus.jdt.groovy.model.GroovyNature;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.core.IJavaElement;
@@ -55,7 +58,9 @@ import org.eclipse.jdt.core.util.CompilerUtils;
 import org.eclipse.jdt.groovy.core.util.ContentTypeUtils;
 import org.eclipse.jdt.groovy.core.util.GroovyUtils;
 import org.eclipse.jdt.groovy.core.util.ReflectionUtils;
+import org.eclipse.jdt.groovy.search.CombinedSearch;
 import org.eclipse.jdt.groovy.search.ITypeRequestor;
+import org.eclipse.jdt.groovy.search.SearchTokenFilter;
 import org.eclipse.jdt.groovy.search.TypeInferencingVisitorFactory;
 import org.eclipse.jdt.groovy.search.TypeInferencingVisitorWithRequestor;
 import org.eclipse.jdt.groovy.search.TypeRequestorFactory;
@@ -229,10 +234,52 @@ public class GroovyLanguageSupport implements LanguageSupport {
     @Override
     public boolean maybePerformDelegatedSearch(PossibleMatch possibleMatch, SearchPattern pattern, SearchRequestor requestor) {
         if (possibleMatch.openable != null && possibleMatch.openable.exists()) {
+            // answer from the visit of a combined search if possible
+            CombinedSearch companionOf = CombinedSearch.forCompanion(pattern);
+            if (companionOf != null && companionOf.replay(possibleMatch, requestor)) {
+                return true;
+            }
             ITypeRequestor typeRequestor = new TypeRequestorFactory().createRequestor(possibleMatch, pattern, requestor);
             if (typeRequestor != null) {
+                CombinedSearch combined = CombinedSearch.forPrimary(pattern);
+                if (combined != null) {
+                    typeRequestor = combined.createRequestor(possibleMatch, typeRequestor);
+                }
+
+                // skip inferencing if the searched name does not appear in the source
+                int[] candidateOffsets = null;
+                Set<String> candidateNames = (combined != null ? combined.getCandidateNames() : SearchTokenFilter.getCandidateNames(pattern));
+                if (candidateNames != null && possibleMatch.openable instanceof GroovyCompilationUnit) {
+                    boolean savedContents = !((GroovyCompilationUnit) possibleMatch.openable).isWorkingCopy() && possibleMatch.resource != null;
+                    // read the stamp before the contents, so an edit in between cannot pair old contents with the new stamp
+                    long stamp = (savedContents ? possibleMatch.resource.getModificationStamp() : IResource.NULL_STAMP);
+                    if (savedContents && !SearchTokenFilter.mightContain(possibleMatch.resource.getFullPath().toString(), stamp, candidateNames)) {
+                        if (combined != null) {
+                            combined.recordSkip(possibleMatch);
+                        }
+                        return true;
+                    }
+                    char[] contents = possibleMatch.getContents();
+                    if (savedContents) {
+                        SearchTokenFilter.recordIdentifiers(possibleMatch.resource.getFullPath().toString(), stamp, contents);
+                    }
+                    candidateOffsets = SearchTokenFilter.findCandidateOffsets(contents, candidateNames);
+                    if (candidateOffsets.length == 0) {
+                        if (combined != null) {
+                            combined.recordSkip(possibleMatch);
+                        }
+                        return true;
+                    }
+                }
+
                 TypeInferencingVisitorWithRequestor visitor = new TypeInferencingVisitorFactory().createVisitor(possibleMatch);
-                visitor.visitCompilationUnit(typeRequestor);
+                if (visitor != null) {
+                    visitor.setCandidateOffsets(candidateOffsets);
+                    visitor.visitCompilationUnit(typeRequestor);
+                    if (combined != null) {
+                        combined.recordVisit(possibleMatch, typeRequestor);
+                    }
+                }
                 return true;
             }
         }
@@ -313,7 +360,7 @@ public class GroovyLanguageSupport implements LanguageSupport {
     @Override
     public IJavaElement[] binaryCodeSelect(ClassFile classFile, int offset, int length, WorkingCopyOwner owner)
             throws JavaModelException {
-        GroovyCompilationUnit binaryUnit = new GroovyClassFileWorkingCopy(classFile, owner);
+        GroovyCompilationUnit binaryUnit = GroovyClassFileWorkingCopy.forClassFile(classFile, owner);
         return binaryUnit.codeSelect(offset, length, owner);
     }
 
@@ -321,4 +368,14 @@ public class GroovyLanguageSupport implements LanguageSupport {
     public ISupplementalIndexer getSupplementalIndexer() {
         return new BinaryGroovySupplementalIndexer();
     }
+
+    @Override
+    public void setProfilingEnabled(boolean enabled) {
+        GroovyProfiler.profiler.setEnabled(enabled);
+    }
+
+    @Override
+    public String takeProfileReport() {
+        return GroovyProfiler.profiler.takeReport();
+    }
 }
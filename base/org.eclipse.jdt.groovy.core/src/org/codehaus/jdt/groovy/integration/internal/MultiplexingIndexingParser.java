@@ -19,9 +19,16 @@ import java.util.Collections;
 
 import org.codehaus.jdt.groovy.internal.compiler.ast.GroovyCompilationUnitDeclaration;
 import org.codehaus.jdt.groovy.internal.compiler.ast.GroovyParser;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.groovy.core.util.ContentTypeUtils;
 import org.eclipse.jdt.groovy.core.util.ReflectionUtils;
+import org.eclipse.jdt.groovy.search.SearchTokenFilter;
 import org.eclipse.jdt.internal.compiler.CompilationResult;
 import org.eclipse.jdt.internal.compiler.IProblemFactory;
 import org.eclipse.jdt.internal.compiler.ISourceElementRequestor;
@@ -85,12 +92,39 @@ public class MultiplexingIndexingParser extends IndexingParser {
 
             notifier.notifySourceElementRequestor(cud, 0, unit.getContents().length, groovyReportReferenceInfo, sourceEnds,
                 /* We don't care about the @category tag, so pass empty map */Collections.EMPTY_MAP);
+
+            recordIdentifiers(unit);
             return cud;
         } else {
             return super.parseCompilationUnit(unit, fullParse, pm);
         }
     }
 
+    /**
+     * Stores the identifier tokens of the indexed file alongside the index so
+     * that delegated searches can skip files that cannot contain a match.
+     * <p>
+     * The indexer reads the contents before the parser is called, so the file
+     * may have changed since.  The contents are read again after the stamp so
+     * that the filter never describes older contents than its stamp.
+     */
+    private static void recordIdentifiers(ICompilationUnit unit) {
+        IPath path = new Path(String.valueOf(unit.getFileName()));
+        if (path.segmentCount() > 1 && ResourcesPlugin.getPlugin() != null) {
+            IFile file = ResourcesPlugin.getWorkspace().getRoot().getFile(path);
+            if (file.isSynchronized(IResource.DEPTH_ZERO)) {
+                long stamp = file.getModificationStamp();
+                if (stamp != IResource.NULL_STAMP && !SearchTokenFilter.isRecorded(path.toString(), stamp)) {
+                    try {
+                        SearchTokenFilter.recordIdentifiers(path.toString(), stamp, Util.getResourceContentsAsCharArray(file));
+                    } catch (JavaModelException e) {
+                        // file was deleted or is inaccessible; search will read it
+                    }
+                }
+            }
+        }
+    }
+
     // FIXASC this code is copied from MultiplexingSourceElementParser. Should combine
     // FIXASC This should be calculated in GroovyCompilationUnitDeclaration
     private HashtableOfObjectToInt createSourceEnds(CompilationUnitDeclaration cDecl) {
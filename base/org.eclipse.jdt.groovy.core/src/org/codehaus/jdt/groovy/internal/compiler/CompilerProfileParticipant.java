@@ -0,0 +1,44 @@
+/*
+ * Copyright 2009-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.jdt.groovy.internal.compiler;
+
+import org.codehaus.groovy.eclipse.GroovyLogManager;
+import org.codehaus.groovy.eclipse.GroovyProfiler;
+import org.codehaus.groovy.eclipse.TraceCategory;
+import org.codehaus.jdt.groovy.model.GroovyNature;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.compiler.CompilationParticipant;
+
+/**
+ * Compilation participant that reports the compiler profile of each build of a
+ * Groovy project to the compiler trace. Active only if profiling is enabled
+ * (see {@link GroovyProfiler}).
+ */
+public class CompilerProfileParticipant extends CompilationParticipant {
+
+    @Override
+    public boolean isActive(IJavaProject project) {
+        return GroovyProfiler.profiler.isEnabled() && GroovyNature.hasGroovyNature(project.getProject());
+    }
+
+    @Override
+    public void buildFinished(IJavaProject project) {
+        String report = GroovyProfiler.profiler.takeReport();
+        if (report != null) {
+            GroovyLogManager.manager.log(TraceCategory.COMPILER, "Compiler profile of " + project.getElementName() + ":\n" + report);
+        }
+    }
+}
@@ -21,15 +21,17 @@ import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Stream;
 
 import groovy.lang.GroovyClassLoader;
 
@@ -66,17 +68,45 @@ public final class GroovyClassLoaderFactory {
      * orphans the previously cached one). When either a full build or a clean or project close occurs, we also discard the loader
      * instances associated with the project.
      */
-    private static Map<String, Map.Entry<IClasspathEntry[], GroovyClassLoader[]>> projectClassLoaderCache = new ConcurrentHashMap<>();
+    private static Map<String, ProjectClassLoaders> projectClassLoaderCache = new ConcurrentHashMap<>();
+
+    /*
+     * The archives on a project's classpath are loaded by a class loader that is shared with every project that has the same
+     * archives (same order, same timestamps and sizes) on its classpath. Directories, like the project's output folders, are
+     * loaded by a child-first loader of the project, so that a class in an archive cannot shadow one of the project's classes.
+     * Shared loaders are reference counted and closed when the last project that uses one is cleared.
+     */
+    private static final Map<String, SharedClassLoader> sharedClassLoaderCache = new HashMap<>();
 
     public static void clearCache() {
-        projectClassLoaderCache.clear(); // TODO: Close class loaders?
+        for (String projectName : new ArrayList<>(projectClassLoaderCache.keySet())) {
+            clearCache(projectName);
+        }
+        synchronized (sharedClassLoaderCache) {
+            // entries that were added while the projects were cleared
+            sharedClassLoaderCache.values().forEach(shared -> close(shared.loader));
+            sharedClassLoaderCache.clear();
+        }
     }
 
     public static void clearCache(String projectName) {
-        Map.Entry<?, GroovyClassLoader[]> entry = projectClassLoaderCache.remove(projectName);
+        ProjectClassLoaders entry = projectClassLoaderCache.remove(projectName);
         if (entry != null) {
-            Stream.of(entry.getValue()).filter(Objects::nonNull).forEach(GroovyClassLoaderFactory::close);
+            entry.ownedLoaders.forEach(GroovyClassLoaderFactory::close);
+            releaseSharedClassLoaders(entry);
+        }
+    }
+
+    /**
+     * Returns a stamp of the project's classpath as of its current class loaders: it changes when the classpath changes or
+     * when an archive on it is modified. Returns {@code null} if the project has no class loaders.
+     */
+    public static String getClasspathStamp(String projectName) {
+        ProjectClassLoaders entry = projectClassLoaderCache.get(projectName);
+        if (entry == null) {
+            return null;
         }
+        return Integer.toHexString(System.identityHashCode(entry)) + getArchiveStamps(entry.archives);
     }
 
     private static void close(ClassLoader classLoader) {
@@ -90,8 +120,26 @@ public final class GroovyClassLoaderFactory {
         if (classLoader instanceof GroovyClassLoader) {
             ((GroovyClassLoader) classLoader).clearCache();
         }
-        if (classLoader.getParent() instanceof URLClassLoader) {
-            close(classLoader.getParent());
+    }
+
+    private static URLClassLoader acquireSharedClassLoader(String key, Set<String> classpath, ClassLoader parent) {
+        synchronized (sharedClassLoaderCache) {
+            SharedClassLoader shared = sharedClassLoaderCache.computeIfAbsent(key, k -> new SharedClassLoader(newClassLoader(classpath, parent)));
+            shared.references += 1;
+            return shared.loader;
+        }
+    }
+
+    private static void releaseSharedClassLoaders(ProjectClassLoaders entry) {
+        synchronized (sharedClassLoaderCache) {
+            for (String key : entry.sharedKeys) {
+                SharedClassLoader shared = sharedClassLoaderCache.get(key);
+                if (shared != null && --shared.references < 1) {
+                    sharedClassLoaderCache.remove(key);
+                    close(shared.loader);
+                }
+            }
+            entry.sharedKeys.clear();
         }
     }
 
@@ -143,26 +191,31 @@ public final class GroovyClassLoaderFactory {
             IJavaProject javaProject = JavaCore.create(project);
             IClasspathEntry[] classpathEntries = javaProject.exists() ? javaProject.getResolvedClasspath(true) : new IClasspathEntry[0];
 
-            Map.Entry<IClasspathEntry[], GroovyClassLoader[]> entry = projectClassLoaderCache.computeIfAbsent(projectName, key -> {
+            ProjectClassLoaders entry = projectClassLoaderCache.computeIfAbsent(projectName, key -> {
                 Set<String> classPaths = new LinkedHashSet<>(), xformPaths = new LinkedHashSet<>();
                 if (javaProject.exists()) calculateClasspath(javaProject, classPaths, xformPaths);
 
-                if (GroovyLogManager.manager.hasLoggers()) {
+                if (GroovyLogManager.manager.isEnabled(TraceCategory.AST_TRANSFORM)) {
                     GroovyLogManager.manager.log(TraceCategory.AST_TRANSFORM,
                         "transform classpath: " + String.join(File.pathSeparator, xformPaths));
                 }
 
-                return new java.util.AbstractMap.SimpleEntry<>(classpathEntries, new GroovyClassLoader[] {
-                    new GrapeAwareGroovyClassLoader(newClassLoader(classPaths, null/*no parent loader*/), compilerConfiguration),
-                    new GroovyClassLoader(newClassLoader(xformPaths, GroovyParser.class.getClassLoader())/*, compilerConfiguration*/)
-                });
+                ProjectClassLoaders loaders = new ProjectClassLoaders(classpathEntries);
+                GroovyClassLoader classLoader = new GrapeAwareGroovyClassLoader(loaders.newLayeredClassLoader(classPaths, null/*no parent loader*/), compilerConfiguration);
+                GroovyClassLoader xformLoader = new GroovyClassLoader(loaders.newLayeredClassLoader(xformPaths, GroovyParser.class.getClassLoader())/*, compilerConfiguration*/);
+                loaders.ownedLoaders.add(classLoader);
+                loaders.ownedLoaders.add(xformLoader);
+                loaders.groovyLoaders = new GroovyClassLoader[] {classLoader, xformLoader};
+                return loaders;
             });
 
-            if (Arrays.equals(classpathEntries, entry.getKey())) {
-                return entry.getValue();
+            if (Arrays.equals(classpathEntries, entry.classpathEntries)) {
+                return entry.groovyLoaders;
             } else {
                 // project classpath has changed; remove and reload
-                projectClassLoaderCache.remove(projectName);
+                if (projectClassLoaderCache.remove(projectName, entry)) {
+                    releaseSharedClassLoaders(entry);
+                }
                 return getProjectGroovyClassLoaders(compilerConfiguration);
             }
         } catch (Exception e) {
@@ -216,14 +269,18 @@ public final class GroovyClassLoaderFactory {
         return location;
     }
 
-    private static URLClassLoader newClassLoader(Set<String> classpath, ClassLoader parent) {
-        URL[] urls = classpath.stream().map(file -> {
+    private static URL[] toURLs(Set<String> classpath) {
+        return classpath.stream().map(file -> {
             try {
                 return new File(file).toURI().toURL();
             } catch (MalformedURLException ignore) {
                 return null;
             }
         }).filter(Objects::nonNull).toArray(URL[]::new);
+    }
+
+    private static URLClassLoader newClassLoader(Set<String> classpath, ClassLoader parent) {
+        URL[] urls = toURLs(classpath);
 
         if (NONLOCKING) {
             if (parent == null) parent = URLClassLoader.newInstance(new URL[0], null);
@@ -233,6 +290,25 @@ public final class GroovyClassLoaderFactory {
         }
     }
 
+    /**
+     * Determines the key of the shared loader for the given archives: their
+     * locations in classpath order, each with its timestamp and size, so that
+     * a replaced jar is not served by a loader that has the old one open.
+     */
+    private static String getSharedClassLoaderKey(Set<String> archives, ClassLoader parent) {
+        return (parent == null ? "null" : Integer.toHexString(System.identityHashCode(parent))) + getArchiveStamps(archives);
+    }
+
+    private static String getArchiveStamps(Set<String> archives) {
+        StringBuilder stamps = new StringBuilder();
+        for (String archive : archives) {
+            File file = new File(archive);
+            stamps.append(File.pathSeparatorChar).append(file.getAbsolutePath())
+                .append('@').append(file.lastModified()).append(':').append(file.length());
+        }
+        return stamps.toString();
+    }
+
     private static final boolean NONLOCKING = Boolean.getBoolean("greclipse.nonlocking");
     static {
         if (NONLOCKING) {
@@ -242,6 +318,100 @@ public final class GroovyClassLoaderFactory {
 
     //--------------------------------------------------------------------------
 
+    private static final class SharedClassLoader {
+        final URLClassLoader loader;
+        int references;
+
+        SharedClassLoader(URLClassLoader loader) {
+            this.loader = loader;
+        }
+    }
+
+    private static final class ProjectClassLoaders {
+        final IClasspathEntry[] classpathEntries;
+        GroovyClassLoader[] groovyLoaders;
+        /** loaders to close when the project is cleared */
+        final List<ClassLoader> ownedLoaders = new ArrayList<>();
+        /** keys of the shared loaders to release when the project is cleared */
+        final List<String> sharedKeys = new ArrayList<>();
+        /** archives on the classpath of the project's loaders */
+        final Set<String> archives = new LinkedHashSet<>();
+
+        ProjectClassLoaders(IClasspathEntry[] classpathEntries) {
+            this.classpathEntries = classpathEntries;
+        }
+
+        /**
+         * Creates a loader for {@code classpath} that loads from the directories
+         * itself and delegates to a shared loader for the archives.
+         */
+        ClassLoader newLayeredClassLoader(Set<String> classpath, ClassLoader parent) {
+            Set<String> archives = new LinkedHashSet<>(), directories = new LinkedHashSet<>();
+            for (String path : classpath) {
+                (new File(path).isFile() ? archives : directories).add(path);
+            }
+
+            this.archives.addAll(archives);
+            String key = getSharedClassLoaderKey(archives, parent);
+            ClassLoader loader = acquireSharedClassLoader(key, archives, parent);
+            sharedKeys.add(key);
+
+            if (!directories.isEmpty()) {
+                loader = new DirectoryClassLoader(directories, loader);
+                ownedLoaders.add(loader);
+            }
+            return loader;
+        }
+    }
+
+    /**
+     * Loads the classes and resources of a project's directories before asking
+     * its parent, the shared loader for the archives, so that the project's own
+     * classes are found ahead of its libraries as they are on its classpath.
+     */
+    private static final class DirectoryClassLoader extends URLClassLoader {
+
+        static {
+            registerAsParallelCapable();
+        }
+
+        DirectoryClassLoader(Set<String> directories, ClassLoader parent) {
+            super(toURLs(directories), parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (name.startsWith("java.")) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> type = findLoadedClass(name);
+                if (type == null) {
+                    try {
+                        type = findClass(name);
+                    } catch (ClassNotFoundException e) {
+                        return super.loadClass(name, resolve);
+                    }
+                }
+                if (resolve) {
+                    resolveClass(type);
+                }
+                return type;
+            }
+        }
+
+        @Override
+        public URL getResource(String name) {
+            URL url = findResource(name);
+            if (url == null) {
+                url = super.getResource(name);
+            }
+            return url;
+        }
+    }
+
+    //--------------------------------------------------------------------------
+
     @SuppressWarnings("rawtypes")
     public static class GrapeAwareGroovyClassLoader extends GroovyClassLoader {
 
@@ -15,24 +15,39 @@
  */
 package org.codehaus.jdt.groovy.internal.compiler;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.codehaus.jdt.groovy.integration.LanguageSupportFactory;
 import org.codehaus.jdt.groovy.model.GroovyNature;
+import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.filesystem.IFileInfo;
+import org.eclipse.core.filesystem.IFileStore;
 import org.eclipse.core.resources.ICommand;
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.resources.ResourceAttributes;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.QualifiedName;
 import org.eclipse.jdt.core.IClasspathEntry;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaCore;
@@ -40,6 +55,7 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.compiler.BuildContext;
 import org.eclipse.jdt.core.compiler.CategorizedProblem;
 import org.eclipse.jdt.core.compiler.CompilationParticipant;
+import org.eclipse.jdt.groovy.core.Activator;
 import org.eclipse.jdt.groovy.core.util.ScriptFolderSelector;
 import org.eclipse.jdt.groovy.core.util.ScriptFolderSelector.FileKind;
 import org.eclipse.jdt.internal.compiler.problem.DefaultProblem;
@@ -49,9 +65,19 @@ import org.eclipse.jdt.internal.core.util.Util;
 /**
  * Compilation participant for notification when a compile completes.  Copies
  * specified script files into the output directory.
+ * <p>
+ * The copies of a build are made in a single workspace operation and copies
+ * that are already up to date are left alone. Copies of scripts that have
+ * since been deleted are removed when the build finishes, unless a script in
+ * another source folder has the same copy.
  */
 public class ScriptFolderCompilationParticipant extends CompilationParticipant {
 
+    /**
+     * Session property of a project that holds the script copies made since it was opened.
+     */
+    private static final QualifiedName SCRIPT_COPIES = new QualifiedName(Activator.PLUGIN_ID, "scriptCopies");
+
     private IJavaProject project;
 
     /**
@@ -82,6 +108,7 @@ public class ScriptFolderCompilationParticipant extends CompilationParticipant {
 
             ScriptFolderSelector selector = new ScriptFolderSelector(iproject);
             Map<IContainer, IContainer> sourceToOut = generateSourceToOut(project);
+            List<ScriptCopy> pending = new ArrayList<>();
             for (BuildContext compiledFile : compiledFiles) {
                 IFile file = compiledFile.getFile();
                 if (selector.getFileKind(file) == FileKind.SCRIPT) {
@@ -92,10 +119,19 @@ public class ScriptFolderCompilationParticipant extends CompilationParticipant {
                     if (containingSourceFolder != null) {
                         IPath packagePath = findPackagePath(filePath, containingSourceFolder);
                         IContainer out = sourceToOut.get(containingSourceFolder);
-                        copyFile(file, packagePath, out);
+                        pending.add(new ScriptCopy(file, packagePath, out));
                     }
                 }
             }
+            if (!pending.isEmpty()) {
+                Map<IPath, ScriptCopy> copies = getScriptCopies(iproject).bySource;
+                ResourcesPlugin.getWorkspace().run(monitor -> {
+                    for (ScriptCopy copy : pending) {
+                        copyFile(copy, copies.get(copy.source.getFullPath()));
+                        copies.put(copy.source.getFullPath(), copy);
+                    }
+                }, null, IWorkspace.AVOID_UPDATE, null);
+            }
         } catch (CoreException e) {
             Util.log(e, "Error when copying scripts to output folder");
         }
@@ -144,33 +180,92 @@ public class ScriptFolderCompilationParticipant extends CompilationParticipant {
 
     @Override
     public void buildFinished(IJavaProject project) {
-        /*try {
-            IProject iproject = project.getProject();
-            if (compiledFiles == null || !ScriptFolderSelector.isEnabled(iproject)) {
-                return;
+        IProject iproject = project.getProject();
+        if (!iproject.isAccessible()) {
+            return;
+        }
+        try {
+            ScriptCopies copies = getScriptCopies(iproject);
+            Set<IFile> owned = new HashSet<>();
+            List<IFile> stale = new ArrayList<>();
+            for (Iterator<ScriptCopy> it = copies.bySource.values().iterator(); it.hasNext();) {
+                ScriptCopy copy = it.next();
+                if (copy.source.exists()) {
+                    owned.add(copy.target);
+                } else {
+                    stale.add(copy.target);
+                    it.remove();
+                }
             }
+            // a script moved to another source folder with the same output folder has the same copy
+            stale.removeAll(owned);
 
-            ScriptFolderSelector selector = new ScriptFolderSelector(iproject);
-            Map<IContainer, IContainer> sourceToOut = generateSourceToOut(project);
-            for (BuildContext compiledFile : compiledFiles) {
-                IFile file = compiledFile.getFile();
-                if (selector.getFileKind(file) == FileKind.SCRIPT) {
-                    IPath filePath = file.getFullPath();
-                    IContainer containingSourceFolder = findContainingSourceFolder(sourceToOut, filePath);
+            if (!copies.outputChecked && ScriptFolderSelector.isEnabled(iproject)) {
+                // copies made before the project was opened are not known; remove those without a script
+                stale.addAll(findOrphanedCopies(project));
+                copies.outputChecked = true;
+            }
 
-                    // if null, that means the out folder is the same as the source folder
-                    if (containingSourceFolder != null) {
-                        IPath packagePath = findPackagePath(filePath, containingSourceFolder);
-                        IContainer out = sourceToOut.get(containingSourceFolder);
-                        copyFile(file, packagePath, out);
+            if (!stale.isEmpty()) {
+                ResourcesPlugin.getWorkspace().run(monitor -> {
+                    for (IFile file : stale) {
+                        if (file.exists()) {
+                            file.delete(true, null);
+                        }
                     }
-                }
+                }, null, IWorkspace.AVOID_UPDATE, null);
             }
         } catch (CoreException e) {
-            Util.log(e, "Error in Script folder compilation participant");
-        } finally {
-            compiledFiles = null;
-        }*/
+            Util.log(e, "Error when removing copies of deleted scripts from output folder");
+        }
+    }
+
+    private static ScriptCopies getScriptCopies(IProject project) throws CoreException {
+        ScriptCopies copies = (ScriptCopies) project.getSessionProperty(SCRIPT_COPIES);
+        if (copies == null) {
+            copies = new ScriptCopies();
+            project.setSessionProperty(SCRIPT_COPIES, copies);
+        }
+        return copies;
+    }
+
+    /**
+     * Finds the derived files of the output folders that are copies of scripts
+     * (by location and script filters) but have no script in any source folder.
+     */
+    private List<IFile> findOrphanedCopies(IJavaProject project) throws CoreException {
+        ScriptFolderSelector selector = new ScriptFolderSelector(project.getProject());
+        Map<IContainer, List<IContainer>> outToSource = new HashMap<>();
+        generateSourceToOut(project).forEach((source, out) -> outToSource.computeIfAbsent(out, key -> new ArrayList<>()).add(source));
+
+        List<IFile> orphans = new ArrayList<>();
+        for (Map.Entry<IContainer, List<IContainer>> entry : outToSource.entrySet()) {
+            IContainer out = entry.getKey();
+            if (!out.exists()) {
+                continue;
+            }
+            int segmentCount = out.getFullPath().segmentCount();
+            out.accept(proxy -> {
+                if (proxy.getType() == IResource.FILE && proxy.isDerived()) {
+                    IPath path = proxy.requestFullPath().removeFirstSegments(segmentCount);
+                    boolean isCopy = false;
+                    for (IContainer source : entry.getValue()) {
+                        IFile script = source.getFile(path);
+                        if (selector.getFileKind(script) == FileKind.SCRIPT) {
+                            if (script.exists()) {
+                                return false;
+                            }
+                            isCopy = true;
+                        }
+                    }
+                    if (isCopy) {
+                        orphans.add((IFile) proxy.requestResource());
+                    }
+                }
+                return true;
+            }, IResource.NONE);
+        }
+        return orphans;
     }
 
     private IPath findPackagePath(IPath filePath, IContainer containingSourceFolder) {
@@ -190,19 +285,73 @@ public class ScriptFolderCompilationParticipant extends CompilationParticipant {
         return null;
     }
 
-    private void copyFile(IFile file, IPath packagePath, IContainer outputFolder) throws CoreException {
-        IContainer createdFolder = createFolder(packagePath, outputFolder, true);
-        IFile toFile = createdFolder.getFile(new Path(file.getName()));
-        if (toFile.exists()) {
-            toFile.delete(true, null);
+    /**
+     * Copies the script to the output folder unless the copy made previously
+     * (if known) or the existing target file has the same contents.
+     */
+    private void copyFile(ScriptCopy copy, ScriptCopy previous) throws CoreException {
+        IContainer createdFolder = createFolder(copy.packagePath, copy.outputFolder, true);
+        IFile file = copy.source, toFile = createdFolder.getFile(new Path(file.getName()));
+        copy.target = toFile;
+
+        URI sourceLocation = file.getLocationURI(), targetLocation = toFile.getLocationURI();
+        if (sourceLocation == null || targetLocation == null) {
+            if (toFile.exists()) {
+                toFile.delete(true, null);
+            }
+            file.copy(toFile.getFullPath(), true, null);
+            ResourceAttributes newAttrs = new ResourceAttributes();
+            newAttrs.setReadOnly(false);
+            newAttrs.setHidden(false);
+            toFile.setResourceAttributes(newAttrs);
+            toFile.setDerived(true, null);
+            toFile.refreshLocal(IResource.DEPTH_ZERO, null);
+            return;
+        }
+
+        IFileStore source = EFS.getStore(sourceLocation), target = EFS.getStore(targetLocation);
+        if ((previous != null && previous.isCurrent(target)) || isSameContents(source, target)) {
+            if (!toFile.exists()) {
+                toFile.refreshLocal(IResource.DEPTH_ZERO, null);
+                toFile.setDerived(true, null);
+            }
+        } else {
+            // copy through the file system; the refresh reports the change to the workspace
+            source.copy(target, EFS.OVERWRITE, null);
+            IFileInfo info = target.fetchInfo();
+            info.setAttribute(EFS.ATTRIBUTE_READ_ONLY, false);
+            info.setAttribute(EFS.ATTRIBUTE_HIDDEN, false);
+            target.putInfo(info, EFS.SET_ATTRIBUTES, null);
+            toFile.refreshLocal(IResource.DEPTH_ZERO, null);
+            toFile.setDerived(true, null);
+        }
+        copy.sourceStamp = file.getModificationStamp();
+        copy.targetTimeStamp = target.fetchInfo().getLastModified();
+    }
+
+    private static boolean isSameContents(IFileStore source, IFileStore target) throws CoreException {
+        IFileInfo sourceInfo = source.fetchInfo(), targetInfo = target.fetchInfo();
+        if (!targetInfo.exists() || sourceInfo.getLength() != targetInfo.getLength()) {
+            return false;
+        }
+        try (InputStream one = source.openInputStream(EFS.NONE, null); InputStream two = target.openInputStream(EFS.NONE, null)) {
+            byte[] buf1 = new byte[8192], buf2 = new byte[8192];
+            int n;
+            while ((n = one.read(buf1)) > 0) {
+                int m = 0;
+                while (m < n) {
+                    int k = two.read(buf2, m, n - m);
+                    if (k < 0) return false;
+                    m += k;
+                }
+                for (int i = 0; i < n; i += 1) {
+                    if (buf1[i] != buf2[i]) return false;
+                }
+            }
+            return two.read() < 0;
+        } catch (IOException e) {
+            return false;
         }
-        file.copy(toFile.getFullPath(), true, null);
-        ResourceAttributes newAttrs = new ResourceAttributes();
-        newAttrs.setReadOnly(false);
-        newAttrs.setHidden(false);
-        toFile.setResourceAttributes(newAttrs);
-        toFile.setDerived(true, null);
-        toFile.refreshLocal(IResource.DEPTH_ZERO, null);
     }
 
     /**
@@ -275,4 +424,44 @@ public class ScriptFolderCompilationParticipant extends CompilationParticipant {
         }
         return sourceToOut;
     }
+
+    //--------------------------------------------------------------------------
+
+    /**
+     * Script copies of a project by script path.  Kept as a session property,
+     * so it is dropped when the project is closed or deleted.
+     */
+    private static class ScriptCopies {
+        final Map<IPath, ScriptCopy> bySource = new ConcurrentHashMap<>();
+
+        /** Whether the output folders were checked for copies made before this was created. */
+        volatile boolean outputChecked;
+    }
+
+    private static class ScriptCopy {
+        final IFile source;
+        final IPath packagePath;
+        final IContainer outputFolder;
+
+        IFile target;
+        long sourceStamp = IResource.NULL_STAMP;
+        long targetTimeStamp;
+
+        ScriptCopy(IFile source, IPath packagePath, IContainer outputFolder) {
+            this.source = source;
+            this.packagePath = packagePath;
+            this.outputFolder = outputFolder;
+        }
+
+        /**
+         * Determines if neither the script nor its copy have changed since this copy was made.
+         */
+        boolean isCurrent(IFileStore store) {
+            if (sourceStamp == IResource.NULL_STAMP || sourceStamp != source.getModificationStamp()) {
+                return false;
+            }
+            IFileInfo info = store.fetchInfo();
+            return info.exists() && info.getLastModified() == targetTimeStamp;
+        }
+    }
 }
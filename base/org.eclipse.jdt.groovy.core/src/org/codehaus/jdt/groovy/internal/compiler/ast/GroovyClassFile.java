@@ -53,6 +53,20 @@ class GroovyClassFile extends ClassFile {
         this.filename = filename.toCharArray();
     }
 
+    /**
+     * Marks this class as part of the implementation of {@code outer}: a closure
+     * or an anonymous or local class. Like a Java local type, it cannot be named
+     * by other sources. So the builder does not treat adding, removing or
+     * renumbering such classes as a structural change of the source.
+     *
+     * @param outer the class file of the enclosing class, or {@code null} if it
+     *        is not generated by this compile
+     */
+    void setEnclosingClassFile(GroovyClassFile outer) {
+        this.isNestedType = true;
+        this.enclosingClassFile = outer;
+    }
+
     @Override
     public void addAbstractMethod(AbstractMethodDeclaration method, MethodBinding methodBinding) {
         throw new ImmutableException();
@@ -240,7 +254,11 @@ class GroovyClassFile extends ClassFile {
 
     @Override
     public ClassFile outerMostEnclosingClassFile() {
-        throw new UnsupportedOperationException();
+        ClassFile current = this;
+        while (current.enclosingClassFile != null) {
+            current = current.enclosingClassFile;
+        }
+        return current;
     }
 
     @Override
@@ -227,7 +227,7 @@ public class GroovyCompilationUnitDeclaration extends CompilationUnitDeclaration
         } catch (MultipleCompilationErrorsException mce) {
             fixGroovyRuntimeException(mce);
 
-            if (GroovyLogManager.manager.hasLoggers()) {
+            if (GroovyLogManager.manager.isEnabled(TraceCategory.COMPILER)) {
                 GroovyLogManager.manager.log(TraceCategory.COMPILER, mce.getMessage());
             }
 
@@ -242,7 +242,7 @@ public class GroovyCompilationUnitDeclaration extends CompilationUnitDeclaration
             recordProblems(mce.getErrorCollector().getErrors());
 
         } catch (GroovyBugError gbe) {
-            if (GroovyLogManager.manager.hasLoggers()) {
+            if (GroovyLogManager.manager.isEnabled(TraceCategory.COMPILER)) {
                 GroovyLogManager.manager.log(TraceCategory.COMPILER, gbe.getBugText());
             }
 
@@ -348,6 +348,7 @@ public class GroovyCompilationUnitDeclaration extends CompilationUnitDeclaration
                 log("Processing sourceUnit " + groovySourceUnit.getName());
             }
 
+            Map<String, GroovyClassFile> classFiles = new HashMap<>();
             for (GroovyClass clazz : classes) {
                 ClassNode classnode = clazz.getClassNode();
                 if (DEBUG) {
@@ -393,6 +394,7 @@ public class GroovyCompilationUnitDeclaration extends CompilationUnitDeclaration
                         byte[] classbytes = clazz.getBytes();
                         String path = clazz.getName().replace('.', '/');
                         GroovyClassFile classFile = new GroovyClassFile(classname, classbytes, binding, path);
+                        classFiles.put(classname, classFile);
                         char[] classNameChars = classname.toCharArray();
                         if (binding == null) {
                             // GRECLIPSE-1653 this type likely added by AST transform and is synthetic
@@ -404,6 +406,15 @@ public class GroovyCompilationUnitDeclaration extends CompilationUnitDeclaration
                     }
                 }
             }
+
+            // closures and anonymous or local classes are generated anew for every change to a method body and their
+            // names depend on declaration order; report them as nested so they do not cause a rebuild of dependents
+            for (GroovyClass clazz : classes) {
+                GroovyClassFile classFile = classFiles.get(clazz.getName());
+                if (classFile != null && isImplementationClass(clazz.getClassNode())) {
+                    classFile.setEnclosingClassFile(classFiles.get(((InnerClassNode) clazz.getClassNode()).getOuterClass().getName()));
+                }
+            }
         } else {
             // GRECLIPSE-1773
             // We should create problem types if some types are not compiled successfully as it is done for Java types.
@@ -422,6 +433,17 @@ public class GroovyCompilationUnitDeclaration extends CompilationUnitDeclaration
         System.out.println(message);
     }
 
+    /**
+     * Determines if the class is a closure or an anonymous or local class, which cannot be referenced outside of its enclosing class.
+     */
+    private static boolean isImplementationClass(ClassNode classNode) {
+        if (!(classNode instanceof InnerClassNode)) {
+            return false;
+        }
+        InnerClassNode innerClass = (InnerClassNode) classNode;
+        return innerClass.isAnonymous() || innerClass.getEnclosingMethod() != null || innerClass.implementsInterface(ClassHelper.GENERATED_CLOSURE_Type);
+    }
+
     private static SourceTypeBinding findBinding(TypeDeclaration[] typedeclarations, ClassNode cnode) {
         for (TypeDeclaration typedeclaration : typedeclarations) {
             GroovyTypeDeclaration groovyTypeDeclaration = (GroovyTypeDeclaration) typedeclaration;
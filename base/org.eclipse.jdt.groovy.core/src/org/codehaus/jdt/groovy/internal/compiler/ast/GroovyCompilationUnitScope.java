@@ -170,10 +170,9 @@ public class GroovyCompilationUnitScope extends CompilationUnitScope {
      * during the full build
      */
     public ClassNode lookupClassNodeForSource(String typename, JDTResolver jdtResolver) {
-        char[][] compoundName = CharOperation.splitOn('.', typename.toCharArray());
         TypeBinding jdtBinding = null;
         try {
-            jdtBinding = getType(compoundName, compoundName.length);
+            jdtBinding = lookupType(typename);
         } catch (AbortCompilation t) {
             if (t.silentException instanceof AbortIncrementalBuildException) {
                 jdtBinding = null;
@@ -186,39 +185,41 @@ public class GroovyCompilationUnitScope extends CompilationUnitScope {
             return jdtResolver.convertToClassNode(jdtBinding);
         }
 
-        // FIXASC better to look it up properly as a member type rather than catch the problem and unwrap!
-        if (jdtBinding instanceof ProblemReferenceBinding) {
-            ProblemReferenceBinding prBinding = (ProblemReferenceBinding) jdtBinding;
-            if (prBinding.problemId() == ProblemReasons.InternalNameProvided) {
-                jdtBinding = prBinding.closestMatch();
-                if (jdtBinding instanceof SourceTypeBinding || jdtBinding instanceof BinaryTypeBinding) {
-                    return jdtResolver.convertToClassNode(jdtBinding);
-                }
-            }
-        }
-
         return null;
     }
 
     public ClassNode lookupClassNodeForBinary(String typename, JDTResolver jdtResolver) {
-        char[][] compoundName = CharOperation.splitOn('.', typename.toCharArray());
-        TypeBinding jdtBinding = getType(compoundName, compoundName.length);
+        TypeBinding jdtBinding = lookupType(typename);
 
         if (jdtBinding instanceof BinaryTypeBinding) {
             return jdtResolver.convertToClassNode(jdtBinding);
         }
 
+        return null;
+    }
+
+    /**
+     * Looks up a type by name from this scope.
+     *
+     * @return the binding of the type, {@code null} if there is no such type,
+     *     or a problem binding if the type cannot be referenced from this scope
+     */
+    TypeBinding lookupType(String typename) {
+        char[][] compoundName = CharOperation.splitOn('.', typename.toCharArray());
+        TypeBinding jdtBinding = getType(compoundName, compoundName.length);
+
         if (jdtBinding instanceof ProblemReferenceBinding) {
             ProblemReferenceBinding prBinding = (ProblemReferenceBinding) jdtBinding;
-            if (prBinding.problemId() == ProblemReasons.InternalNameProvided) {
-                jdtBinding = prBinding.closestMatch();
-                if (jdtBinding instanceof BinaryTypeBinding) {
-                    return jdtResolver.convertToClassNode(jdtBinding);
-                }
+            switch (prBinding.problemId()) {
+            case ProblemReasons.InternalNameProvided:
+                // FIXASC better to look it up properly as a member type rather than catch the problem and unwrap!
+                return prBinding.closestMatch();
+            case ProblemReasons.NotFound:
+                return null;
             }
         }
 
-        return null;
+        return jdtBinding;
     }
 
     @Override
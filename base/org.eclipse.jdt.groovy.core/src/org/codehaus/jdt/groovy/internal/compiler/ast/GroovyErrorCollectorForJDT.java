@@ -51,7 +51,7 @@ public class GroovyErrorCollectorForJDT extends ErrorCollector {
                 message.write(new PrintWriter(writer));
                 error = writer.toString().trim();
             }
-            if (GroovyLogManager.manager.hasLoggers()) {
+            if (GroovyLogManager.manager.isEnabled(TraceCategory.COMPILER)) {
                 GroovyLogManager.manager.log(TraceCategory.COMPILER, error);
             }
         } catch (Throwable t) {
@@ -75,6 +75,7 @@ public class GroovyParser {
     public static void clearCache(String projectName) {
         scriptFolderSelectorCache.remove(projectName);
         GroovyClassLoaderFactory.clearCache(projectName);
+        MissingTypeCache.clearCache(projectName);
     }
 
     //--------------------------------------------------------------------------
@@ -126,6 +127,12 @@ public class GroovyParser {
             allowTransforms,
             compilerOptions.groovyExcludeGlobalASTScan);
         this.resolver = new JDTResolver(cu);
+        if (compilerOptions.groovyProjectName != null) {
+            String classpathStamp = GroovyClassLoaderFactory.getClasspathStamp(compilerOptions.groovyProjectName);
+            if (classpathStamp != null) {
+                resolver.setMissingTypeCache(MissingTypeCache.forProject(compilerOptions.groovyProjectName, classpathStamp));
+            }
+        }
         cu.removeOutputPhaseOperation();
         cu.setResolveVisitor(resolver);
         cu.tweak(isReconcile);
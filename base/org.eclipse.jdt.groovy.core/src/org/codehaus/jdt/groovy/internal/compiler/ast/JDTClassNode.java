@@ -19,7 +19,10 @@ import static java.beans.Introspector.decapitalize;
 
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Stream;
 
@@ -127,6 +130,14 @@ public class JDTClassNode extends ClassNode implements JDTNode {
 
     private boolean unfindable;
 
+    // the supertypes and members of a JDTClassNode do not change once it is initialized, so hierarchy queries are answered from
+    // the names and methods collected on first use; these are kept only if the node was initialized before collecting them
+    private volatile Set<String> superClassNames;
+    private volatile Set<String> declaredInterfaceNames;
+    private volatile Set<String> implementedInterfaceNames;
+    private volatile Set<ClassNode> allInterfaces;
+    private volatile Map<String, MethodNode> declaredMethodsMap;
+
     //--------------------------------------------------------------------------
 
     public JDTClassNode(ReferenceBinding jdtReferenceBinding, JDTResolver resolver) {
@@ -594,6 +605,81 @@ public class JDTClassNode extends ClassNode implements JDTNode {
         return Collections.unmodifiableList(super.getProperties());
     }
 
+    @Override
+    public boolean isDerivedFrom(ClassNode type) {
+        if (type.equals(ClassHelper.OBJECT_TYPE)) return true;
+        Set<String> names = superClassNames;
+        if (names == null) {
+            names = new HashSet<>();
+            for (ClassNode node = this; node != null; node = node.getSuperClass()) {
+                names.add(node.getName());
+            }
+            if (isInitialized()) superClassNames = names;
+        }
+        return names.contains(type.getName());
+    }
+
+    @Override
+    public boolean declaresInterface(ClassNode classNode) {
+        Set<String> names = declaredInterfaceNames;
+        if (names == null) {
+            names = new HashSet<>();
+            for (ClassNode face : getInterfaces()) {
+                collectInterfaceNames(face, names);
+            }
+            if (isInitialized()) declaredInterfaceNames = names;
+        }
+        return names.contains(classNode.getName());
+    }
+
+    private boolean isInitialized() {
+        return lazyInitDone && !beingInitialized;
+    }
+
+    private static void collectInterfaceNames(ClassNode face, Set<String> names) {
+        if (names.add(face.getName())) {
+            for (ClassNode superFace : face.getInterfaces()) {
+                collectInterfaceNames(superFace, names);
+            }
+        }
+    }
+
+    @Override
+    public boolean implementsInterface(ClassNode classNode) {
+        Set<String> names = implementedInterfaceNames;
+        if (names == null) {
+            names = new HashSet<>();
+            for (ClassNode node = this; node != null; node = node.getSuperClass()) {
+                for (ClassNode face : node.getInterfaces()) {
+                    collectInterfaceNames(face, names);
+                }
+            }
+            if (isInitialized()) implementedInterfaceNames = names;
+        }
+        return names.contains(classNode.getName());
+    }
+
+    @Override
+    public Set<ClassNode> getAllInterfaces() {
+        Set<ClassNode> faces = allInterfaces;
+        if (faces == null) {
+            faces = super.getAllInterfaces();
+            if (isInitialized()) allInterfaces = faces;
+        }
+        return new LinkedHashSet<>(faces);
+    }
+
+    @Override
+    public Map<String, MethodNode> getDeclaredMethodsMap() {
+        Map<String, MethodNode> methods = declaredMethodsMap;
+        if (methods == null) {
+            methods = super.getDeclaredMethodsMap();
+            if (isInitialized()) declaredMethodsMap = methods;
+        }
+        // callers, like ClassNodeUtils.getDeclaredMethodsFromSuper, add to the map
+        return new LinkedHashMap<>(methods);
+    }
+
     /**
      * Some AST transforms are written such that they refer to typeClass on a ClassNode.
      * This is not available under Eclipse. However, we can support it in a rudimentary
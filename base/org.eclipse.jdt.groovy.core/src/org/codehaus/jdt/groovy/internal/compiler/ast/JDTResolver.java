@@ -33,14 +33,20 @@ import org.codehaus.groovy.control.CompilationFailedException;
 import org.codehaus.groovy.control.CompilationUnit;
 import org.codehaus.groovy.control.ResolveVisitor;
 import org.codehaus.groovy.control.SourceUnit;
+import org.codehaus.groovy.eclipse.GroovyProfiler;
 import org.codehaus.jdt.groovy.internal.compiler.GroovyClassLoaderFactory.GrapeAwareGroovyClassLoader;
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.groovy.core.util.ReflectionUtils;
 import org.eclipse.jdt.internal.compiler.ast.SingleTypeReference;
 import org.eclipse.jdt.internal.compiler.ast.TypeDeclaration;
 import org.eclipse.jdt.internal.compiler.env.AccessRestriction;
+import org.eclipse.jdt.internal.compiler.lookup.BinaryTypeBinding;
+import org.eclipse.jdt.internal.compiler.lookup.ReferenceBinding;
+import org.eclipse.jdt.internal.compiler.lookup.SourceTypeBinding;
 import org.eclipse.jdt.internal.compiler.lookup.TypeBinding;
 import org.eclipse.jdt.internal.compiler.lookup.TypeIds;
+import org.eclipse.jdt.internal.compiler.problem.AbortCompilation;
+import org.eclipse.jdt.internal.core.builder.AbortIncrementalBuildException;
 
 /**
  * An extension to the standard groovy ResolveVisitor that can ask JDT for types when groovy cannot find them. A groovy project in
@@ -143,6 +149,17 @@ public class JDTResolver extends ResolveVisitor {
      */
     private Set<String> unresolvables = new HashSet<>();
 
+    /**
+     * Records the bindings found for qualified type names for the lifetime of
+     * the resolver (one build or reconcile), or {@code null} for types that do
+     * not exist. Only lookups that give the same result from any scope -- names
+     * that start with a package and public types -- are recorded.
+     */
+    private Map<String, TypeBinding> typeLookups = new HashMap<>();
+
+    /** Records the missing default-import types of the project across builds. */
+    private MissingTypeCache missingTypes;
+
     //--------------------------------------------------------------------------
 
     public JDTResolver(CompilationUnit groovyCompilationUnit) {
@@ -155,6 +172,10 @@ public class JDTResolver extends ResolveVisitor {
         }
     }
 
+    void setMissingTypeCache(MissingTypeCache missingTypes) {
+        this.missingTypes = missingTypes;
+    }
+
     public void cleanUp() {
         inProgress.clear();
         //nodeCache.clear();
@@ -235,7 +256,7 @@ public class JDTResolver extends ResolveVisitor {
         }
         if (activeScope != null) {
             // Ask JDT for a source file, visible from this scope
-            ClassNode node = activeScope.lookupClassNodeForSource(type.getName(), this);
+            ClassNode node = lookupClassNode(type.getName(), false);
             if (DEBUG) {
                 log("resolveFromCompileUnit (jdt) ", type, node != null);
             }
@@ -271,7 +292,7 @@ public class JDTResolver extends ResolveVisitor {
     protected boolean resolveToOuter(ClassNode type) {
         ClassNode node;
         if (activeScope != null) {
-            node = activeScope.lookupClassNodeForBinary(type.getName(), this);
+            node = lookupClassNode(type.getName(), true);
             if (DEBUG) {
                 log("resolveToOuter (jdt)", type, node != null);
             }
@@ -302,6 +323,62 @@ public class JDTResolver extends ResolveVisitor {
         return false;
     }
 
+    /**
+     * Looks up a type through the active scope.
+     *
+     * @param binaryOnly if {@code true} only binary types are considered; otherwise
+     *     source types are also considered and an aborted incremental build is
+     *     treated as not found (see {@link GroovyCompilationUnitScope#lookupClassNodeForSource})
+     */
+    private ClassNode lookupClassNode(String typename, boolean binaryOnly) {
+        TypeBinding binding;
+        if (typeLookups.containsKey(typename)) {
+            binding = typeLookups.get(typename);
+            GroovyProfiler.profiler.record(GroovyProfiler.Section.LOOKUP, "cached type", 0L);
+        } else if (missingTypes != null && missingTypes.isMissing(typename)) {
+            binding = null;
+            GroovyProfiler.profiler.record(GroovyProfiler.Section.LOOKUP, "cached missing type", 0L);
+        } else {
+            long start = GroovyProfiler.profiler.start();
+            try {
+                binding = activeScope.lookupType(typename);
+            } catch (AbortCompilation t) {
+                if (!binaryOnly && t.silentException instanceof AbortIncrementalBuildException) {
+                    return null;
+                }
+                throw t;
+            }
+            if (start != 0L) {
+                GroovyProfiler.profiler.record(GroovyProfiler.Section.LOOKUP, binding != null ? "scope lookup" : "scope lookup (not found)", System.nanoTime() - start);
+            }
+            // the first segment of a name like "Map.Entry" is resolved through the imports of the scope
+            if (Character.isLowerCase(typename.charAt(0)) && typename.indexOf('.') > 0) {
+                if (binding == null) {
+                    typeLookups.put(typename, null);
+                    if (missingTypes != null) {
+                        missingTypes.setMissing(typename);
+                    }
+                } else if (binding instanceof ReferenceBinding && isPublic((ReferenceBinding) binding)) {
+                    typeLookups.put(typename, binding);
+                }
+            }
+        }
+
+        if (binding instanceof BinaryTypeBinding || (!binaryOnly && binding instanceof SourceTypeBinding)) {
+            return convertToClassNode(binding);
+        }
+        return null;
+    }
+
+    private static boolean isPublic(ReferenceBinding binding) {
+        for (ReferenceBinding type = binding; type != null; type = type.enclosingType()) {
+            if (!type.isPublic()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     // avoiding an inner resolve is dangerous
     // leave a back door here to turn it back on
     // if no one complains, then safe to remove
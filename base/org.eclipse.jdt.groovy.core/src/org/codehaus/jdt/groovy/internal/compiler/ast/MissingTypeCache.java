@@ -0,0 +1,116 @@
+/*
+ * Copyright 2009-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.jdt.groovy.internal.compiler.ast;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+
+/**
+ * Remembers, for each project, the names probed in the default-import packages
+ * ({@code java.lang.Foo}, {@code groovy.util.Foo}, ...) that do not exist. The
+ * resolver tries every unqualified type name against these packages, so the
+ * same missing names are looked up in every file of every build or reconcile.
+ * <p>
+ * The default-import packages are provided by archives on the classpath, so a
+ * project's cache is kept as long as its classpath and the archives on it are
+ * unchanged; it is also discarded when the project is cleaned or closed. Names
+ * are not recorded for a package that is also in one of the project's source
+ * folders, since a type may be added to it at any time; the cache is replaced
+ * when such a package is added to or removed from the source folders.
+ */
+final class MissingTypeCache {
+
+    private static final Set<String> DEFAULT_IMPORT_PACKAGES = Collections.unmodifiableSet(new HashSet<>(
+        Arrays.asList("java.lang", "java.util", "java.io", "java.net", "groovy.lang", "groovy.util")));
+
+    private static final Map<String, MissingTypeCache> projectCaches = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the cache of the given project for the given classpath stamp.
+     */
+    static MissingTypeCache forProject(String projectName, String classpathStamp) {
+        Set<String> sourcePackages = getSourcePackages(projectName);
+        return projectCaches.compute(projectName, (key, cache) ->
+            (cache != null && cache.classpathStamp.equals(classpathStamp) && cache.sourcePackages.equals(sourcePackages)
+                ? cache : new MissingTypeCache(classpathStamp, sourcePackages)));
+    }
+
+    static void clearCache(String projectName) {
+        projectCaches.remove(projectName);
+    }
+
+    /**
+     * Returns the default-import packages that exist in the source folders of
+     * the given project, or all of them if the source folders are unknown.
+     */
+    private static Set<String> getSourcePackages(String projectName) {
+        IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+        try {
+            Set<String> sourcePackages = new HashSet<>();
+            for (IClasspathEntry entry : JavaCore.create(root.getProject(projectName)).getRawClasspath()) {
+                if (entry.getEntryKind() == IClasspathEntry.CPE_SOURCE) {
+                    for (String packageName : DEFAULT_IMPORT_PACKAGES) {
+                        if (root.findMember(entry.getPath().append(packageName.replace('.', '/'))) != null) {
+                            sourcePackages.add(packageName);
+                        }
+                    }
+                }
+            }
+            return sourcePackages;
+        } catch (JavaModelException e) {
+            return DEFAULT_IMPORT_PACKAGES;
+        }
+    }
+
+    //--------------------------------------------------------------------------
+
+    private final String classpathStamp;
+    private final Set<String> sourcePackages;
+    private final Set<String> missingTypes = ConcurrentHashMap.newKeySet();
+
+    private MissingTypeCache(String classpathStamp, Set<String> sourcePackages) {
+        this.classpathStamp = classpathStamp;
+        this.sourcePackages = sourcePackages;
+    }
+
+    boolean isMissing(String typename) {
+        return missingTypes.contains(typename);
+    }
+
+    /**
+     * Records that the named type was not found; ignored for types outside of
+     * the default-import packages and for packages in the source folders.
+     */
+    void setMissing(String typename) {
+        int dot = typename.lastIndexOf('.');
+        if (dot > 0) {
+            String packageName = typename.substring(0, dot);
+            if (DEFAULT_IMPORT_PACKAGES.contains(packageName) && !sourcePackages.contains(packageName)) {
+                missingTypes.add(typename);
+            }
+        }
+    }
+}
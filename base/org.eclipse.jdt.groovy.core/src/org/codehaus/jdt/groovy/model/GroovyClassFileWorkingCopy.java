@@ -1,5 +1,5 @@
 /*
- * Copyright 2009-2017 the original author or authors.
+ * Copyright 2009-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,14 +15,21 @@
  */
 package org.codehaus.jdt.groovy.model;
 
+import java.io.File;
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.codehaus.groovy.ast.ModuleNode;
 import org.codehaus.jdt.groovy.internal.compiler.ast.GroovyCompilationUnitDeclaration;
 import org.codehaus.jdt.groovy.internal.compiler.ast.JDTResolver;
 import org.codehaus.jdt.groovy.model.ModuleNodeMapper.ModuleNodeInfo;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
@@ -58,6 +65,117 @@ import org.eclipse.jdt.internal.core.util.Util;
  */
 public class GroovyClassFileWorkingCopy extends GroovyCompilationUnit {
 
+    private static final int MAX_CACHED_WORKING_COPIES = 16;
+
+    /**
+     * Recently used working copies, by class file and owner. Each keeps its parsed
+     * module and Java model structure, so navigating into a library class again
+     * does not parse and resolve its attached source again.
+     */
+    @SuppressWarnings("serial")
+    private static final Map<CacheKey, CachedWorkingCopy> workingCopyCache = new LinkedHashMap<CacheKey, CachedWorkingCopy>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<CacheKey, CachedWorkingCopy> eldest) {
+            return size() > MAX_CACHED_WORKING_COPIES;
+        }
+    };
+
+    /**
+     * Returns a working copy for the given class file, reusing a recent one if
+     * the archive or folder of the class file, its source attachment and the
+     * classpath of its project are unchanged.
+     */
+    public static GroovyClassFileWorkingCopy forClassFile(ClassFile classFile, WorkingCopyOwner owner) {
+        if (owner == null) {
+            owner = DefaultWorkingCopyOwner.PRIMARY;
+        }
+        CacheKey key = new CacheKey(classFile.getHandleIdentifier(), owner);
+        String stamp = getStamp(classFile);
+        synchronized (workingCopyCache) {
+            CachedWorkingCopy cached = workingCopyCache.get(key);
+            if (cached != null && cached.stamp.equals(stamp)) {
+                return cached.workingCopy;
+            }
+            GroovyClassFileWorkingCopy workingCopy = new GroovyClassFileWorkingCopy(classFile, owner);
+            workingCopyCache.put(key, new CachedWorkingCopy(stamp, workingCopy));
+            return workingCopy;
+        }
+    }
+
+    private static String getStamp(ClassFile classFile) {
+        PackageFragmentRoot root = (PackageFragmentRoot) classFile.getPackageFragmentRoot();
+        StringBuilder stamp = new StringBuilder();
+        appendStamp(stamp, root.getPath());
+        try {
+            appendStamp(stamp, root.getSourceAttachmentPath());
+            stamp.append('|').append(Arrays.hashCode(classFile.getJavaProject().getResolvedClasspath(true)));
+        } catch (JavaModelException e) {
+            stamp.append('|').append(System.nanoTime()); // do not reuse
+        }
+        return stamp.toString();
+    }
+
+    private static void appendStamp(StringBuilder stamp, IPath path) {
+        stamp.append('|');
+        if (path != null) {
+            File file = path.toFile();
+            if (!file.exists()) {
+                IResource resource = ResourcesPlugin.getWorkspace().getRoot().findMember(path);
+                if (resource != null && resource.getLocation() != null) {
+                    file = resource.getLocation().toFile();
+                }
+            }
+            // a class folder's stamp does not reflect changes to its contents
+            stamp.append(path).append('@').append(file.isFile() ? file.lastModified() + ":" + file.length() : String.valueOf(System.nanoTime()));
+        }
+    }
+
+    /**
+     * Identifies a class file and the owner of its working copy; the owner is
+     * compared by identity and is not kept alive by the key.
+     */
+    private static final class CacheKey {
+        final String handle;
+        final int hash;
+        final Reference<WorkingCopyOwner> owner;
+
+        CacheKey(String handle, WorkingCopyOwner owner) {
+            this.handle = handle;
+            this.hash = handle.hashCode() * 31 + System.identityHashCode(owner);
+            this.owner = new WeakReference<>(owner);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey that = (CacheKey) obj;
+            WorkingCopyOwner owner = this.owner.get();
+            return (owner != null && owner == that.owner.get() && handle.equals(that.handle));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class CachedWorkingCopy {
+        final String stamp;
+        final GroovyClassFileWorkingCopy workingCopy;
+
+        CachedWorkingCopy(String stamp, GroovyClassFileWorkingCopy workingCopy) {
+            this.stamp = stamp;
+            this.workingCopy = workingCopy;
+        }
+    }
+
+    //--------------------------------------------------------------------------
+
     public final ClassFile classFile;
 
     // GROOVY Change
@@ -183,7 +301,7 @@ public class GroovyClassFileWorkingCopy extends GroovyCompilationUnit {
     // all be a working copy
     // build structure only needs to happen once.
     @Override
-    public PerWorkingCopyInfo getPerWorkingCopyInfo() {
+    public synchronized PerWorkingCopyInfo getPerWorkingCopyInfo() {
         if (elementInfo == null) {
             try {
                 elementInfo = (CompilationUnitElementInfo) createElementInfo();
@@ -200,7 +318,7 @@ public class GroovyClassFileWorkingCopy extends GroovyCompilationUnit {
      * Cache module node locally and not in the mapper
      */
     @Override
-    protected void maybeCacheModuleNode(PerWorkingCopyInfo perWorkingCopyInfo,
+    protected synchronized void maybeCacheModuleNode(PerWorkingCopyInfo perWorkingCopyInfo,
             GroovyCompilationUnitDeclaration compilationUnitDeclaration) {
         if (compilationUnitDeclaration != null) {
             moduleNode = compilationUnitDeclaration.getModuleNode();
@@ -217,7 +335,7 @@ public class GroovyClassFileWorkingCopy extends GroovyCompilationUnit {
     }
 
     @Override
-    public ModuleNodeInfo getModuleInfo(boolean force) {
+    public synchronized ModuleNodeInfo getModuleInfo(boolean force) {
         if (moduleNodeInfo == null) {
             try {
                 this.reconcile(true, null);
@@ -229,7 +347,7 @@ public class GroovyClassFileWorkingCopy extends GroovyCompilationUnit {
     }
 
     @Override
-    public ModuleNodeInfo getNewModuleInfo() {
+    public synchronized ModuleNodeInfo getNewModuleInfo() {
         if (moduleNodeInfo == null) {
             try {
                 this.open(null);
@@ -244,7 +362,7 @@ public class GroovyClassFileWorkingCopy extends GroovyCompilationUnit {
      * ModuleNode is not cached in the Mapper, but rather cached locally
      */
     @Override
-    public ModuleNode getModuleNode() {
+    public synchronized ModuleNode getModuleNode() {
         // ensure moduleNode is initialized
         getPerWorkingCopyInfo();
         return moduleNode;
@@ -210,11 +210,8 @@ public class GroovyCompilationUnit extends CompilationUnit {
     protected boolean buildStructure(OpenableElementInfo info, IProgressMonitor pm, Map newElements, IResource underlyingResource)
             throws JavaModelException {
         depth.increment();
+        GroovyLogManager.Span span = GroovyLogManager.manager.startSpan(TraceCategory.COMPILER, "Build structure: ", name);
         try {
-            if (GroovyLogManager.manager.hasLoggers()) {
-                GroovyLogManager.manager.log(TraceCategory.COMPILER, "Build Structure starting for " + name);
-                GroovyLogManager.manager.logStart("Build structure: " + name + " : " + Thread.currentThread().getName());
-            }
 
             // ensure buffer is opened
             IBuffer buffer = getBufferManager().getBuffer(this);
@@ -304,7 +301,9 @@ public class GroovyCompilationUnit extends CompilationUnit {
                 // this buildStructure for each one. The 'full' parse (with bindings) is only required for
                 // the top most (regardless of the computeProblems setting) and so we track how many recursive
                 // calls we have made - if we are at depth 2 we do what JDT was going to do (the quick thing).
-                if (computeProblems || depth.intValue() < 2) {
+                // addendum: callers that only need the Java model structure (outline, type hierarchy, search's
+                // getTypes()) get the quick thing as well; see isStructureOnly for the conditions
+                if (computeProblems || (depth.intValue() < 2 && !isStructureOnly(perWorkingCopyInfo, createAST, resolveBindings, problems))) {
                     if (problems == null) {
                         // report problems to the problem requestor
                         problems = new HashMap<>();
@@ -395,12 +394,25 @@ public class GroovyCompilationUnit extends CompilationUnit {
             return info.isStructureKnown();
         } finally {
             depth.decrement();
-            if (GroovyLogManager.manager.hasLoggers()) {
-                GroovyLogManager.manager.logEnd("Build structure: " + name + " : " + Thread.currentThread().getName(), TraceCategory.COMPILER);
-            }
+            span.end();
         }
     }
 
+    /**
+     * Determines if a build structure request can be satisfied by the conversion-phase module node alone;
+     * that is, without resolve, transforms or problem detection.  Working copies always get the full
+     * treatment since their module node is cached for inferencing (code select, content assist, etc.).
+     */
+    private static boolean isStructureOnly(JavaModelManager.PerWorkingCopyInfo perWorkingCopyInfo,
+            boolean createAST, boolean resolveBindings, Map<String, CategorizedProblem[]> problems) {
+        return (perWorkingCopyInfo == null && !createAST && !resolveBindings && problems == null && !STRUCTURE_ONLY_DISABLED);
+    }
+
+    /**
+     * Escape hatch for the structure-only fast path; set system property "greclipse.structureOnly.disabled" to revert.
+     */
+    private static final boolean STRUCTURE_ONLY_DISABLED = Boolean.getBoolean("greclipse.structureOnly.disabled");
+
     protected void maybeCacheModuleNode(JavaModelManager.PerWorkingCopyInfo perWorkingCopyInfo, GroovyCompilationUnitDeclaration compilationUnitDeclaration) {
         ModuleNodeMapper.getInstance().maybeCacheModuleNode(perWorkingCopyInfo, compilationUnitDeclaration);
     }
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2009-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.jdt.groovy.search;
+
+import static org.codehaus.groovy.ast.tools.GeneralUtils.castX;
+import static org.codehaus.groovy.transform.stc.StaticTypeCheckingSupport.evaluateExpression;
+
+import java.util.List;
+
+import groovy.transform.stc.ClosureSignatureHint;
+
+import org.codehaus.groovy.ast.AnnotationNode;
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.ast.Parameter;
+import org.codehaus.groovy.ast.expr.ClassExpression;
+import org.codehaus.groovy.ast.expr.Expression;
+import org.codehaus.groovy.control.CompilerConfiguration;
+
+/**
+ * Evaluated {@code @ClosureParams} and {@code @DelegatesTo} members of a
+ * method parameter. Evaluating an annotation member compiles a throwaway
+ * class, so results are kept in the parameter's node metadata and shared by
+ * every call of the method that is inferenced afterwards.
+ * <p>
+ * Only the annotation values are kept; type names given as strings are
+ * resolved by the caller, since resolution depends on the calling module.
+ */
+final class ClosureParameterMetadata {
+
+    /**
+     * Returns the (possibly not yet evaluated) metadata of the given parameter.
+     */
+    static ClosureParameterMetadata of(Parameter parameter) {
+        ClosureParameterMetadata metadata = parameter.getNodeMetaData(ClosureParameterMetadata.class);
+        if (metadata == null) {
+            synchronized (parameter) {
+                metadata = parameter.getNodeMetaData(ClosureParameterMetadata.class);
+                if (metadata == null) {
+                    metadata = new ClosureParameterMetadata();
+                    parameter.putNodeMetaData(ClosureParameterMetadata.class, metadata);
+                }
+            }
+        }
+        return metadata;
+    }
+
+    private ClosureParams closureParams;
+    private DelegatesTo delegatesTo;
+
+    private ClosureParameterMetadata() {
+    }
+
+    /**
+     * @param annotation the parameter's {@code @ClosureParams} annotation
+     */
+    @SuppressWarnings("unchecked")
+    synchronized ClosureParams getClosureParams(AnnotationNode annotation, CompilerConfiguration config) {
+        if (closureParams == null) {
+            Class<? extends ClosureSignatureHint> hint = (Class<? extends ClosureSignatureHint>) evaluateExpression(castX(VariableScope.CLASS_CLASS_NODE, annotation.getMember("value")), config);
+            String[] options = (String[]) evaluateExpression(castX(VariableScope.STRING_CLASS_NODE.makeArray(), annotation.getMember("options")), config);
+
+            closureParams = new ClosureParams(hint, options);
+        }
+        return closureParams;
+    }
+
+    /**
+     * @param annotation the parameter's {@code @DelegatesTo} annotation
+     * @param parameters all parameters of the declaring method
+     */
+    synchronized DelegatesTo getDelegatesTo(AnnotationNode annotation, Parameter[] parameters, CompilerConfiguration config) {
+        if (delegatesTo == null) {
+            Expression delegatesToType = annotation.getMember("type");
+            Expression delegatesToValue = annotation.getMember("value");
+            Expression delegatesToTarget = annotation.getMember("target");
+            Expression delegatesToStrategy = annotation.getMember("strategy");
+            Expression delegatesToGenericTypeIndex = annotation.getMember("genericTypeIndex");
+
+            String typeName = null; Integer strategy = null, generics = null;
+            if (delegatesToType != null) {
+                typeName = (String) evaluateExpression(castX(VariableScope.STRING_CLASS_NODE, delegatesToType), config);
+            }
+            if (delegatesToStrategy != null) {
+                strategy = (Integer) evaluateExpression(castX(VariableScope.INTEGER_CLASS_NODE, delegatesToStrategy), config);
+            }
+            if (delegatesToGenericTypeIndex != null) {
+                generics = (Integer) evaluateExpression(castX(VariableScope.INTEGER_CLASS_NODE, delegatesToGenericTypeIndex), config);
+            }
+
+            ClassNode type = null; int target = -1;
+            if (delegatesToValue instanceof ClassExpression && !delegatesToValue.getType().getName().equals("groovy.lang.DelegatesTo$Target")) {
+                type = delegatesToValue.getType();
+            } else if (typeName == null || typeName.isEmpty()) {
+                typeName = null;
+                if (delegatesToValue == null || delegatesToValue instanceof ClassExpression) {
+                    target = indexOfDelegatesToTarget(parameters, (String) evaluateExpression(castX(VariableScope.STRING_CLASS_NODE, delegatesToTarget), config), config);
+                }
+            }
+
+            delegatesTo = new DelegatesTo(type, typeName, delegatesToType, strategy, generics, target);
+        }
+        return delegatesTo;
+    }
+
+    /**
+     * Finds param with DelegatesTo.Target annotation that has matching value string.
+     */
+    private static int indexOfDelegatesToTarget(Parameter[] parameters, String target, CompilerConfiguration config) {
+        for (int i = 0, n = parameters.length; i < n; i += 1) {
+            List<AnnotationNode> annotations = parameters[i].getAnnotations();
+            if (annotations != null && !annotations.isEmpty()) {
+                for (AnnotationNode annotation : annotations) {
+                    if (annotation.getClassNode().getName().equals("groovy.lang.DelegatesTo$Target")) {
+                        String value = (String) evaluateExpression(castX(VariableScope.STRING_CLASS_NODE, annotation.getMember("value")), config);
+                        if (value.equals(target)) {
+                            return i;
+                        }
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    //--------------------------------------------------------------------------
+
+    static final class ClosureParams {
+        final Class<? extends ClosureSignatureHint> hint;
+        final String[] options;
+
+        ClosureParams(Class<? extends ClosureSignatureHint> hint, String[] options) {
+            this.hint = hint;
+            this.options = options;
+        }
+    }
+
+    /**
+     * Handles three modes: {@code @DelegatesTo(Type.class)}, {@code @DelegatesTo(type="pack.Type")}
+     * and {@code @DelegatesTo(target="name", genericTypeIndex=i)}.
+     */
+    static final class DelegatesTo {
+        /** value of {@code @DelegatesTo(Type.class)} */
+        final ClassNode type;
+        /** value of {@code @DelegatesTo(type="pack.Type")} */
+        final String typeName;
+        final Expression typeExpression;
+        final Integer strategy;
+        final Integer genericTypeIndex;
+        /** index of parameter named by {@code @DelegatesTo(target="name")} */
+        final int targetIndex;
+
+        DelegatesTo(ClassNode type, String typeName, Expression typeExpression, Integer strategy, Integer genericTypeIndex, int targetIndex) {
+            this.type = type;
+            this.typeName = typeName;
+            this.typeExpression = typeExpression;
+            this.strategy = strategy;
+            this.genericTypeIndex = genericTypeIndex;
+            this.targetIndex = targetIndex;
+        }
+    }
+}
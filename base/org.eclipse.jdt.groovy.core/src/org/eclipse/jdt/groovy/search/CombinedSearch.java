@@ -0,0 +1,230 @@
+/*
+ * Copyright 2009-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.jdt.groovy.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.SearchRequestor;
+import org.eclipse.jdt.internal.core.search.matching.PossibleMatch;
+import org.eclipse.jdt.internal.core.util.Util;
+
+/**
+ * Lets a follow-up search ride along with a search that infers the same Groovy files. While the primary search runs, the
+ * companion pattern is matched during the same visit of each file and its matches are recorded. When the companion search
+ * runs afterwards, recorded files are answered from the record instead of being inferred again; files outside of the
+ * primary search scope, or changed since, are searched as usual.
+ * <p>
+ * For example, a field rename searches for the field and then its participant searches for the property's synthetic
+ * accessors. Only the most recent primary search is kept. It is discarded when its companion search completes, when
+ * another primary search is registered, or when any Java element changes, since inferencing depends on other files.
+ */
+public class CombinedSearch {
+
+    private static CombinedSearch registered;
+
+    static {
+        JavaCore.addElementChangedListener(event -> discardAll(), ElementChangedEvent.POST_CHANGE);
+    }
+
+    /**
+     * Registers {@code companion} to be matched alongside {@code primary}, which is about to be searched in {@code scope}.
+     * Only files within {@code scope} are recorded. Records of any earlier search are discarded.
+     */
+    public static synchronized void register(SearchPattern primary, SearchPattern companion, IJavaSearchScope scope) {
+        registered = new CombinedSearch(primary, companion, scope);
+    }
+
+    /**
+     * Discards the record of a primary search focused on {@code element} once its companion search has completed or if
+     * the companion search is not going to run.
+     */
+    public static synchronized void unregister(IJavaElement element) {
+        if (registered != null && element.equals(registered.primary.focus)) {
+            registered = null;
+        }
+    }
+
+    private static synchronized void discardAll() {
+        registered = null;
+    }
+
+    /**
+     * Claims the companion pattern registered for a search focused on {@code element}. From then on, the primary search
+     * records nothing more and the companion search, if run with the returned pattern, replays the records.
+     *
+     * @return the companion pattern or {@code null}
+     */
+    public static synchronized SearchPattern claimCompanion(IJavaElement element) {
+        if (registered != null && !registered.claimed && element.equals(registered.primary.focus)) {
+            registered.claimed = true;
+            return registered.companion;
+        }
+        return null;
+    }
+
+    /**
+     * @return the combined search in which {@code pattern} is the primary pattern, or {@code null}
+     */
+    public static synchronized CombinedSearch forPrimary(SearchPattern pattern) {
+        if (registered != null && !registered.claimed && registered.primary == pattern) {
+            return registered;
+        }
+        return null;
+    }
+
+    /**
+     * @return the combined search in which {@code pattern} is the claimed companion pattern, or {@code null}
+     */
+    public static synchronized CombinedSearch forCompanion(SearchPattern pattern) {
+        if (registered != null && registered.claimed && registered.companion == pattern) {
+            return registered;
+        }
+        return null;
+    }
+
+    //--------------------------------------------------------------------------
+
+    private final SearchPattern primary;
+    private final SearchPattern companion;
+    private final IJavaSearchScope scope;
+    private final Map<String, Record> records = new ConcurrentHashMap<>();
+    private volatile boolean claimed;
+
+    private CombinedSearch(SearchPattern primary, SearchPattern companion, IJavaSearchScope scope) {
+        this.primary = primary;
+        this.companion = companion;
+        this.scope = scope;
+    }
+
+    /**
+     * @return names of which one must appear in a file for either pattern to match, or {@code null} if unknown
+     */
+    public Set<String> getCandidateNames() {
+        Set<String> names = SearchTokenFilter.getCandidateNames(primary);
+        if (names != null) {
+            Set<String> more = SearchTokenFilter.getCandidateNames(companion);
+            if (more == null) {
+                return null;
+            }
+            names.addAll(more);
+        }
+        return names;
+    }
+
+    /**
+     * Creates a requestor for the primary visit of {@code possibleMatch} that also matches the companion pattern. The file
+     * is recorded when {@link #recordVisit(PossibleMatch, ITypeRequestor)} is called after the visit.
+     */
+    public ITypeRequestor createRequestor(PossibleMatch possibleMatch, ITypeRequestor primaryRequestor) {
+        List<SearchMatch> matches = new ArrayList<>();
+        ITypeRequestor companionRequestor = new TypeRequestorFactory().createRequestor(possibleMatch, companion, new SearchRequestor() {
+            @Override
+            public void acceptSearchMatch(SearchMatch match) {
+                matches.add(match);
+            }
+        });
+        if (companionRequestor == null) {
+            return primaryRequestor;
+        }
+        return new CombinedRequestor(Arrays.asList(primaryRequestor, companionRequestor), matches);
+    }
+
+    /**
+     * Records the companion matches found in {@code possibleMatch}. A requestor that was not created by this search means
+     * the file was not visited for the companion pattern, so nothing is recorded.
+     */
+    public void recordVisit(PossibleMatch possibleMatch, ITypeRequestor requestor) {
+        if (requestor instanceof CombinedRequestor) {
+            record(possibleMatch, ((CombinedRequestor) requestor).companionMatches);
+        }
+    }
+
+    /**
+     * Records that {@code possibleMatch} was skipped because it contains none of the candidate names.
+     */
+    public void recordSkip(PossibleMatch possibleMatch) {
+        record(possibleMatch, Collections.emptyList());
+    }
+
+    private void record(PossibleMatch possibleMatch, List<SearchMatch> matches) {
+        String path = String.valueOf(possibleMatch.document.getPath());
+        if (!claimed && scope.encloses(path)) {
+            records.put(path, new Record(possibleMatch, matches));
+        }
+    }
+
+    /**
+     * Reports the recorded companion matches of {@code possibleMatch} to {@code requestor}.
+     *
+     * @return {@code false} if the file was not part of the primary search or has changed since and needs to be searched
+     */
+    public boolean replay(PossibleMatch possibleMatch, SearchRequestor requestor) {
+        Record record = records.remove(String.valueOf(possibleMatch.document.getPath()));
+        if (record == null || !isCurrent() || record.contentsHash != Arrays.hashCode(possibleMatch.getContents())) {
+            return false;
+        }
+        for (SearchMatch match : record.matches) {
+            try {
+                requestor.acceptSearchMatch(match);
+            } catch (CoreException e) {
+                Util.log(e, "Error reporting search match inside of " + match.getResource());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Determines if this is still the registered search; records of a search that was superseded by another (possibly of
+     * the same pattern in another scope) or discarded due to changes are not replayed.
+     */
+    private boolean isCurrent() {
+        synchronized (CombinedSearch.class) {
+            return (registered == this);
+        }
+    }
+
+    private static class Record {
+        final int contentsHash;
+        final List<SearchMatch> matches;
+
+        Record(PossibleMatch possibleMatch, List<SearchMatch> matches) {
+            this.contentsHash = Arrays.hashCode(possibleMatch.getContents());
+            this.matches = matches;
+        }
+    }
+
+    private static class CombinedRequestor extends OrPatternRequestor {
+        final List<SearchMatch> companionMatches;
+
+        CombinedRequestor(List<ITypeRequestor> requestors, List<SearchMatch> companionMatches) {
+            super(requestors);
+            this.companionMatches = companionMatches;
+        }
+    }
+}
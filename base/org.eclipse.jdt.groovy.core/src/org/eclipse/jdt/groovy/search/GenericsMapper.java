@@ -1,5 +1,5 @@
 /*
- * Copyright 2009-2017 the original author or authors.
+ * Copyright 2009-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.codehaus.groovy.ast.ClassNode;
 import org.codehaus.groovy.ast.GenericsType;
@@ -45,6 +46,30 @@ public class GenericsMapper {
      * @param declaringType a type that is somewhere in resolvedType's hierarchy used to find the target of the mapping
      */
     public static GenericsMapper gatherGenerics(ClassNode resolvedType, ClassNode declaringType) {
+        // mappings depend only on the type arguments of resolvedType, the
+        // hierarchy of its redirect and the declaring type; cache them on
+        // the redirect so they live as long as the type declaration itself
+        // (class-backed types like ClassHelper.LIST_TYPE live forever and
+        // would retain the types of every module that parameterizes them)
+        ClassNode redirect = resolvedType.redirect();
+        if (redirect.hasClass()) {
+            return gatherGenerics0(resolvedType, declaringType);
+        }
+        Map<String, List<Map<String, ClassNode>>> cache = getMappingCache(redirect);
+        String key = getMappingKey(resolvedType, declaringType);
+
+        List<Map<String, ClassNode>> allGenerics = cache.get(key);
+        if (allGenerics == null) {
+            allGenerics = Collections.unmodifiableList(gatherGenerics0(resolvedType, declaringType).allGenerics);
+            cache.put(key, allGenerics);
+        }
+
+        GenericsMapper mapper = new GenericsMapper();
+        mapper.allGenerics.addAll(allGenerics);
+        return mapper;
+    }
+
+    private static GenericsMapper gatherGenerics0(ClassNode resolvedType, ClassNode declaringType) {
         GenericsMapper mapper = new GenericsMapper();
 
         ClassNode rCandidate = resolvedType;
@@ -68,7 +93,7 @@ public class GenericsMapper {
                 // default to the resovled type
                 resolved.put(ugts[i].getName(), mapper.resolveParameter(rgts[i], 0));
             }
-            mapper.allGenerics.add(resolved);
+            mapper.allGenerics.add(n <= 0 ? resolved : Collections.unmodifiableMap(resolved));
 
             // don't need to travel up the whole hierarchy; stop at the declaring class
             if (rCandidate.getName().equals(declaringType.getName())) {
@@ -91,6 +116,8 @@ public class GenericsMapper {
             // add method generics to the end of the chain
             if (mapper.allGenerics.isEmpty() || (resolved = mapper.allGenerics.removeLast()).isEmpty()) {
                 resolved = new TreeMap<>();
+            } else {
+                resolved = new TreeMap<>(resolved); // mappings are shared
             }
             mapper.allGenerics.add(resolved);
 
@@ -207,6 +234,60 @@ public class GenericsMapper {
         return type;
     }
 
+    private static Map<String, List<Map<String, ClassNode>>> getMappingCache(ClassNode redirect) {
+        synchronized (redirect) {
+            Map<String, List<Map<String, ClassNode>>> cache = redirect.getNodeMetaData(GenericsMapper.class);
+            if (cache == null) {
+                cache = new ConcurrentHashMap<>();
+                redirect.putNodeMetaData(GenericsMapper.class, cache);
+            }
+            return cache;
+        }
+    }
+
+    private static String getMappingKey(ClassNode resolvedType, ClassNode declaringType) {
+        StringBuilder key = new StringBuilder(declaringType.getName()).append(';');
+        appendTypeSignature(key, resolvedType, 0);
+        return key.toString();
+    }
+
+    private static void appendTypeSignature(StringBuilder key, ClassNode type, int depth) {
+        if (type.isArray()) {
+            appendTypeSignature(key, type.getComponentType(), depth);
+            key.append("[]");
+            return;
+        }
+        key.append(type.getName());
+        if (type.isGenericsPlaceHolder()) {
+            key.append('#').append(type.getUnresolvedName());
+        }
+        GenericsType[] generics = type.getGenericsTypes();
+        if (generics != null && depth < 10) {
+            key.append('<');
+            for (GenericsType generic : generics) {
+                if (generic.isPlaceholder()) {
+                    key.append('#').append(generic.getName()).append(':');
+                }
+                if (generic.isWildcard()) {
+                    key.append('?');
+                }
+                appendTypeSignature(key, generic.getType(), depth + 1);
+                if (generic.getLowerBound() != null) {
+                    key.append(" super ");
+                    appendTypeSignature(key, generic.getLowerBound(), depth + 1);
+                }
+                if (generic.getUpperBounds() != null) {
+                    for (ClassNode bound : generic.getUpperBounds()) {
+                        key.append(" extends ");
+                        appendTypeSignature(key, bound, depth + 1);
+                    }
+                }
+                key.append(',');
+            }
+            key.append('>');
+        }
+    }
+
     protected static Iterator<ClassNode> getTypeHierarchy(ClassNode type, boolean useResolved) {
         LinkedHashSet<ClassNode> hierarchy = new LinkedHashSet<>();
         VariableScope.createTypeHierarchy(type, hierarchy, useResolved);
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2009-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.jdt.groovy.search;
+
+/**
+ * An extension to the {@link ITypeLookup} interface for lookups that can supply their own instances. A contributed lookup that
+ * implements this interface is created from its extension once and is then asked for the lookup to use with each new inferencing
+ * visitor; lookups that do not implement it are created from the extension registry every time.
+ */
+public interface ITypeLookupPrototype extends ITypeLookup {
+    /**
+     * Returns the lookup to use for a single inferencing visitor. A lookup without per-unit state may return itself; it must then
+     * be safe for use by several visitors at the same time.
+     */
+    ITypeLookup newLookup();
+}
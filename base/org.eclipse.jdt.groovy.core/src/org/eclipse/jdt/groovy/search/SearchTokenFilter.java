@@ -0,0 +1,266 @@
+/*
+ * Copyright 2009-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.jdt.groovy.search;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.groovy.core.util.ReflectionUtils;
+import org.eclipse.jdt.internal.core.search.matching.FieldPattern;
+import org.eclipse.jdt.internal.core.search.matching.MethodPattern;
+import org.eclipse.jdt.internal.core.search.matching.OrPattern;
+import org.eclipse.jdt.internal.core.search.matching.VariablePattern;
+
+/**
+ * Token-level prefilter for delegated searches. A field or method reference can only be found in a source file that contains
+ * the searched name (or, for accessors, the property name) as an identifier token, so files without the token need not be
+ * inferred at all and, for files with it, only the members that contain a token need to be visited.
+ */
+public class SearchTokenFilter {
+
+    private SearchTokenFilter() {}
+
+    /**
+     * Method names that can be referenced without appearing in the source (operator overloading, implicit calls, etc.).
+     */
+    private static final Set<String> IMPLICIT_METHOD_NAMES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+        "and", "asBoolean", "asType", "bitwiseNegate", "call", "compareTo", "div", "doCall", "equals", "getAt", "getProperty",
+        "invokeMethod", "isCase", "iterator", "leftShift", "methodMissing", "minus", "mod", "multiply", "negative",
+        "next", "or", "plus", "positive", "power", "previous", "propertyMissing", "putAt", "rightShift", "rightShiftUnsigned",
+        "setProperty", "xor")));
+
+    /**
+     * Returns the identifiers of which at least one must appear in a file for the pattern to match anything in it.
+     *
+     * @return candidate names or {@code null} if the pattern cannot be prefiltered
+     */
+    public static Set<String> getCandidateNames(SearchPattern pattern) {
+        Set<String> names = new HashSet<>();
+        return (addCandidateNames(pattern, names) ? names : null);
+    }
+
+    private static boolean addCandidateNames(SearchPattern pattern, Set<String> names) {
+        if (pattern == null || (pattern.getMatchRule() & ~(SearchPattern.R_CASE_SENSITIVE | SearchPattern.R_ERASURE_MATCH |
+                SearchPattern.R_EQUIVALENT_MATCH | SearchPattern.R_FULL_MATCH)) != SearchPattern.R_EXACT_MATCH ||
+                (pattern.getMatchRule() & SearchPattern.R_CASE_SENSITIVE) == 0) {
+            return false;
+        }
+        if (pattern instanceof OrPattern) {
+            SearchPattern[] patterns = ReflectionUtils.getPrivateField(OrPattern.class, "patterns", pattern);
+            for (SearchPattern orPattern : patterns) {
+                if (orPattern != null && !addCandidateNames(orPattern, names)) {
+                    return false;
+                }
+            }
+            return !names.isEmpty();
+        }
+        if (pattern instanceof FieldPattern) {
+            char[] name = ReflectionUtils.getPrivateField(VariablePattern.class, "name", pattern);
+            return addName(name, names);
+        }
+        if (pattern instanceof MethodPattern) {
+            char[] selector = ((MethodPattern) pattern).selector;
+            if (selector == null || IMPLICIT_METHOD_NAMES.contains(String.valueOf(selector)) || !addName(selector, names)) {
+                return false;
+            }
+            // "foo.bar" may refer to "getBar()", "setBar(...)" or "isBar()"
+            String methodName = String.valueOf(selector);
+            for (String prefix : new String[] {"get", "set", "is"}) {
+                if (methodName.length() > prefix.length() && methodName.startsWith(prefix) &&
+                        Character.isUpperCase(methodName.charAt(prefix.length()))) {
+                    String propertyName = methodName.substring(prefix.length());
+                    names.add(propertyName);
+                    names.add(Character.toLowerCase(propertyName.charAt(0)) + propertyName.substring(1));
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean addName(char[] name, Set<String> names) {
+        if (name == null || name.length == 0) {
+            return false;
+        }
+        for (char c : name) {
+            if (!isTokenPart(c)) {
+                return false;
+            }
+        }
+        names.add(String.valueOf(name));
+        return true;
+    }
+
+    /**
+     * Token characters; '$' is a separator so that GString references like "$name" are seen.
+     */
+    static boolean isTokenPart(char c) {
+        return (c != '$' && Character.isJavaIdentifierPart(c));
+    }
+
+    /**
+     * Finds the offsets of all tokens in {@code contents} that are one of {@code names}.
+     *
+     * @return sorted offsets; empty if no token matches
+     */
+    public static int[] findCandidateOffsets(char[] contents, Set<String> names) {
+        int[] offsets = new int[8];
+        int count = 0;
+        int n = contents.length;
+        for (int i = 0; i < n; i += 1) {
+            if (isTokenPart(contents[i])) {
+                int start = i;
+                int hash = 0;
+                while (i < n && isTokenPart(contents[i])) {
+                    hash = 31 * hash + contents[i];
+                    i += 1;
+                }
+                if (matches(contents, start, i, hash, names)) {
+                    if (count == offsets.length) {
+                        offsets = Arrays.copyOf(offsets, count * 2);
+                    }
+                    offsets[count++] = start;
+                }
+            }
+        }
+        return Arrays.copyOf(offsets, count);
+    }
+
+    private static boolean matches(char[] contents, int start, int end, int hash, Set<String> names) {
+        for (String name : names) {
+            if (name.hashCode() == hash && name.length() == end - start && name.equals(String.valueOf(contents, start, end - start))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Determines if any of the given offsets lies within [start, end].
+     */
+    public static boolean containsOffset(int[] offsets, int start, int end) {
+        int index = Arrays.binarySearch(offsets, start);
+        if (index < 0) {
+            index = -(index + 1);
+        }
+        return (index < offsets.length && offsets[index] <= end);
+    }
+
+    //--------------------------------------------------------------------------
+
+    private static final int MAX_CACHED_FILTERS = 10000;
+
+    private static final Map<String, IdentifierBloomFilter> filterCache = new LinkedHashMap<String, IdentifierBloomFilter>(128, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, IdentifierBloomFilter> eldest) {
+            return size() > MAX_CACHED_FILTERS;
+        }
+    };
+
+    /**
+     * Records the identifier filter of a source file as of the given modification stamp.
+     * The stamp must have been read before {@code contents}; otherwise an edit in between
+     * would record a filter of the old contents under the new stamp.
+     */
+    public static void recordIdentifiers(String path, long stamp, char[] contents) {
+        IdentifierBloomFilter filter = new IdentifierBloomFilter(stamp, contents);
+        synchronized (filterCache) {
+            filterCache.put(path, filter);
+        }
+    }
+
+    /**
+     * Determines if the identifier filter of a source file is recorded for the given modification stamp.
+     */
+    public static boolean isRecorded(String path, long stamp) {
+        IdentifierBloomFilter filter;
+        synchronized (filterCache) {
+            filter = filterCache.get(path);
+        }
+        return (filter != null && filter.stamp == stamp);
+    }
+
+    /**
+     * Checks the recorded identifier filter of a source file.
+     *
+     * @return {@code false} if the file (as of the given modification stamp) definitely contains none of the names
+     */
+    public static boolean mightContain(String path, long stamp, Set<String> names) {
+        IdentifierBloomFilter filter;
+        synchronized (filterCache) {
+            filter = filterCache.get(path);
+        }
+        if (filter == null || filter.stamp != stamp) {
+            return true;
+        }
+        for (String name : names) {
+            if (filter.mightContain(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Bloom filter over the identifier tokens of a source file.
+     */
+    private static class IdentifierBloomFilter {
+        private static final int BITS = 2048, MASK = BITS - 1;
+
+        final long stamp;
+        private final long[] words = new long[BITS / 64];
+
+        IdentifierBloomFilter(long stamp, char[] contents) {
+            this.stamp = stamp;
+            int n = contents.length;
+            for (int i = 0; i < n; i += 1) {
+                if (isTokenPart(contents[i])) {
+                    int hash = 0;
+                    while (i < n && isTokenPart(contents[i])) {
+                        hash = 31 * hash + contents[i];
+                        i += 1;
+                    }
+                    add(hash);
+                }
+            }
+        }
+
+        private void add(int hash) {
+            int h2 = (hash >>> 16) | (hash << 16);
+            for (int k = 0; k < 3; k += 1) {
+                int bit = (hash + k * h2) & MASK;
+                words[bit >>> 6] |= (1L << bit);
+            }
+        }
+
+        boolean mightContain(String name) {
+            int hash = name.hashCode(), h2 = (hash >>> 16) | (hash << 16);
+            for (int k = 0; k < 3; k += 1) {
+                int bit = (hash + k * h2) & MASK;
+                if ((words[bit >>> 6] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -16,10 +16,13 @@
 package org.eclipse.jdt.groovy.search;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 import groovy.lang.Closure;
 
@@ -70,9 +73,16 @@ public class SimpleTypeLookup implements ITypeLookupExtension {
 
     protected GroovyCompilationUnit unit;
 
+    /**
+     * Declarations found for (receiver type, name, argument types, flags) during
+     * the current inferencing session.  Cleared each time a module is visited.
+     */
+    private final Map<List<Object>, ASTNode> declarationCache = new HashMap<>();
+
     @Override
     public void initialize(GroovyCompilationUnit unit, VariableScope topLevelScope) {
         this.unit = unit;
+        declarationCache.clear();
     }
 
     @Override
@@ -525,6 +535,16 @@ public class SimpleTypeLookup implements ITypeLookupExtension {
             return findDeclaration(name, VariableScope.OBJECT_CLASS_NODE, isLhsExpression, isStaticExpression, directFieldAccess, methodCallArgumentTypes);
         }
 
+        List<Object> key = createCacheKey('D', name, declaringType, methodCallArgumentTypes, isLhsExpression, isStaticExpression, directFieldAccess);
+        ASTNode declaration = declarationCache.get(key);
+        if (declaration == null && !declarationCache.containsKey(key)) {
+            declaration = lookupDeclaration(name, declaringType, isLhsExpression, isStaticExpression, directFieldAccess, methodCallArgumentTypes);
+            declarationCache.put(key, declaration);
+        }
+        return declaration;
+    }
+
+    private ASTNode lookupDeclaration(String name, ClassNode declaringType, boolean isLhsExpression, boolean isStaticExpression, boolean directFieldAccess, List<ClassNode> methodCallArgumentTypes) {
         if (methodCallArgumentTypes != null) {
             MethodNode method = findMethodDeclaration(name, declaringType, methodCallArgumentTypes, isStaticExpression);
             if (isCompatible(method, isStaticExpression)) {
@@ -600,6 +620,16 @@ public class SimpleTypeLookup implements ITypeLookupExtension {
      * then will return an arbitrary one.
      */
     protected MethodNode findMethodDeclaration(String name, ClassNode declaringType, List<ClassNode> argumentTypes, boolean isStaticExpression) {
+        List<Object> key = createCacheKey('M', name, declaringType, argumentTypes, false, isStaticExpression, false);
+        MethodNode method = (MethodNode) declarationCache.get(key);
+        if (method == null && !declarationCache.containsKey(key)) {
+            method = lookupMethodDeclaration(name, declaringType, argumentTypes, isStaticExpression);
+            declarationCache.put(key, method);
+        }
+        return method;
+    }
+
+    private MethodNode lookupMethodDeclaration(String name, ClassNode declaringType, List<ClassNode> argumentTypes, boolean isStaticExpression) {
         // concrete types return all declared methods from getMethods(String)
         if (!declaringType.isInterface() && !declaringType.isAbstract()) {
             List<MethodNode> candidates = declaringType.getMethods(name);
@@ -679,6 +709,28 @@ public class SimpleTypeLookup implements ITypeLookupExtension {
     protected static final AccessorSupport[] READER = {AccessorSupport.GETTER, AccessorSupport.ISSER};
     protected static final AccessorSupport[] WRITER = {AccessorSupport.SETTER};
 
+    private static final Object NULL_ARGUMENT = new Object();
+
+    private static List<Object> createCacheKey(char kind, String name, ClassNode declaringType, List<ClassNode> argumentTypes,
+            boolean isLhsExpression, boolean isStaticExpression, boolean directFieldAccess) {
+        int flags = (isLhsExpression ? 1 : 0) | (isStaticExpression ? 2 : 0) | (directFieldAccess ? 4 : 0) | (argumentTypes == null ? 8 : 0);
+        int n = (argumentTypes == null ? 0 : argumentTypes.size());
+
+        Object[] key = new Object[5 + n];
+        key[0] = kind;
+        key[1] = name;
+        key[2] = declaringType;
+        // ClassNode equality disregards generics; Class<T> lookups depend on T
+        key[3] = (declaringType.getGenericsTypes() != null ? getBaseDeclaringType(declaringType) : null);
+        key[4] = flags;
+        for (int i = 0; i < n; i += 1) {
+            ClassNode argumentType = argumentTypes.get(i);
+            // null is an instance of Object, but it is compatible with any reference type
+            key[5 + i] = (argumentType == VariableScope.NULL_TYPE ? NULL_ARGUMENT : argumentType);
+        }
+        return Arrays.asList(key);
+    }
+
     protected static ASTNode createLengthField(ClassNode declaringType) {
         FieldNode lengthField = new FieldNode("length", FieldNode.ACC_PUBLIC, VariableScope.INTEGER_CLASS_NODE, declaringType, null);
         lengthField.setType(VariableScope.INTEGER_CLASS_NODE);
@@ -45,7 +45,7 @@ public class TypeInferencingVisitorFactory {
                 return visitor;
             } else if (openable instanceof ClassFile) {
                 TypeInferencingVisitorWithRequestor visitor = new TypeInferencingVisitorWithRequestor(
-                        new GroovyClassFileWorkingCopy((ClassFile) openable, null), createLookups(((ClassFile) openable)
+                        GroovyClassFileWorkingCopy.forClassFile((ClassFile) openable, null), createLookups(((ClassFile) openable)
                                 .getJavaProject().getProject()));
                 return visitor;
             } else {
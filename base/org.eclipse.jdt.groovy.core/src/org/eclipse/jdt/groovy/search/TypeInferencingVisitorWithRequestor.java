@@ -15,9 +15,11 @@
  */
 package org.eclipse.jdt.groovy.search;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -27,8 +29,6 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import groovy.transform.stc.ClosureSignatureHint;
-
 import org.codehaus.groovy.ast.ASTNode;
 import org.codehaus.groovy.ast.AnnotationNode;
 import org.codehaus.groovy.ast.ClassCodeVisitorSupport;
@@ -87,7 +87,6 @@ import org.codehaus.groovy.ast.stmt.ForStatement;
 import org.codehaus.groovy.ast.stmt.IfStatement;
 import org.codehaus.groovy.ast.stmt.ReturnStatement;
 import org.codehaus.groovy.ast.stmt.Statement;
-import org.codehaus.groovy.ast.tools.GeneralUtils;
 import org.codehaus.groovy.ast.tools.GenericsUtils;
 import org.codehaus.groovy.ast.tools.WideningCategories;
 import org.codehaus.groovy.classgen.BytecodeExpression;
@@ -98,7 +97,6 @@ import org.codehaus.groovy.syntax.Types;
 import org.codehaus.groovy.transform.FieldASTTransformation;
 import org.codehaus.groovy.transform.sc.ListOfExpressionsExpression;
 import org.codehaus.groovy.transform.sc.transformers.CompareToNullExpression;
-import org.codehaus.groovy.transform.stc.StaticTypeCheckingSupport;
 import org.codehaus.groovy.transform.stc.StaticTypesMarker;
 import org.codehaus.jdt.groovy.internal.compiler.ast.JDTResolver;
 import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
@@ -148,7 +146,7 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
 
     private final GroovyCompilationUnit unit;
 
-    private final LinkedList<VariableScope> scopes = new LinkedList<>();
+    private final Deque<VariableScope> scopes = new ArrayDeque<>();
 
     // we are going to have to be very careful about the ordering of lookups
     // Simple type lookup must be last because it always returns an answer
@@ -167,10 +165,12 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
      * The head of the stack is the current property/attribute/methodcall/binary expression being visited. This stack is used so we
      * can keep track of the type of the object expressions in these property expressions
      */
-    private final LinkedList<ASTNode> completeExpressionStack = new LinkedList<>();
+    private final Deque<ASTNode> completeExpressionStack = new ArrayDeque<>();
 
     /**
      * Keeps track of the type of the object expression corresponding to each frame of the property expression.
+     * <p>
+     * NOTE: The type stacks remain {@link LinkedList}s because they may hold {@code null}.
      */
     private final LinkedList<ClassNode> primaryTypeStack = new LinkedList<>();
 
@@ -179,7 +179,7 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
      * expression to find type information. this field is only applicable for {@link PropertyExpression}s and
      * {@link MethodCallExpression}s.
      */
-    private final LinkedList<Tuple> dependentDeclarationStack = new LinkedList<>();
+    private final Deque<Tuple> dependentDeclarationStack = new ArrayDeque<>();
 
     /**
      * Keeps track of the type of the type of the property field corresponding to each frame of the property expression.
@@ -196,6 +196,11 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
     private Map<Variable, Map<String, ClassNode>> localMapProperties = new HashMap<>();
     private Variable currentMapVariable;
 
+    /**
+     * Sorted source offsets of interest to the requestor. If set, methods that do not contain any of these are not visited.
+     */
+    private int[] candidateOffsets;
+
     /**
      * Use factory to instantiate
      */
@@ -216,6 +221,15 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
 
     //--------------------------------------------------------------------------
 
+    /**
+     * Restricts the visit to methods whose source range contains one of the given offsets.
+     *
+     * @param offsets sorted source offsets or {@code null} to visit all methods
+     */
+    public void setCandidateOffsets(int[] offsets) {
+        this.candidateOffsets = offsets;
+    }
+
     public void visitCompilationUnit(ITypeRequestor requestor) {
         if (enclosingModule == null) {
             // no module node, can't do anything
@@ -392,6 +406,15 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
             // probably some sort of AST transformation is making this node invisible
             return;
         }
+        if (candidateOffsets != null && methodNode.getEnd() > 0) {
+            int start = methodNode.getStart();
+            for (AnnotationNode annotation : methodNode.getAnnotations()) {
+                if (annotation.getEnd() > 0) start = Math.min(start, annotation.getStart());
+            }
+            if (!SearchTokenFilter.containsOffset(candidateOffsets, start, methodNode.getEnd())) {
+                return;
+            }
+        }
         this.requestor = requestor;
 
         scopes.add(new VariableScope(scopes.getLast(), methodNode, methodNode.isStatic()));
@@ -2115,12 +2138,10 @@ assert primaryExprType != null && dependentExprType != null;
                     GroovyUtils.getAnnotations(methodParam, VariableScope.CLOSURE_PARAMS.getName()).findFirst().ifPresent(cp -> {
                         SourceUnit sourceUnit = enclosingModule.getContext();
                         try {
-                            @SuppressWarnings("unchecked")
-                            Class<? extends ClosureSignatureHint> hint = (Class<? extends ClosureSignatureHint>) StaticTypeCheckingSupport.evaluateExpression(GeneralUtils.castX(VariableScope.CLASS_CLASS_NODE, cp.getMember("value")), sourceUnit.getConfiguration());
-                            String[] opts = (String[]) StaticTypeCheckingSupport.evaluateExpression(GeneralUtils.castX(VariableScope.STRING_CLASS_NODE.makeArray(), cp.getMember("options")), sourceUnit.getConfiguration());
+                            ClosureParameterMetadata.ClosureParams meta = ClosureParameterMetadata.of(methodParam).getClosureParams(cp, sourceUnit.getConfiguration());
 
                             // determine closure param types from ClosureSignatureHint
-                            List<ClassNode[]> sigs = hint.newInstance().getClosureSignatures(methodNode, sourceUnit, resolver.compilationUnit, opts, cat.call);
+                            List<ClassNode[]> sigs = meta.hint.newInstance().getClosureSignatures(methodNode, sourceUnit, resolver.compilationUnit, meta.options, cat.call);
                             if (isNotEmpty(sigs)) {
                                 for (ClassNode[] sig : sigs) {
                                     if (sig.length == inferredTypes.length) {
@@ -25,18 +25,24 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IExtension;
 import org.eclipse.core.runtime.IExtensionPoint;
+import org.eclipse.core.runtime.IRegistryChangeEvent;
+import org.eclipse.core.runtime.IRegistryChangeListener;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.jdt.internal.core.util.Util;
 
 /**
- * Manages type lookups.
+ * Manages type lookups.  Contributions to the type lookup extension point are
+ * parsed once (and again only when the extension registry changes); lookup
+ * instances are then created from the cached descriptors.
  */
-public class TypeLookupRegistry {
+public class TypeLookupRegistry implements IRegistryChangeListener {
 
     private static final String APPLIES_TO = "appliesTo";
     private static final String NATURE = "projectNature";
     private static final String LOOKUP = "lookup";
-    private static final String TYPE_LOOKUP_EXTENSION = "org.eclipse.jdt.groovy.core.typeLookup";
+    private static final String NAMESPACE = "org.eclipse.jdt.groovy.core";
+    private static final String TYPE_LOOKUP = "typeLookup";
+    private static final String TYPE_LOOKUP_EXTENSION = NAMESPACE + "." + TYPE_LOOKUP;
 
     private static final TypeLookupRegistry DEFAULT = new TypeLookupRegistry();
 
@@ -44,23 +50,24 @@ public class TypeLookupRegistry {
         return DEFAULT;
     }
 
-    // maps from project nature to lists of type lookup classes
-    private Map<String, List<IConfigurationElement>> natureLookupMap = new HashMap<>();
+    // maps from project nature to lists of type lookup descriptors
+    private volatile Map<String, List<LookupDescriptor>> natureLookupMap;
 
     List<ITypeLookup> getLookupsFor(IProject project) throws CoreException {
         if (!project.exists()) {
             return new ArrayList<>(3);
         }
         String[] natures = project.getDescription().getNatureIds();
+        Map<String, List<LookupDescriptor>> natureLookupMap = this.natureLookupMap;
         List<ITypeLookup> lookups = new ArrayList<>();
         for (String nature : natures) {
-            List<IConfigurationElement> configs = natureLookupMap.get(nature);
-            if (configs != null) {
-                for (IConfigurationElement config : configs) {
+            List<LookupDescriptor> descriptors = natureLookupMap.get(nature);
+            if (descriptors != null) {
+                for (LookupDescriptor descriptor : descriptors) {
                     try {
-                        lookups.add((ITypeLookup) config.createExecutableExtension(LOOKUP));
+                        lookups.add(descriptor.newLookup());
                     } catch (CoreException e) {
-                        Util.log(e, "Problem creating lookup for type " + config.getAttribute(LOOKUP));
+                        Util.log(e, "Problem creating lookup for type " + descriptor.className);
                     }
                 }
             }
@@ -70,34 +77,38 @@ public class TypeLookupRegistry {
 
     private TypeLookupRegistry() {
         initialize();
+        Platform.getExtensionRegistry().addRegistryChangeListener(this, NAMESPACE);
+    }
+
+    @Override
+    public void registryChanged(IRegistryChangeEvent event) {
+        if (event.getExtensionDeltas(NAMESPACE, TYPE_LOOKUP).length > 0) {
+            initialize();
+        }
     }
 
     private void initialize() {
+        Map<String, List<LookupDescriptor>> natureLookupMap = new HashMap<>();
         IExtensionPoint extPoint = Platform.getExtensionRegistry().getExtensionPoint(TYPE_LOOKUP_EXTENSION);
         IExtension[] exts = extPoint.getExtensions();
         for (IExtension ext : exts) {
             IConfigurationElement[] configs = ext.getConfigurationElements();
             for (IConfigurationElement config : configs) {
-                createLookup(config);
+                createLookup(config, natureLookupMap);
             }
         }
+        this.natureLookupMap = natureLookupMap;
     }
 
-    private void createLookup(IConfigurationElement config) {
+    private static void createLookup(IConfigurationElement config, Map<String, List<LookupDescriptor>> natureLookupMap) {
         try {
             if (config.getName().equals(LOOKUP)) {
                 if (config.getAttribute(LOOKUP) != null) {
+                    LookupDescriptor descriptor = new LookupDescriptor(config);
                     IConfigurationElement[] appliesTos = config.getChildren(APPLIES_TO);
                     for (IConfigurationElement appliesTo : appliesTos) {
                         String nature = appliesTo.getAttribute(NATURE);
-                        List<IConfigurationElement> elts;
-                        if (natureLookupMap.containsKey(nature)) {
-                            elts = natureLookupMap.get(nature);
-                        } else {
-                            elts = new ArrayList<>(3);
-                            natureLookupMap.put(nature, elts);
-                        }
-                        elts.add(config);
+                        natureLookupMap.computeIfAbsent(nature, x -> new ArrayList<>(3)).add(descriptor);
                     }
                 } else {
                     Util.log(new RuntimeException(), "Type lookup registry extension found with no type lookup class.");
@@ -107,4 +118,29 @@ public class TypeLookupRegistry {
             Util.log(e, "Problem registering type lookups");
         }
     }
+
+    private static class LookupDescriptor {
+        final String className;
+        final IConfigurationElement config;
+        private ITypeLookupPrototype prototype;
+        private boolean isPrototype = true;
+
+        LookupDescriptor(IConfigurationElement config) {
+            this.config = config;
+            this.className = config.getAttribute(LOOKUP);
+        }
+
+        synchronized ITypeLookup newLookup() throws CoreException {
+            if (prototype != null) {
+                return prototype.newLookup();
+            }
+            ITypeLookup lookup = (ITypeLookup) config.createExecutableExtension(LOOKUP);
+            if (isPrototype && lookup instanceof ITypeLookupPrototype) {
+                prototype = (ITypeLookupPrototype) lookup;
+                return prototype.newLookup();
+            }
+            isPrototype = false;
+            return lookup;
+        }
+    }
 }
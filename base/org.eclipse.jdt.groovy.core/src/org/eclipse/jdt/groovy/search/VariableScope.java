@@ -15,9 +15,7 @@
  */
 package org.eclipse.jdt.groovy.search;
 
-import static org.codehaus.groovy.ast.tools.GeneralUtils.castX;
 import static org.codehaus.groovy.ast.tools.GenericsUtils.parseClassNodesFromString;
-import static org.codehaus.groovy.transform.stc.StaticTypeCheckingSupport.evaluateExpression;
 
 import java.beans.Introspector;
 import java.io.BufferedReader;
@@ -37,11 +35,11 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import groovy.lang.Closure;
@@ -177,6 +175,9 @@ public class VariableScope implements Iterable<VariableScope.VariableInfo> {
 
     public static class CallAndType {
 
+        private static final Pattern SWING_BUILDER_METHODS = Pattern.compile("build|do(Later|Outside)|edt(Builder)?");
+        private static final Pattern WITH_METHODS = Pattern.compile("identity|with");
+
         public final ASTNode declaration;
         public final ClassNode declaringType;
         public final MethodCallExpression call;
@@ -216,41 +217,24 @@ public class VariableScope implements Iterable<VariableScope.VariableInfo> {
                                             i < arguments.size() && arguments.get(i) instanceof ClosureExpression) {
                                         ClosureExpression closure = (ClosureExpression) arguments.get(i);
                                         CompilerConfiguration config = enclosingModule.getUnit().getConfig();
+                                        ClosureParameterMetadata.DelegatesTo meta = ClosureParameterMetadata.of(parameters[i]).getDelegatesTo(annotation, parameters, config);
 
-                                        Expression delegatesToType = annotation.getMember("type");
-                                        Expression delegatesToValue = annotation.getMember("value");
-                                        Expression delegatesToTarget = annotation.getMember("target");
-                                        Expression delegatesToStrategy = annotation.getMember("strategy");
-                                        Expression delegatesToGenericTypeIndex = annotation.getMember("genericTypeIndex");
-
-                                        String typeName = null; Integer strategy = null, generics = null;
-                                        if (delegatesToType != null) {
-                                            typeName = (String) evaluateExpression(castX(STRING_CLASS_NODE, delegatesToType), config);
-                                        }
-                                        if (delegatesToStrategy != null) {
-                                            strategy = (Integer) evaluateExpression(castX(INTEGER_CLASS_NODE, delegatesToStrategy), config);
-                                        }
-                                        if (delegatesToGenericTypeIndex != null) {
-                                            generics = (Integer) evaluateExpression(castX(INTEGER_CLASS_NODE, delegatesToGenericTypeIndex), config);
-                                        }
-
-                                        // handle three modes: @DelegatesTo(Type.class), @DelegatesTo(type="pack.Type"), @DelegatesTo(target="name", genericTypeIndex=i)
-                                        if (delegatesToValue instanceof ClassExpression && !delegatesToValue.getType().getName().equals("groovy.lang.DelegatesTo$Target")) {
-                                            addDelegatesToClosure(closure, delegatesToValue.getType(), strategy);
+                                        if (meta.type != null) {
+                                            addDelegatesToClosure(closure, meta.type, meta.strategy);
 
-                                        } else if (typeName != null && !typeName.isEmpty()) { CompilationUnit compilationUnit = null; // TODO
-                                            ClassNode[] resolved = parseClassNodesFromString(typeName, enclosingModule.getContext(), compilationUnit, methodNode, delegatesToType);
-                                            addDelegatesToClosure(closure, resolved[0], strategy);
+                                        } else if (meta.typeName != null) { CompilationUnit compilationUnit = null; // TODO
+                                            ClassNode[] resolved = parseClassNodesFromString(meta.typeName, enclosingModule.getContext(), compilationUnit, methodNode, meta.typeExpression);
+                                            addDelegatesToClosure(closure, resolved[0], meta.strategy);
 
-                                        } else if (delegatesToValue == null || (delegatesToValue instanceof ClassExpression && delegatesToValue.getType().getName().equals("groovy.lang.DelegatesTo$Target"))) {
-                                            int j = indexOfDelegatesToTarget(parameters, (String) evaluateExpression(castX(STRING_CLASS_NODE, delegatesToTarget), config), config);
+                                        } else {
+                                            int j = meta.targetIndex;
                                             if (j >= 0 && j < arguments.size()) {
                                                 Expression target = arguments.get(j);
                                                 ClassNode targetType = target.getType(); // TODO: Look up expression type (unless j is 0 and it's a category method).
-                                                if (generics != null && generics >= 0 && targetType.isUsingGenerics()) {
-                                                    targetType.getGenericsTypes()[generics].getType();
+                                                if (meta.genericTypeIndex != null && meta.genericTypeIndex >= 0 && targetType.isUsingGenerics()) {
+                                                    targetType.getGenericsTypes()[meta.genericTypeIndex].getType();
                                                 }
-                                                addDelegatesToClosure(closure, targetType, strategy);
+                                                addDelegatesToClosure(closure, targetType, meta.strategy);
                                             }
                                         }
                                     }
@@ -260,11 +244,11 @@ public class VariableScope implements Iterable<VariableScope.VariableInfo> {
                         // TODO: Remove when minimum supported Groovy runtime is 2.5
                         if (delegatesTo == null) {
                             if (arguments.get(0) instanceof ClosureExpression &&
-                                    methodNode.getName().matches("build|do(Later|Outside)|edt(Builder)?") &&
+                                    SWING_BUILDER_METHODS.matcher(methodNode.getName()).matches() &&
                                     methodNode.getDeclaringClass().getName().equals("groovy.swing.SwingBuilder")) {
                                 addDelegatesToClosure((ClosureExpression) arguments.get(0), methodNode.getDeclaringClass(), Closure.OWNER_FIRST);
                             } else if (arguments.size() > 1 && arguments.get(1) instanceof ClosureExpression &&
-                                    methodNode.getName().matches("identity|with") && DGM_CLASS_NODE.equals(methodNode.getDeclaringClass())) {
+                                    WITH_METHODS.matcher(methodNode.getName()).matches() && DGM_CLASS_NODE.equals(methodNode.getDeclaringClass())) {
                                 // prior to Groovy 2.3, "with" lacked @DelegatesTo metadata; same goes for "identity" (see GROOVY-8376)
                                 addDelegatesToClosure((ClosureExpression) arguments.get(1), declaringType, Closure.DELEGATE_FIRST);
                             }
@@ -308,26 +292,6 @@ public class VariableScope implements Iterable<VariableScope.VariableInfo> {
             }
             delegatesTo.put(closure, new Object[] {delegateType, resolveStrategy});
         }
-
-        /**
-         * Finds param with DelegatesTo.Target annotation that has matching value string.
-         */
-        private static int indexOfDelegatesToTarget(Parameter[] parameters, String target, CompilerConfiguration config) {
-            for (int i = 0, n = parameters.length; i < n; i += 1) {
-                List<AnnotationNode> annotations = parameters[i].getAnnotations();
-                if (annotations != null && !annotations.isEmpty()) {
-                    for (AnnotationNode annotation : annotations) {
-                        if (annotation.getClassNode().getName().equals("groovy.lang.DelegatesTo$Target")) {
-                            String value = (String) evaluateExpression(castX(STRING_CLASS_NODE, annotation.getMember("value")), config);
-                            if (value.equals(target)) {
-                                return i;
-                            }
-                        }
-                    }
-                }
-            }
-            return -1;
-        }
     }
 
     /**
@@ -345,7 +309,7 @@ public class VariableScope implements Iterable<VariableScope.VariableInfo> {
         /**
          * Node currently being evaluated, or null if none
          */
-        final LinkedList<ASTNode> nodeStack = new LinkedList<>();
+        final List<ASTNode> nodeStack = new ArrayList<>();
         /**
          * true iff current scope is implicit run method of script
          */
@@ -379,6 +343,11 @@ public class VariableScope implements Iterable<VariableScope.VariableInfo> {
      */
     private ClassNode categoryBeingDeclared;
 
+    /**
+     * Categories active in this scope; computed on first request.
+     */
+    private Set<ClassNode> categories;
+
     /**
      * Variables from parent scopes that have been updated in this or a child scope.
      */
@@ -387,7 +356,11 @@ public class VariableScope implements Iterable<VariableScope.VariableInfo> {
     private int enclosingCallStackDepth;
     private List<ClassNode> methodCallArgumentTypes;
     private GenericsType[]  methodCallGenericsTypes;
-    private final Map<String, VariableInfo> nameVariableMap = new HashMap<>();
+    /**
+     * Variables declared or updated in this scope.  Most scopes declare few or
+     * no variables, so the map is not allocated until the first one is added.
+     */
+    private Map<String, VariableInfo> nameVariableMap = Collections.emptyMap();
 
     //--------------------------------------------------------------------------
 
@@ -438,13 +411,13 @@ public class VariableScope implements Iterable<VariableScope.VariableInfo> {
 
     public void forgetCurrentNode() {
         if (!shared.nodeStack.isEmpty()) {
-            shared.nodeStack.removeLast();
+            shared.nodeStack.remove(shared.nodeStack.size() - 1);
         }
     }
 
     public ASTNode getCurrentNode() {
         if (!shared.nodeStack.isEmpty()) {
-            return shared.nodeStack.getLast();
+            return shared.nodeStack.get(shared.nodeStack.size() - 1);
         } else {
             return null;
         }
@@ -465,8 +438,12 @@ public class VariableScope implements Iterable<VariableScope.VariableInfo> {
      * @return all categories active in this scope
      */
     public Set<ClassNode> getCategoryNames() {
-        Set<ClassNode> categories;
+        if (categories != null) {
+            return categories;
+        }
 
+        // NOTE: categories are declared by the innermost scope, so the
+        // categories of ancestor scopes cannot change once this one exists
         if (parent != null) {
             categories = parent.getCategoryNames();
             // look at the parent scope's category, not this scope's category
@@ -475,6 +452,7 @@ public class VariableScope implements Iterable<VariableScope.VariableInfo> {
             if (parent.isCategoryBeingDeclared()) {
                 categories = new LinkedHashSet<>(categories);
                 categories.add(parent.categoryBeingDeclared);
+                categories = Collections.unmodifiableSet(categories);
             }
         } else {
             categories = scopeNode.getNodeMetaData(DefaultGroovyMethods.class);
@@ -482,7 +460,8 @@ public class VariableScope implements Iterable<VariableScope.VariableInfo> {
                 GrapeAwareGroovyClassLoader gcl = (GrapeAwareGroovyClassLoader) ((ModuleNode) scopeNode).getUnit().getClassLoader();
                 categories = gcl.getDefaultCategories().stream().map(ClassNode::new).collect(Collectors.toCollection(LinkedHashSet::new));
 
-                scopeNode.putNodeMetaData(DefaultGroovyMethods.class, Collections.unmodifiableSet(categories));
+                categories = Collections.unmodifiableSet(categories);
+                scopeNode.putNodeMetaData(DefaultGroovyMethods.class, categories);
             }
         }
 
@@ -692,7 +671,7 @@ public class VariableScope implements Iterable<VariableScope.VariableInfo> {
      */
     public void addVariable(String name, ClassNode type, ClassNode declaringType) {
         if (declaringType == null) declaringType = getEnclosingTypeDeclaration();
-        nameVariableMap.put(name, new VariableInfo(name, type, declaringType));
+        putVariable(name, new VariableInfo(name, type, declaringType));
     }
 
     /**
@@ -733,7 +712,7 @@ public class VariableScope implements Iterable<VariableScope.VariableInfo> {
             info = parent.lookupName(name);
         }
         if (info != null) {
-            nameVariableMap.put(name, merge(info, type, declaringType));
+            putVariable(name, merge(info, type, declaringType));
             // if variable is declared in a parent scope, mark it dirty
             if (info.scopeNode != this.scopeNode) {
                 if (dirtyNames == null)
@@ -755,10 +734,17 @@ public class VariableScope implements Iterable<VariableScope.VariableInfo> {
      */
     /*package*/ void updateVariableSoft(String name, ClassNode type) {
         VariableInfo info = merge(parent.lookupName(name), type, null);
-        info = nameVariableMap.put(name, info);
+        info = putVariable(name, info);
         assert info == null;
     }
 
+    private VariableInfo putVariable(String name, VariableInfo info) {
+        if (nameVariableMap == Collections.<String, VariableInfo>emptyMap()) {
+            nameVariableMap = new HashMap<>(8);
+        }
+        return nameVariableMap.put(name, info);
+    }
+
     private static VariableInfo merge(VariableInfo base, ClassNode type, ClassNode declaringType) {
         if (declaringType == null) declaringType = base.declaringType;
         VariableInfo info = new VariableInfo(base.name, type, declaringType);
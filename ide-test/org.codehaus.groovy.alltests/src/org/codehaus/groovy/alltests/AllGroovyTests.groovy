@@ -76,6 +76,7 @@ import org.junit.runners.Suite
     org.codehaus.groovy.eclipse.core.test.AstPositionTests,
     org.codehaus.groovy.eclipse.core.test.ClasspathContainerTests,
     org.codehaus.groovy.eclipse.core.test.ErrorRecoveryTests,
+    org.codehaus.groovy.eclipse.core.test.GroovyNameLookupTests,
     org.codehaus.groovy.eclipse.core.test.SyntheticMemberSearchTests,
     org.codehaus.groovy.eclipse.core.test.UnrecoverableErrorTests,
 
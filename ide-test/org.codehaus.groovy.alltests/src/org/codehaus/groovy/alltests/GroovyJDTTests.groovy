@@ -24,8 +24,11 @@ import org.junit.runners.Suite
 
     // Basic tests
     org.eclipse.jdt.groovy.core.tests.basic.AnnotationsTests,
+    org.eclipse.jdt.groovy.core.tests.basic.ClassNodeCacheTests,
     org.eclipse.jdt.groovy.core.tests.basic.ErrorRecoveryTests,
     org.eclipse.jdt.groovy.core.tests.basic.GenericsTests,
+    org.eclipse.jdt.groovy.core.tests.basic.GlobalTransformDefinitionsTests,
+    org.eclipse.jdt.groovy.core.tests.basic.GrapeResolutionCacheTests,
     org.eclipse.jdt.groovy.core.tests.basic.GroovySimpleTests,
     org.eclipse.jdt.groovy.core.tests.basic.GroovySimpleTests_Compliance_1_8,
     org.eclipse.jdt.groovy.core.tests.basic.TraitsTests,
@@ -69,6 +72,7 @@ import org.junit.runners.Suite
     org.eclipse.jdt.core.groovy.tests.search.LocalVariableReferenceSearchTests,
     org.eclipse.jdt.core.groovy.tests.search.MethodReferenceSearchTests,
     org.eclipse.jdt.core.groovy.tests.search.OperatorOverloadingInferencingTests,
+    org.eclipse.jdt.core.groovy.tests.search.SearchTokenFilterTests,
     org.eclipse.jdt.core.groovy.tests.search.StaticInferencingTests,
     org.eclipse.jdt.core.groovy.tests.search.SyntheticAccessorInferencingTests,
     org.eclipse.jdt.core.groovy.tests.search.TypeReferenceSearchTests
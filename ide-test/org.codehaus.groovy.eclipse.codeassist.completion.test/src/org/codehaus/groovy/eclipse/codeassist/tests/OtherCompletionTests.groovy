@@ -16,7 +16,13 @@
 package org.codehaus.groovy.eclipse.codeassist.tests
 
 import org.codehaus.groovy.eclipse.codeassist.GroovyContentAssist
+import org.codehaus.groovy.eclipse.codeassist.requestor.GroovyCompletionProposalComputer
+import org.codehaus.groovy.eclipse.test.SynchronizationUtils
+import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor
+import org.eclipse.jdt.ui.text.java.JavaContentAssistInvocationContext
+import org.eclipse.jface.text.DocumentEvent
 import org.eclipse.jface.text.contentassist.ICompletionProposal
+import org.eclipse.jface.text.contentassist.ICompletionProposalExtension2
 import org.junit.Before
 import org.junit.Test
 
@@ -386,4 +392,76 @@ final class OtherCompletionTests extends CompletionTestSuite {
         ICompletionProposal[] proposals = createProposalsAtOffset(contents, getLastIndexOf(contents, 'fr'))
         proposalExists(proposals, 'frame', 1)
     }
+
+    @Test
+    void testCompletionPrefixExtension() {
+        String contents = 'String foo = "foo"\nfoo.to'
+        def unit = addGroovySource(contents, nextUnitName())
+        JavaEditor editor = openInEditor(unit)
+        SynchronizationUtils.waitForIndexingToComplete(unit)
+
+        def computer = new GroovyCompletionProposalComputer()
+        def compute = { int offset ->
+            editor.viewer.setSelectedRange(offset, 0)
+            computer.computeCompletionProposals(new JavaContentAssistInvocationContext(editor.viewer, offset, editor), null)
+        }
+
+        List<ICompletionProposal> proposals = compute(contents.length())
+        assert proposals.any { it.displayString.startsWith('toUpperCase') }
+        assert proposals.any { it.displayString.startsWith('toString') }
+
+        editor.viewer.document.replace(contents.length(), 0, 'U')
+        proposals = compute(contents.length() + 1)
+        assert proposals.any { it.displayString.startsWith('toUpperCase') }
+        assert !proposals.any { it.displayString.startsWith('toString') }
+    }
+
+    @Test
+    void testCompletionEmptyPrefixExtension() {
+        String contents = 'def bar = '
+        def unit = addGroovySource(contents, nextUnitName())
+        JavaEditor editor = openInEditor(unit)
+        SynchronizationUtils.waitForIndexingToComplete(unit)
+
+        def computer = new GroovyCompletionProposalComputer()
+        def compute = { int offset ->
+            editor.viewer.setSelectedRange(offset, 0)
+            computer.computeCompletionProposals(new JavaContentAssistInvocationContext(editor.viewer, offset, editor), null)
+        }
+
+        // types are not proposed without a prefix, so these proposals cannot be narrowed
+        List<ICompletionProposal> proposals = compute(contents.length())
+        assert !proposals.any { it.displayString.startsWith('String - java.lang') }
+
+        editor.viewer.document.replace(contents.length(), 0, 'Str')
+        proposals = compute(contents.length() + 3)
+        assert proposals.any { it.displayString.startsWith('String - java.lang') }
+    }
+
+    @Test
+    void testCompletionPrefixExtensionApply() {
+        String contents = 'String foo = "foo"\nfoo.to\nfoo.size()'
+        int offset = contents.indexOf('\nfoo.size')
+        def unit = addGroovySource(contents, nextUnitName())
+        JavaEditor editor = openInEditor(unit)
+        SynchronizationUtils.waitForIndexingToComplete(unit)
+
+        def computer = new GroovyCompletionProposalComputer()
+        def compute = { int at ->
+            editor.viewer.setSelectedRange(at, 0)
+            computer.computeCompletionProposals(new JavaContentAssistInvocationContext(editor.viewer, at, editor), null)
+        }
+
+        compute(offset)
+        editor.viewer.document.replace(offset, 0, 'U')
+        List<ICompletionProposal> proposals = compute(offset + 1)
+        // popup validates the proposals with the typed character before they are applied
+        DocumentEvent event = new DocumentEvent(editor.viewer.document, offset, 0, 'U')
+        ICompletionProposal proposal = proposals.find { it.displayString.startsWith('toUpperCase()') }
+        assert ((ICompletionProposalExtension2) proposal).validate(editor.viewer.document, offset + 1, event)
+        ((ICompletionProposalExtension2) proposal).apply(editor.viewer, (char) 0, 0, offset + 1)
+
+        assert editor.viewer.document.get() == 'String foo = "foo"\nfoo.toUpperCase()\nfoo.size()'
+        computer.sessionEnded()
+    }
 }
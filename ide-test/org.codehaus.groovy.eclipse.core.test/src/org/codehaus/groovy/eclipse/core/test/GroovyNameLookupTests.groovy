@@ -0,0 +1,124 @@
+/*
+ * Copyright 2009-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.core.test
+
+import java.util.jar.JarEntry
+import java.util.jar.JarOutputStream
+
+import org.codehaus.groovy.control.Phases
+import org.codehaus.groovy.eclipse.core.builder.GroovyNameLookup
+import org.codehaus.groovy.eclipse.test.GroovyEclipseTestSuite
+import org.codehaus.groovy.tools.GroovyClass
+import org.eclipse.core.resources.IFile
+import org.eclipse.jdt.core.IClasspathEntry
+import org.eclipse.jdt.core.ICompilationUnit
+import org.eclipse.jdt.core.IPackageFragment
+import org.eclipse.jdt.core.IType
+import org.eclipse.jdt.core.JavaCore
+import org.eclipse.jdt.internal.core.DefaultWorkingCopyOwner
+import org.eclipse.jdt.internal.core.JavaProject
+import org.eclipse.jdt.internal.core.NameLookup
+import org.junit.Assert
+import org.junit.Test
+
+/**
+ * Exact type lookups of {@link GroovyNameLookup} go through the type names
+ * remembered per package; these tests change a package after a lookup.
+ */
+final class GroovyNameLookupTests extends GroovyEclipseTestSuite {
+
+    @Test
+    void testSourceUnitAdded() {
+        addGroovySource('class One { }', 'One', 'p')
+        Assert.assertNull(findType('Two', sourcePackage('p')))
+
+        addGroovySource('class Two { }', 'Types', 'p')
+        IType type = findType('Two', sourcePackage('p'))
+        Assert.assertNotNull(type)
+        Assert.assertEquals('Types.groovy', type.compilationUnit.elementName)
+    }
+
+    @Test
+    void testSourceUnitRemoved() {
+        addGroovySource('class One { }', 'One', 'p')
+        ICompilationUnit unit = addGroovySource('class Two { }', 'Types', 'p')
+        Assert.assertNotNull(findType('Two', sourcePackage('p')))
+
+        unit.delete(true, null)
+        Assert.assertNull(findType('Two', sourcePackage('p')))
+        Assert.assertNotNull(findType('One', sourcePackage('p')))
+    }
+
+    @Test
+    void testMemberTypeAddedInWorkingCopy() {
+        ICompilationUnit unit = addGroovySource('class Outer { }', 'Outer', 'p')
+        Assert.assertNull(findType('Inner', sourcePackage('p')))
+
+        unit.becomeWorkingCopy(null)
+        try {
+            unit.buffer.contents = 'class Outer { static class Inner { } }'
+            unit.reconcile(ICompilationUnit.NO_AST, false, null, null)
+
+            IType type = findType('Inner', sourcePackage('p'))
+            Assert.assertNotNull(type)
+            Assert.assertEquals('p.Outer$Inner', type.fullyQualifiedName)
+        } finally {
+            unit.discardWorkingCopy()
+        }
+    }
+
+    @Test
+    void testBinaryMemberTypeAfterJarReplaced() {
+        IFile jar = packageFragmentRoot.javaProject.project.getFile('types.jar')
+        jar.create(new ByteArrayInputStream(createJar('package p; class Outer { static class Inner { } }')), true, null)
+        def javaProject = packageFragmentRoot.javaProject
+        javaProject.setRawClasspath((javaProject.rawClasspath + JavaCore.newLibraryEntry(jar.fullPath, null, null)) as IClasspathEntry[], null)
+
+        IPackageFragment pkg = javaProject.getPackageFragmentRoot(jar).getPackageFragment('p')
+        Assert.assertEquals('Outer$Inner.class', findType('Inner', pkg)?.classFile?.elementName)
+
+        jar.setContents(new ByteArrayInputStream(createJar('package p; class Other { static class Inner { } }')), true, false, null)
+        Assert.assertEquals('Other$Inner.class', findType('Inner', pkg)?.classFile?.elementName)
+    }
+
+    //--------------------------------------------------------------------------
+
+    private IPackageFragment sourcePackage(String name) {
+        packageFragmentRoot.getPackageFragment(name)
+    }
+
+    private IType findType(String name, IPackageFragment pkg) {
+        JavaProject javaProject = (JavaProject) packageFragmentRoot.javaProject
+        NameLookup lookup = new GroovyNameLookup(javaProject.newNameLookup(DefaultWorkingCopyOwner.PRIMARY))
+        lookup.findType(name, pkg, false, NameLookup.ACCEPT_ALL)
+    }
+
+    private static byte[] createJar(String source) {
+        def unit = new org.codehaus.groovy.control.CompilationUnit()
+        unit.addSource('Types.groovy', source)
+        unit.compile(Phases.CLASS_GENERATION)
+
+        def bytes = new ByteArrayOutputStream()
+        new JarOutputStream(bytes).withStream { JarOutputStream out ->
+            unit.classes.each { GroovyClass type ->
+                out.putNextEntry(new JarEntry(type.name.replace('.', '/') + '.class'))
+                out.write(type.bytes)
+                out.closeEntry()
+            }
+        }
+        bytes.toByteArray()
+    }
+}
@@ -65,7 +65,13 @@ import org.codehaus.groovy.eclipse.core.search.SyntheticAccessorSearchRequestor
 import org.codehaus.groovy.eclipse.test.GroovyEclipseTestSuite
 import org.eclipse.jdt.core.IJavaElement
 import org.eclipse.jdt.core.IType
+import org.eclipse.jdt.core.search.IJavaSearchConstants
+import org.eclipse.jdt.core.search.SearchEngine
 import org.eclipse.jdt.core.search.SearchMatch
+import org.eclipse.jdt.core.search.SearchParticipant
+import org.eclipse.jdt.core.search.SearchPattern
+import org.eclipse.jdt.core.search.SearchRequestor
+import org.eclipse.jdt.groovy.search.CombinedSearch
 import org.junit.Assert
 import org.junit.Before
 import org.junit.Test
@@ -108,6 +114,60 @@ final class SyntheticMemberSearchTests extends GroovyEclipseTestSuite {
         assertMatch('run', 'setProp', contents, matches)
     }
 
+    @Test // accessors matched alongside a search for the property
+    void testSearchInGroovy5() {
+        String contents = '''\
+            new p.G().prop
+            new p.G().isProp()
+            new p.G().getProp()
+            new p.G().setProp()
+            '''.stripIndent()
+        addGroovySource(contents, nextUnitName())
+
+        SearchPattern pattern = SearchPattern.createPattern(findSearchTarget('prop', gType), IJavaSearchConstants.REFERENCES)
+        new SyntheticAccessorSearchRequestor().combineWith(pattern, SearchEngine.createWorkspaceScope())
+        new SearchEngine().search(pattern, [SearchEngine.defaultSearchParticipant] as SearchParticipant[],
+            SearchEngine.createWorkspaceScope(), new SearchRequestor() { void acceptSearchMatch(SearchMatch match) {} }, null)
+        List<SearchMatch> matches = performSearch('prop')
+
+        assertNumMatch(3, matches)
+        assertNoMatch('run', 'prop', contents, matches)
+        assertMatch('run', 'isProp', contents, matches)
+        assertMatch('run', 'getProp', contents, matches)
+        assertMatch('run', 'setProp', contents, matches)
+    }
+
+    @Test // records of a combined search are only used by the next accessor search, if nothing changed in between
+    void testSearchInGroovy6() {
+        IJavaElement prop = findSearchTarget('prop', gType)
+        def combine = {
+            SearchPattern pattern = SearchPattern.createPattern(prop, IJavaSearchConstants.REFERENCES)
+            new SyntheticAccessorSearchRequestor().combineWith(pattern, SearchEngine.createWorkspaceScope())
+            return pattern
+        }
+
+        combine()
+        // a search from the search view does not claim the records
+        new SyntheticAccessorSearchRequestor().findSyntheticMatches(prop, IJavaSearchConstants.REFERENCES,
+            [SearchEngine.defaultSearchParticipant] as SearchParticipant[], SearchEngine.createWorkspaceScope(), new TestSearchRequestor(), null)
+        Assert.assertNotNull(CombinedSearch.claimCompanion(prop))
+        Assert.assertNull('companion can be claimed only once', CombinedSearch.claimCompanion(prop))
+        CombinedSearch.unregister(prop)
+
+        combine()
+        combine()
+        Assert.assertNotNull('newer search replaces older one', CombinedSearch.claimCompanion(prop))
+        CombinedSearch.unregister(prop)
+
+        combine()
+        addGroovySource('new p.G().prop', nextUnitName())
+        Assert.assertNull('changes discard recorded matches', CombinedSearch.claimCompanion(prop))
+
+        combine()
+        CombinedSearch.unregister(prop)
+        Assert.assertNull(CombinedSearch.claimCompanion(prop))
+    }
+
     @Test
     void testSearchInGroovy2() {
         String contents = '''\
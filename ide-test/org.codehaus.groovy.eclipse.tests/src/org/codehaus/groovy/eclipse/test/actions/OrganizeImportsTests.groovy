@@ -17,6 +17,11 @@ package org.codehaus.groovy.eclipse.test.actions
 
 import groovy.transform.NotYetImplemented
 
+import org.codehaus.groovy.eclipse.refactoring.actions.OrganizeGroovyImports
+import org.codehaus.groovy.eclipse.refactoring.actions.TypeSearch
+import org.eclipse.jdt.core.groovy.tests.ReconcilerUtils
+import org.eclipse.text.edits.InsertEdit
+import org.junit.Assert
 import org.junit.Test
 
 /**
@@ -1445,5 +1450,26 @@ final class OrganizeImportsTests extends OrganizeImportsTestSuite {
         doContentsCompareTest(originalContents, expectedContents)
     }
 
+    @Test
+    void testSharedTypeSearch() {
+        def units = [
+            addGroovySource('FirstClass f\nSecondClass s\n', nextUnitName()),
+            addGroovySource('ThirdClass t\ndef m() { FirstClass.class }\n', nextUnitName())
+        ]
+        units.each { ReconcilerUtils.reconcile(it) }
+
+        def typeSearch = new TypeSearch()
+        def names = units.collectMany { new OrganizeGroovyImports(it, null).findMissingTypeNames() } as Set
+        assert names == ['FirstClass', 'SecondClass', 'ThirdClass'] as Set
+        typeSearch.prefetchTypes(units[0].javaProject, names, null)
+
+        def inserts = units.collect { unit ->
+            def edit = new OrganizeGroovyImports(unit, { m, r -> Assert.fail('Should not have a choice') }, typeSearch, null).calculateMissingImports()
+            edit.children.findAll { it instanceof InsertEdit }*.text.join()
+        }
+        assert inserts[0].contains('import other.FirstClass') && inserts[0].contains('import other.SecondClass') && !inserts[0].contains('ThirdClass')
+        assert inserts[1].contains('import other.FirstClass') && inserts[1].contains('import other.ThirdClass') && !inserts[1].contains('SecondClass')
+    }
+
     // TODO: Ensure imports come below header comment for class in the default package.
 }
@@ -405,4 +405,20 @@ final class BreakpointLocationTests extends GroovyEclipseTestSuite {
 
         assert node instanceof MethodNode
     }
+
+    @Test
+    void testBreakpointLocationsForModule() {
+        GroovyCompilationUnit unit = addGroovySource('''\
+            // some comment text
+            def x = 1
+            def y = x + 1
+
+            '''.stripIndent(), nextUnitName())
+
+        def finder = BreakpointLocationFinder.forModule(unit.moduleNode)
+        assert finder.findBreakpointLocation(1)?.lineNumber == 2
+        assert finder.findBreakpointLocation(2)?.lineNumber == 2
+        assert finder.findBreakpointLocation(3)?.lineNumber == 3
+        assert finder.findBreakpointLocation(4) == null
+    }
 }
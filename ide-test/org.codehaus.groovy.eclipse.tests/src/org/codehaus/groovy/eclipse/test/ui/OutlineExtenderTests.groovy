@@ -1,5 +1,5 @@
 /*
- * Copyright 2009-2017 the original author or authors.
+ * Copyright 2009-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,7 +15,9 @@
  */
 package org.codehaus.groovy.eclipse.test.ui
 
+import org.codehaus.groovy.ast.ModuleNode
 import org.codehaus.groovy.eclipse.GroovyPlugin
+import org.codehaus.groovy.eclipse.core.model.ModuleNodeDelta
 import org.codehaus.groovy.eclipse.editor.GroovyEditor
 import org.codehaus.groovy.eclipse.editor.outline.GroovyOutlinePage
 import org.codehaus.groovy.eclipse.editor.outline.OField
@@ -31,7 +33,10 @@ import org.codehaus.jdt.groovy.model.GroovyCompilationUnit
 import org.eclipse.core.runtime.Adapters
 import org.eclipse.jdt.core.IField
 import org.eclipse.jdt.core.IJavaElement
+import org.eclipse.jdt.core.ISourceReference
+import org.eclipse.jdt.core.groovy.tests.ReconcilerUtils
 import org.eclipse.jdt.internal.ui.javaeditor.JavaSourceViewer
+import org.eclipse.swt.widgets.TreeItem
 import org.eclipse.ui.views.contentoutline.IContentOutlinePage
 import org.junit.After
 import org.junit.Before
@@ -309,6 +314,103 @@ final class OutlineExtenderTests extends GroovyEclipseTestSuite {
         assert children*.elementType == [IJavaElement.IMPORT_CONTAINER, IJavaElement.FIELD, IJavaElement.FIELD]
     }
 
+    @Test
+    void testScriptOutlineDelta() {
+        GroovyOutlinePage outline = openFile('Script3', '''\
+            def x = 1
+            def y = { -> x }
+            '''.stripIndent())
+        GroovyCompilationUnit unit = outline.outlineCompilationUnit.unit
+        ModuleNode module = unit.moduleNode
+
+        // moving elements is not a structural change
+        unit.buffer.replace(0, 0, '// comment\n')
+        ReconcilerUtils.reconcile(unit)
+        assert unit.moduleNode != module
+        assert ModuleNodeDelta.compute(module, unit.moduleNode).isEmpty()
+
+        module = unit.moduleNode
+        unit.buffer.replace(0, 0, 'def z = 2\n')
+        ReconcilerUtils.reconcile(unit)
+        assert ModuleNodeDelta.compute(module, unit.moduleNode).entries*.toString() == ['ADDED C:Script3/M:run()/V:z']
+    }
+
+    @Test
+    void testScriptOutlineSourceRanges() {
+        GroovyOutlinePage outline = openFile('Script4', '''\
+            def x = 1
+            class C {
+              def f
+              def m() { }
+            }
+            '''.stripIndent())
+        GroovyCompilationUnit unit = outline.outlineCompilationUnit.unit
+        def viewer = outline.outlineViewer
+        viewer.expandAll()
+
+        def offsets = { ->
+            Map<String, Integer> map = [:]
+            def visit
+            visit = { TreeItem[] items ->
+                for (item in items) {
+                    map[item.data.elementName] = ((ISourceReference) item.data).sourceRange.offset
+                    visit(item.items)
+                }
+            }
+            visit(viewer.tree.items)
+            return map
+        }
+        Map<String, Integer> before = offsets()
+        assert before.keySet().containsAll(['x', 'C', 'f', 'm'])
+
+        // not a structural change, so the existing items are rebound to the new elements
+        String comment = '// comment\n'
+        unit.buffer.replace(0, 0, comment)
+        ReconcilerUtils.reconcile(unit)
+        outline.refresh()
+
+        Map<String, Integer> after = offsets()
+        assert after == before.collectEntries { name, offset -> [name, offset + comment.length()] }
+    }
+
+    @Test
+    void testScriptOutlineImports() {
+        GroovyOutlinePage outline = openFile('Script5', '''\
+            import java.util.List
+            def x = 1
+            '''.stripIndent())
+        GroovyCompilationUnit unit = outline.outlineCompilationUnit.unit
+        def viewer = outline.outlineViewer
+
+        def names = { ->
+            viewer.expandAll()
+            Set<String> set = []
+            def visit
+            visit = { TreeItem[] items ->
+                for (item in items) {
+                    set << item.data.elementName
+                    visit(item.items)
+                }
+            }
+            visit(viewer.tree.items)
+            return set
+        }
+        assert names().containsAll(['java.util.List', 'x'])
+
+        unit.buffer.replace(0, 0, 'import java.util.Map\n')
+        ReconcilerUtils.reconcile(unit)
+        outline.refresh()
+        assert names().containsAll(['java.util.List', 'java.util.Map', 'x'])
+
+        String text = 'import java.util.List\n'
+        unit.buffer.replace(unit.buffer.contents.indexOf(text), text.length(), '')
+        ReconcilerUtils.reconcile(unit)
+        outline.refresh()
+        Set<String> after = names()
+        assert after.containsAll(['java.util.Map', 'x'])
+        assert !after.contains('java.util.List')
+    }
+
     @Test
     void testStructureUnknown() {
         GroovyOutlinePage outline = openFile('Problem', '''\
@@ -136,7 +136,7 @@ public class FieldProposalCreator extends AbstractProposalCreator {
             ClassNode typeNode = tryResolveClassNode(typeName, module);
 
             if (typeNode == null) {
-                if (GroovyLogManager.manager.hasLoggers()) {
+                if (GroovyLogManager.manager.isEnabled(TraceCategory.CONTENT_ASSIST)) {
                     GroovyLogManager.manager.log(TraceCategory.CONTENT_ASSIST, "FieldProposalCreator: Cannot resolve favorite type " + typeName);
                 }
                 continue;
@@ -139,7 +139,7 @@ public class MethodProposalCreator extends AbstractProposalCreator {
             ClassNode typeNode = tryResolveClassNode(typeName, module);
 
             if (typeNode == null) {
-                if (GroovyLogManager.manager.hasLoggers()) {
+                if (GroovyLogManager.manager.isEnabled(TraceCategory.CONTENT_ASSIST)) {
                     GroovyLogManager.manager.log(TraceCategory.CONTENT_ASSIST, "Cannot resolve favorite type " + typeName);
                 }
                 continue;
@@ -767,7 +767,7 @@ public class GroovyProposalTypeSearchRequestor implements ISearchRequestor {
                         ClassNode sourceType = resolver.resolve(String.valueOf(fullyQualifiedName));
                         if (target.isCompatibleWith(sourceType)) return 10;
                     } catch (RuntimeException e) {
-                        if (GroovyLogManager.manager.hasLoggers()) {
+                        if (GroovyLogManager.manager.isEnabled(TraceCategory.CONTENT_ASSIST)) {
                             GroovyLogManager.manager.log(TraceCategory.CONTENT_ASSIST, e.getMessage());
                         } else {
                             System.err.println(getClass().getSimpleName() + ": " + e.getMessage());
@@ -50,12 +50,17 @@ import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
 import org.codehaus.jdt.groovy.model.ModuleNodeMapper.ModuleNodeInfo;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.ProgressMonitorWrapper;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.groovy.search.ITypeResolver;
 import org.eclipse.jdt.internal.core.JavaProject;
 import org.eclipse.jdt.internal.core.SearchableEnvironment;
+import org.eclipse.jdt.internal.ui.text.java.AbstractJavaCompletionProposal;
 import org.eclipse.jdt.ui.text.java.ContentAssistInvocationContext;
 import org.eclipse.jdt.ui.text.java.IJavaCompletionProposalComputer;
 import org.eclipse.jdt.ui.text.java.JavaContentAssistInvocationContext;
@@ -173,83 +178,165 @@ public class GroovyCompletionProposalComputer implements IJavaCompletionProposal
             return Collections.EMPTY_LIST;
         }
 
-        String traceEvent = null;
-        if (GroovyLogManager.manager.hasLoggers()) {
-            GroovyLogManager.manager.log(TraceCategory.CONTENT_ASSIST, "Starting content assist for " + unit.getElementName());
-            traceEvent = "Content assist for " + unit.getElementName();
-            GroovyLogManager.manager.logStart(traceEvent);
-        }
+        GroovyLogManager.Span span = GroovyLogManager.manager.startSpan(TraceCategory.CONTENT_ASSIST, "Content assist for ", unit.getElementName());
 
-        GroovyCompilationUnit gunit = (GroovyCompilationUnit) unit;
-        ModuleNodeInfo moduleInfo = gunit.getModuleInfo(true);
-        if (moduleInfo == null) {
-            if (traceEvent != null) {
-                GroovyLogManager.manager.log(TraceCategory.CONTENT_ASSIST, "Null module node");
+        try {
+            GroovyCompilationUnit gunit = (GroovyCompilationUnit) unit;
+            ModuleNodeInfo moduleInfo = gunit.getModuleInfo(true);
+            if (moduleInfo == null) {
+                if (span.isActive()) {
+                    GroovyLogManager.manager.log(TraceCategory.CONTENT_ASSIST, "Null module node");
+                }
+                return Collections.EMPTY_LIST;
             }
-            return Collections.EMPTY_LIST;
-        }
 
-        int offset = context.getInvocationOffset();
-        IDocument document = context.getDocument();
-        if (offset < 0 || offset > document.getLength()) {
-            if (traceEvent != null) {
-                GroovyLogManager.manager.log(TraceCategory.CONTENT_ASSIST, "Completion offset " + offset + " is out of bounds");
+            int offset = context.getInvocationOffset();
+            IDocument document = context.getDocument();
+            if (offset < 0 || offset > document.getLength()) {
+                if (span.isActive()) {
+                    GroovyLogManager.manager.log(TraceCategory.CONTENT_ASSIST, "Completion offset " + offset + " is out of bounds");
+                }
+                return Collections.EMPTY_LIST;
             }
-            return Collections.EMPTY_LIST;
-        }
 
-        ContentAssistContext assistContext = createContentAssistContext(gunit, offset, document);
-        List<ICompletionProposal> proposals = new ArrayList<>();
-        if (assistContext != null) {
-            List<IGroovyCompletionProcessorFactory> factories = LOCATION_FACTORIES.get(assistContext.location);
-            if (factories != null) {
-                SubMonitor submon = SubMonitor.convert(monitor, factories.size());
-                SearchableEnvironment environment = createSearchableEnvironment(javaContext);
-                try {
-                    for (IGroovyCompletionProcessorFactory factory : factories) {
-                        IGroovyCompletionProcessor processor = factory.createProcessor(assistContext, javaContext, environment);
-                        if (processor != null) {
-                            if (processor instanceof ITypeResolver) {
-                                ((ITypeResolver) processor).setResolverInformation(moduleInfo.module, moduleInfo.resolver);
+            ContentAssistContext assistContext = createContentAssistContext(gunit, offset, document);
+            List<ICompletionProposal> proposals = new ArrayList<>();
+            if (assistContext != null) {
+                List<ICompletionProposal> reused = reuseProposals(assistContext, document);
+                if (reused != null) {
+                    if (span.isActive()) {
+                        GroovyLogManager.manager.log(TraceCategory.CONTENT_ASSIST, "Reusing proposals from previous request for prefix '" + assistContext.completionExpression + "'");
+                    }
+                    return reused;
+                }
+                lastProposals = null;
+
+                boolean complete = true;
+                List<IGroovyCompletionProcessorFactory> factories = LOCATION_FACTORIES.get(assistContext.location);
+                if (factories != null) {
+                    long deadline = System.currentTimeMillis() + PROCESSOR_TIME_BUDGET;
+                    SubMonitor submon = SubMonitor.convert(monitor, factories.size());
+                    SearchableEnvironment environment = createSearchableEnvironment(javaContext);
+                    try {
+                        for (IGroovyCompletionProcessorFactory factory : factories) {
+                            if (System.currentTimeMillis() > deadline) {
+                                if (span.isActive()) {
+                                    GroovyLogManager.manager.log(TraceCategory.CONTENT_ASSIST, "Time budget exhausted; skipping " + factory.getClass().getSimpleName());
+                                }
+                                complete = false;
+                                continue;
+                            }
+                            IGroovyCompletionProcessor processor = factory.createProcessor(assistContext, javaContext, environment);
+                            if (processor != null) {
+                                if (processor instanceof ITypeResolver) {
+                                    ((ITypeResolver) processor).setResolverInformation(moduleInfo.module, moduleInfo.resolver);
+                                }
+                                try {
+                                    proposals.addAll(processor.generateProposals(new BudgetedProgressMonitor(submon.split(1), deadline)));
+                                } catch (OperationCanceledException e) {
+                                    if (monitor != null && monitor.isCanceled()) {
+                                        throw e;
+                                    }
+                                    if (span.isActive()) {
+                                        GroovyLogManager.manager.log(TraceCategory.CONTENT_ASSIST, "Time budget exhausted by " + processor.getClass().getSimpleName());
+                                    }
+                                    complete = false;
+                                }
                             }
-                            proposals.addAll(processor.generateProposals(submon.split(1)));
                         }
+                    } finally {
+                        if (environment != null) {
+                            environment.cleanup();
+                        }
+                        submon.done();
                     }
-                } finally {
-                    if (environment != null) {
-                        environment.cleanup();
-                    }
-                    submon.done();
                 }
-            }
 
-            // extra filtering and sorting provided by third parties
-            try {
-                List<IProposalFilter> filters = ProposalProviderRegistry.getRegistry().getFiltersFor(assistContext.unit);
-                for (IProposalFilter filter : filters) {
-                    try {
-                        if (filter instanceof IProposalFilterExtension) {
-                            List<ICompletionProposal> newProposals = ((IProposalFilterExtension) filter).filterExtendedProposals(proposals, assistContext, javaContext);
-                            if (newProposals != null) {
-                                proposals = newProposals;
+                // extra filtering and sorting provided by third parties
+                try {
+                    List<IProposalFilter> filters = ProposalProviderRegistry.getRegistry().getFiltersFor(assistContext.unit);
+                    for (IProposalFilter filter : filters) {
+                        try {
+                            if (filter instanceof IProposalFilterExtension) {
+                                List<ICompletionProposal> newProposals = ((IProposalFilterExtension) filter).filterExtendedProposals(proposals, assistContext, javaContext);
+                                if (newProposals != null) {
+                                    proposals = newProposals;
+                                }
                             }
+                        } catch (Exception e) {
+                            GroovyContentAssist.logError("Exception when using third party proposal filter: " + filter.getClass().getCanonicalName(), e);
                         }
-                    } catch (Exception e) {
-                        GroovyContentAssist.logError("Exception when using third party proposal filter: " + filter.getClass().getCanonicalName(), e);
                     }
+                } catch (CoreException e) {
+                    GroovyContentAssist.logError("Exception accessing proposal provider registry", e);
+                }
+
+                // partial results are not retained, since they cannot be narrowed to an exact answer later
+                if (complete) {
+                    lastProposals = new CachedProposals(assistContext, document, proposals);
                 }
-            } catch (CoreException e) {
-                GroovyContentAssist.logError("Exception accessing proposal provider registry", e);
             }
+
+            return proposals;
+        } finally {
+            span.end();
         }
+    }
 
-        if (traceEvent != null) {
-            GroovyLogManager.manager.logEnd(traceEvent, TraceCategory.CONTENT_ASSIST);
+    /**
+     * Filters the proposals of the previous request if the current request
+     * extends its completion prefix at the same location; the user typed one
+     * or more identifier characters since the last invocation.
+     * <p>
+     * The cached proposals are matched against the longer prefix the way
+     * {@link AbstractJavaCompletionProposal} validates them, but they are not
+     * validated here: the popup may already have done so with the typed
+     * characters and validating again would grow the replacement twice.
+     * A proposal applied at the caret covers the typed characters anyway.
+     * <p>
+     * Proposals for an empty prefix are never reused; type and package
+     * completion propose nothing without a prefix.
+     *
+     * @return filtered proposals or {@code null} if they must be recomputed
+     */
+    protected List<ICompletionProposal> reuseProposals(ContentAssistContext context, IDocument document) {
+        CachedProposals cache = lastProposals;
+        if (cache == null || cache.prefix.isEmpty() || cache.document != document || !cache.unit.equals(context.unit) ||
+                cache.location != context.location || !cache.isReusable()) {
+            return null;
+        }
+        String prefix = context.completionExpression, qualifier = getQualifier(context);
+        int start = context.completionLocation - prefix.length(), delta = prefix.length() - cache.prefix.length();
+        if (start != cache.start || delta <= 0 || !prefix.startsWith(cache.prefix) || !qualifier.equals(cache.qualifier) ||
+                document.getLength() - cache.documentLength != delta) {
+            return null;
         }
 
+        boolean camelCase = JavaCore.ENABLED.equals(JavaCore.getOption(JavaCore.CODEASSIST_CAMEL_CASE_MATCH));
+        boolean substring = JavaCore.ENABLED.equals(JavaCore.getOption(JavaCore.CODEASSIST_SUBSTRING_MATCH));
+        List<ICompletionProposal> proposals = new ArrayList<>(cache.proposals.size());
+        for (ICompletionProposal proposal : cache.proposals) {
+            if (isPrefix(prefix, proposal.getDisplayString(), camelCase, substring)) {
+                proposals.add(proposal);
+            }
+        }
         return proposals;
     }
 
+    private static boolean isPrefix(String prefix, String string, boolean camelCase, boolean substring) {
+        if (string == null || prefix.length() > string.length()) {
+            return false;
+        }
+        return string.substring(0, prefix.length()).equalsIgnoreCase(prefix) ||
+            (camelCase && CharOperation.camelCaseMatch(prefix.toCharArray(), string.toCharArray())) ||
+            (substring && CharOperation.substringMatch(prefix, string));
+    }
+
+    private static String getQualifier(ContentAssistContext context) {
+        String full = context.fullCompletionExpression, expr = context.completionExpression;
+        return (full != null && full.endsWith(expr) ? full.substring(0, full.length() - expr.length()) : String.valueOf(full));
+    }
+
     // visible for testing
     public ContentAssistContext createContentAssistContext(GroovyCompilationUnit gunit, int invocationOffset, IDocument document) {
         String fullCompletionText = findCompletionText(document, invocationOffset);
@@ -296,7 +383,7 @@ public class GroovyCompletionProposalComputer implements IJavaCompletionProposal
             }
         } catch (ParseException e) {
             // can ignore; probably just invalid code that is being completed at
-            if (GroovyLogManager.manager.hasLoggers()) {
+            if (GroovyLogManager.manager.isEnabled(TraceCategory.CONTENT_ASSIST)) {
                 GroovyLogManager.manager.logException(TraceCategory.CONTENT_ASSIST, e);
             }
         }
@@ -340,5 +427,71 @@ public class GroovyCompletionProposalComputer implements IJavaCompletionProposal
 
     @Override
     public void sessionEnded() {
+        lastProposals = null;
+    }
+
+    //--------------------------------------------------------------------------
+
+    /**
+     * Maximum time (in milliseconds) that the completion processors may take for a single request.
+     * Processors that are not started or do not finish in time are left out of the results.
+     */
+    private static final long PROCESSOR_TIME_BUDGET = Long.getLong("greclipse.contentAssist.timeBudget", 3000);
+
+    /**
+     * The proposals (and their context) from the most recent complete request.
+     */
+    private volatile CachedProposals lastProposals;
+
+    private static class CachedProposals {
+        final GroovyCompilationUnit unit;
+        final IDocument document;
+        final int documentLength;
+        final ContentAssistLocation location;
+        final String prefix, qualifier;
+        final int start;
+        final List<ICompletionProposal> proposals;
+
+        CachedProposals(ContentAssistContext context, IDocument document, List<ICompletionProposal> proposals) {
+            this.unit = context.unit;
+            this.document = document;
+            this.documentLength = document.getLength();
+            this.location = context.location;
+            this.prefix = context.completionExpression;
+            this.qualifier = getQualifier(context);
+            this.start = context.completionLocation - prefix.length();
+            this.proposals = proposals;
+        }
+
+        /**
+         * Proposals can be narrowed to a longer prefix only if they all extend
+         * their replacement to the caret when applied.
+         */
+        boolean isReusable() {
+            for (ICompletionProposal proposal : proposals) {
+                if (!(proposal instanceof AbstractJavaCompletionProposal)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Reports cancellation once the request's time budget is exhausted, so
+     * that long-running searches stop and return what they have so far.
+     */
+    private static class BudgetedProgressMonitor extends ProgressMonitorWrapper {
+        private final long deadline;
+
+        BudgetedProgressMonitor(IProgressMonitor monitor, long deadline) {
+            super(monitor);
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return super.isCanceled() || System.currentTimeMillis() > deadline;
+        }
     }
 }
@@ -63,7 +63,7 @@ public class CodeSelectHelper implements ICodeSelectHelper {
         ModuleNode module = unit.getModuleNode();
         if (module != null) {
             String event = null;
-            if (GroovyLogManager.manager.hasLoggers()) {
+            if (GroovyLogManager.manager.isEnabled(TraceCategory.CODE_SELECT)) {
                 GroovyLogManager.manager.log(TraceCategory.CODE_SELECT, unit.getElementName() + " at [" + start + "," + length + "]");
                 event = "Code select: " + unit.getElementName();
                 GroovyLogManager.manager.logStart(event);
@@ -106,7 +106,7 @@ public class CodeSelectHelper implements ICodeSelectHelper {
         ModuleNode module = unit.getModuleNode();
         if (module != null) {
             String event = null;
-            if (GroovyLogManager.manager.hasLoggers()) {
+            if (GroovyLogManager.manager.isEnabled(TraceCategory.CODE_SELECT)) {
                 GroovyLogManager.manager.log(TraceCategory.CODE_SELECT, "Code select starting on " + unit.getElementName() + " at [ " + start + "," + length + " ]");
                 event = "Code select: " + unit.getElementName();
                 GroovyLogManager.manager.logStart(event);
@@ -268,7 +268,7 @@ public class CodeSelectRequestor implements ITypeRequestor {
                     }
                 } else {
                     String message = "Could not proceed due to null declaring type for " + requestedNode;
-                    if (GroovyLogManager.manager.hasLoggers()) {
+                    if (GroovyLogManager.manager.isEnabled(TraceCategory.CODE_SELECT)) {
                         GroovyLogManager.manager.log(TraceCategory.CODE_SELECT, message);
                     } else {
                         System.err.println(getClass().getSimpleName() + ": " + message);
@@ -759,7 +759,7 @@ checked.append(jdtMethodParam).append(' ');
         if (closestMatch != null) {
 String message = String.format("%s.findElement: no exact match found for %s(%s); options considered:%s",
     getClass().getSimpleName(), text, parameters == null ? "" : GroovyUtils.getParameterTypes(parameters), checked);
-if (GroovyLogManager.manager.hasLoggers()) {
+if (GroovyLogManager.manager.isEnabled(TraceCategory.CODE_SELECT)) {
     GroovyLogManager.manager.log(TraceCategory.CODE_SELECT, message);
 } else {
     System.err.println(getClass().getSimpleName() + ": " + message);
@@ -69,15 +69,35 @@ public class GroovyNameLookup extends NameLookup {
             start = System.currentTimeMillis();
         try {
             if (!partialMatch) {
-                try {
-                    IJavaElement[] compilationUnits = pkg.getChildren();
-                    for (int i = 0, length = compilationUnits.length; i < length; i++) {
-                        if (requestor.isCanceled())
-                            return;
-                        // GROOVY begin
-                        // removed statements that continue if type is not the same name as the compilation unit
-                        ICompilationUnit cu = (ICompilationUnit) compilationUnits[i];
-                        IType type = cu.getType(name);
+                // GROOVY begin
+                // only visit the units known to declare a type or a member type of this name
+                PackageTypeNames typeNames = PackageTypeNames.forSourcePackage(pkg);
+                if (typeNames == null) {
+                    return; // package doesn't exist -> ignore
+                }
+                for (String unitName : typeNames.get(name)) {
+                    if (requestor.isCanceled())
+                        return;
+                    // removed statements that continue if type is not the same name as the compilation unit
+                    ICompilationUnit cu = pkg.getCompilationUnit(unitName);
+                    IType type = cu.getType(name);
+                    if (
+                            // GROOVY begin
+                            type.exists() &&
+                            // GROOVY end
+                            acceptType(type, acceptFlags, true/*a source type*/)) { // accept type checks for existence
+                        requestor.acceptType(type);
+                        break;  // since an exact match was requested, no other matching type can exist
+                    }
+
+                    // now look for member types
+
+                    String mainType = cu.getElementName();
+                    int dotIndex = mainType.indexOf('.');
+                    mainType = mainType.substring(0, dotIndex);
+                    type = cu.getType(mainType);
+                    if (type.exists()) {
+                        type = getMemberType(type, name, firstDot);
                         if (
                                 // GROOVY begin
                                 type.exists() &&
@@ -86,29 +106,9 @@ public class GroovyNameLookup extends NameLookup {
                             requestor.acceptType(type);
                             break;  // since an exact match was requested, no other matching type can exist
                         }
-
-                        // now look for member types
-
-                        String mainType = cu.getElementName();
-                        int dotIndex = mainType.indexOf('.');
-                        mainType = mainType.substring(0, dotIndex);
-                        type = cu.getType(mainType);
-                        if (type.exists()) {
-                            type = getMemberType(type, name, firstDot);
-                            if (
-                                    // GROOVY begin
-                                    type.exists() &&
-                                    // GROOVY end
-                                    acceptType(type, acceptFlags, true/*a source type*/)) { // accept type checks for existence
-                                requestor.acceptType(type);
-                                break;  // since an exact match was requested, no other matching type can exist
-                            }
-                        }
-                        // GROOVY end
                     }
-                } catch (JavaModelException e) {
-                    // package doesn't exist -> ignore
                 }
+                // GROOVY end
             } else {
                 try {
                     String cuPrefix = firstDot == -1 ? name : name.substring(0, firstDot);
@@ -172,20 +172,16 @@ public class GroovyNameLookup extends NameLookup {
                 }
 
                 // GROOVY begin
-                // class file may still exist as an inner type
-                IJavaElement[] classFiles= null;
-                try {
-                    classFiles= pkg.getChildren();
-                } catch (JavaModelException npe) {
+                // class file may still exist as an inner type; visit the class files whose names end with "$" + name
+                PackageTypeNames typeNames = PackageTypeNames.forBinaryPackage(pkg);
+                if (typeNames == null) {
                     return; // the package is not present
                 }
-                for (IJavaElement elt : classFiles) {
-                    classFile = (ClassFile) elt;
-                    if (classFile.getElementName().endsWith("$" + name)) {
-                        IType type = classFile.getType();
-                        if (acceptType(type, acceptFlags, false/*not a source type*/)) {
-                            requestor.acceptType(type);
-                        }
+                for (String classFileName : typeNames.get(name)) {
+                    classFile = (ClassFile) pkg.getClassFile(classFileName);
+                    IType type = classFile.getType();
+                    if (acceptType(type, acceptFlags, false/*not a source type*/)) {
+                        requestor.acceptType(type);
                     }
                 }
                 // GROOVY end
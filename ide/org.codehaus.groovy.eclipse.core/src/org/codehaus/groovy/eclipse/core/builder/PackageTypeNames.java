@@ -0,0 +1,219 @@
+/*
+ * Copyright 2009-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.core.builder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+
+/**
+ * Names of the types declared in each package fragment, so that {@link GroovyNameLookup}
+ * can find the compilation units or class files that may declare a type without
+ * visiting every child of the package.
+ * <p>
+ * For a source package, a name maps to the compilation units that declare a
+ * top-level type by that name or whose main type declares a member type by
+ * that name. For a binary package, a name like {@code Inner.class} maps to the
+ * class files whose name ends with {@code $Inner.class}.
+ * <p>
+ * Entries are discarded when Java element deltas affect their package and,
+ * for archives, when the archive's timestamp changes.
+ */
+final class PackageTypeNames {
+
+    private static final Map<IPackageFragment, PackageTypeNames> packageNames = new ConcurrentHashMap<>();
+
+    /** Incremented whenever entries are discarded, so that an entry computed concurrently is not kept. */
+    private static final AtomicLong modCount = new AtomicLong();
+
+    static {
+        JavaCore.addElementChangedListener(PackageTypeNames::elementChanged, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+    }
+
+    /**
+     * @return names of the types in the given source package, or {@code null} if the package does not exist
+     */
+    static PackageTypeNames forSourcePackage(IPackageFragment pkg) {
+        PackageTypeNames names = packageNames.get(pkg);
+        if (names == null) {
+            long count = modCount.get();
+            try {
+                names = new PackageTypeNames(0L);
+                for (IJavaElement child : pkg.getChildren()) {
+                    ICompilationUnit unit = (ICompilationUnit) child;
+                    try {
+                        String mainTypeName = unit.getElementName().substring(0, unit.getElementName().indexOf('.'));
+                        for (IType type : unit.getTypes()) {
+                            names.add(type.getElementName(), unit.getElementName());
+                            if (type.getElementName().equals(mainTypeName)) {
+                                for (IType member : type.getTypes()) {
+                                    names.add(member.getElementName(), unit.getElementName());
+                                }
+                            }
+                        }
+                    } catch (JavaModelException e) {
+                        // unit doesn't exist -> ignore
+                    }
+                }
+            } catch (JavaModelException e) {
+                return null; // package doesn't exist
+            }
+            cache(pkg, names, count);
+        }
+        return names;
+    }
+
+    /**
+     * @return names of the member types in the given binary package, or {@code null} if the package does not exist
+     */
+    static PackageTypeNames forBinaryPackage(IPackageFragment pkg) {
+        long stamp = getArchiveStamp(pkg);
+        PackageTypeNames names = packageNames.get(pkg);
+        if (names == null || names.stamp != stamp) {
+            long count = modCount.get();
+            try {
+                names = new PackageTypeNames(stamp);
+                for (IJavaElement child : pkg.getChildren()) {
+                    String classFileName = child.getElementName();
+                    for (int i = classFileName.indexOf('$'); i >= 0; i = classFileName.indexOf('$', i + 1)) {
+                        names.add(classFileName.substring(i + 1), classFileName);
+                    }
+                }
+            } catch (JavaModelException e) {
+                return null; // package doesn't exist
+            }
+            cache(pkg, names, count);
+        }
+        return names;
+    }
+
+    private static void cache(IPackageFragment pkg, PackageTypeNames names, long count) {
+        packageNames.put(pkg, names);
+        if (modCount.get() != count) {
+            packageNames.remove(pkg);
+        }
+    }
+
+    private static long getArchiveStamp(IPackageFragment pkg) {
+        IPackageFragmentRoot root = (IPackageFragmentRoot) pkg.getParent();
+        if (!root.isArchive()) {
+            return 0L;
+        }
+        IResource resource = root.getResource();
+        IPath location = (resource != null ? resource.getLocation() : root.getPath());
+        return (location != null ? new File(location.toOSString()).lastModified() : 0L);
+    }
+
+    //--------------------------------------------------------------------------
+
+    private static void elementChanged(ElementChangedEvent event) {
+        processDelta(event.getDelta());
+    }
+
+    private static void processDelta(IJavaElementDelta delta) {
+        IJavaElement element = delta.getElement();
+        switch (element.getElementType()) {
+        case IJavaElement.JAVA_MODEL:
+        case IJavaElement.JAVA_PROJECT:
+        case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+        case IJavaElement.PACKAGE_FRAGMENT:
+            if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & ~IJavaElementDelta.F_CHILDREN) != 0) {
+                discard(element);
+            } else {
+                for (IJavaElementDelta child : delta.getAffectedChildren()) {
+                    processDelta(child);
+                }
+            }
+            break;
+        case IJavaElement.COMPILATION_UNIT:
+            if (delta.getKind() != IJavaElementDelta.CHANGED || changesTypes(delta) ||
+                    ((delta.getFlags() & IJavaElementDelta.F_CONTENT) != 0 && (delta.getFlags() & IJavaElementDelta.F_FINE_GRAINED) == 0)) {
+                discard(element.getParent());
+            }
+            break;
+        case IJavaElement.CLASS_FILE:
+            discard(element.getParent());
+            break;
+        }
+    }
+
+    /**
+     * Determines if types were added or removed within the changed compilation unit.
+     */
+    private static boolean changesTypes(IJavaElementDelta delta) {
+        for (IJavaElementDelta child : delta.getAffectedChildren()) {
+            if (child.getElement().getElementType() == IJavaElement.TYPE &&
+                    (child.getKind() != IJavaElementDelta.CHANGED || changesTypes(child))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Discards the entries of the given element's package fragments.
+     */
+    private static void discard(IJavaElement element) {
+        modCount.incrementAndGet();
+        if (element.getElementType() == IJavaElement.PACKAGE_FRAGMENT) {
+            packageNames.remove(element);
+        } else if (element.getElementType() == IJavaElement.JAVA_MODEL) {
+            packageNames.clear();
+        } else {
+            packageNames.keySet().removeIf(pkg -> element.equals(pkg.getAncestor(element.getElementType())));
+        }
+    }
+
+    //--------------------------------------------------------------------------
+
+    private final long stamp;
+    private final Map<String, List<String>> names = new HashMap<>();
+
+    private PackageTypeNames(long stamp) {
+        this.stamp = stamp;
+    }
+
+    private void add(String typeName, String childName) {
+        List<String> childNames = names.computeIfAbsent(typeName, x -> new ArrayList<>(1));
+        if (!childNames.contains(childName)) {
+            childNames.add(childName);
+        }
+    }
+
+    /**
+     * @return names of the package's children (compilation units or class files) that may declare the named type, in package order
+     */
+    List<String> get(String typeName) {
+        return names.getOrDefault(typeName, Collections.emptyList());
+    }
+}
@@ -44,16 +44,22 @@ import org.codehaus.groovy.eclipse.core.compiler.CompilerUtils;
 import org.codehaus.groovy.transform.stc.StaticTypesMarker;
 import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
 import org.eclipse.jdt.groovy.search.ITypeLookup;
+import org.eclipse.jdt.groovy.search.ITypeLookupPrototype;
 import org.eclipse.jdt.groovy.search.TypeLookupResult;
 import org.eclipse.jdt.groovy.search.TypeLookupResult.TypeConfidence;
 import org.eclipse.jdt.groovy.search.VariableScope;
 import org.eclipse.jdt.groovy.search.VariableScope.VariableInfo;
 
-public class STCTypeLookup implements ITypeLookup {
+public class STCTypeLookup implements ITypeLookupPrototype {
 
     // only enabled for Groovy 2.0 or greater
     private static final boolean isEnabled = (CompilerUtils.getActiveGroovyBundle().getVersion().getMajor() >= 2);
 
+    @Override
+    public ITypeLookup newLookup() {
+        return this; // no per-unit state
+    }
+
     @Override
     public void initialize(GroovyCompilationUnit unit, VariableScope topLevelScope) {
     }
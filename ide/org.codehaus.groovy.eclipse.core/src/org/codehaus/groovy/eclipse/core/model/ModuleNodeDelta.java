@@ -0,0 +1,172 @@
+/*
+ * Copyright 2009-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.core.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.codehaus.groovy.ast.ASTNode;
+import org.codehaus.groovy.ast.ModuleNode;
+import org.codehaus.groovy.eclipse.core.model.ModuleStructure.Element;
+import org.codehaus.groovy.eclipse.core.model.ModuleStructure.ElementKind;
+
+/**
+ * Structural difference between two parses of the same source. Elements are
+ * matched by their {@link ModuleStructure} keys, so an element that only moved
+ * (e.g. because lines were inserted above it) is not reported.
+ */
+public final class ModuleNodeDelta {
+
+    /**
+     * Computes the delta from {@code oldModule} to {@code newModule}. If there
+     * is no old module, every element of the new module is reported as added.
+     */
+    public static ModuleNodeDelta compute(ModuleNode oldModule, ModuleNode newModule) {
+        Map<String, Element> oldElements = (oldModule != null ? ModuleStructure.of(oldModule).getElements() : Collections.emptyMap());
+        Map<String, Element> newElements = (newModule != null ? ModuleStructure.of(newModule).getElements() : Collections.emptyMap());
+
+        List<Entry> entries = new ArrayList<>();
+        for (Map.Entry<String, Element> it : oldElements.entrySet()) {
+            Element newElement = newElements.get(it.getKey());
+            if (newElement == null) {
+                entries.add(new Entry(Kind.REMOVED, it.getKey(), it.getValue(), null));
+            } else if (!newElement.getDescriptor().equals(it.getValue().getDescriptor())) {
+                entries.add(new Entry(Kind.CHANGED, it.getKey(), it.getValue(), newElement));
+            }
+        }
+        for (Map.Entry<String, Element> it : newElements.entrySet()) {
+            if (!oldElements.containsKey(it.getKey())) {
+                entries.add(new Entry(Kind.ADDED, it.getKey(), null, it.getValue()));
+            }
+        }
+
+        return new ModuleNodeDelta(entries, isReordered(oldElements, newElements));
+    }
+
+    /**
+     * Determines if elements present in both modules are in a different order.
+     */
+    private static boolean isReordered(Map<String, Element> oldElements, Map<String, Element> newElements) {
+        Iterator<String> oldKeys = oldElements.keySet().iterator();
+        for (String newKey : newElements.keySet()) {
+            if (oldElements.containsKey(newKey)) {
+                String oldKey;
+                do {
+                    oldKey = oldKeys.next();
+                } while (!newElements.containsKey(oldKey));
+
+                if (!oldKey.equals(newKey)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private final List<Entry> entries;
+    private final boolean reordered;
+
+    private ModuleNodeDelta(List<Entry> entries, boolean reordered) {
+        this.entries = Collections.unmodifiableList(entries);
+        this.reordered = reordered;
+    }
+
+    /**
+     * @return {@code true} if no element was added, removed, changed or reordered
+     */
+    public boolean isEmpty() {
+        return entries.isEmpty() && !reordered;
+    }
+
+    /**
+     * @return {@code true} if elements present in both modules are in a different order
+     */
+    public boolean isReordered() {
+        return reordered;
+    }
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * @return {@code true} if any entry is for an element of one of the given kinds
+     */
+    public boolean affects(ElementKind... kinds) {
+        List<ElementKind> list = Arrays.asList(kinds);
+        return entries.stream().anyMatch(entry -> list.contains(entry.getElementKind()));
+    }
+
+    @Override
+    public String toString() {
+        return entries.toString();
+    }
+
+    //--------------------------------------------------------------------------
+
+    public enum Kind {
+        ADDED, REMOVED, CHANGED
+    }
+
+    public static final class Entry {
+        private final Kind kind;
+        private final String key;
+        private final Element oldElement;
+        private final Element newElement;
+
+        Entry(Kind kind, String key, Element oldElement, Element newElement) {
+            this.kind = kind;
+            this.key = key;
+            this.oldElement = oldElement;
+            this.newElement = newElement;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public ElementKind getElementKind() {
+            return (newElement != null ? newElement : oldElement).getKind();
+        }
+
+        /**
+         * @return the node from the old module, or {@code null} if added
+         */
+        public ASTNode getOldNode() {
+            return oldElement != null ? oldElement.getNode() : null;
+        }
+
+        /**
+         * @return the node from the new module, or {@code null} if removed
+         */
+        public ASTNode getNewNode() {
+            return newElement != null ? newElement.getNode() : null;
+        }
+
+        @Override
+        public String toString() {
+            return kind + " " + key;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2009-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.core.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.codehaus.groovy.ast.ASTNode;
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.ast.FieldNode;
+import org.codehaus.groovy.ast.ImportNode;
+import org.codehaus.groovy.ast.MethodNode;
+import org.codehaus.groovy.ast.ModuleNode;
+import org.codehaus.groovy.ast.PackageNode;
+import org.codehaus.groovy.ast.Parameter;
+import org.codehaus.groovy.ast.expr.ClosureExpression;
+import org.codehaus.groovy.ast.expr.DeclarationExpression;
+import org.eclipse.jdt.groovy.core.util.DepthFirstVisitor;
+
+/**
+ * Index of the structural elements of a module: package, imports, classes,
+ * methods, fields, script-level declarations and closures. Each element is identified by a key
+ * that does not depend on source offsets, so elements of two parses of the
+ * same source can be matched up (see {@link ModuleNodeDelta}).
+ * <p>
+ * The index is built by a single traversal and kept in the module's metadata.
+ */
+public final class ModuleStructure {
+
+    /**
+     * Returns the structure of the given module, building it if necessary.
+     */
+    public static ModuleStructure of(ModuleNode module) {
+        ModuleStructure structure = module.getNodeMetaData(ModuleStructure.class);
+        if (structure == null) {
+            synchronized (module) {
+                structure = module.getNodeMetaData(ModuleStructure.class);
+                if (structure == null) {
+                    structure = new ModuleStructure(module);
+                    module.putNodeMetaData(ModuleStructure.class, structure);
+                }
+            }
+        }
+        return structure;
+    }
+
+    private final Map<String, Element> elements = new LinkedHashMap<>();
+    private final List<ClosureExpression> closures = new ArrayList<>();
+
+    private ModuleStructure(ModuleNode module) {
+        new StructureVisitor().visitModule(module);
+    }
+
+    /**
+     * @return elements by key, in traversal order
+     */
+    public Map<String, Element> getElements() {
+        return Collections.unmodifiableMap(elements);
+    }
+
+    /**
+     * @return every closure of the module that has a source location, outer closures first
+     */
+    public List<ClosureExpression> getClosures() {
+        return Collections.unmodifiableList(closures);
+    }
+
+    //--------------------------------------------------------------------------
+
+    public enum ElementKind {
+        PACKAGE, IMPORT, CLASS, METHOD, FIELD, SCRIPT_VARIABLE, CLOSURE
+    }
+
+    public static final class Element {
+        private final ElementKind kind;
+        private final ASTNode node;
+        private final String descriptor;
+
+        Element(ElementKind kind, ASTNode node, String descriptor) {
+            this.kind = kind;
+            this.node = node;
+            this.descriptor = descriptor;
+        }
+
+        public ElementKind getKind() {
+            return kind;
+        }
+
+        public ASTNode getNode() {
+            return node;
+        }
+
+        /**
+         * Two elements with the same key and the same descriptor are presented
+         * the same way; source offsets are not part of the descriptor.
+         */
+        public String getDescriptor() {
+            return descriptor;
+        }
+    }
+
+    //--------------------------------------------------------------------------
+
+    private class StructureVisitor extends DepthFirstVisitor {
+
+        private final Deque<String> owners = new ArrayDeque<>();
+        private final Map<String, Integer> counters = new HashMap<>();
+        private String scriptBody;
+
+        private String add(ElementKind kind, String name, ASTNode node, String descriptor) {
+            String key = owners.isEmpty() ? name : owners.peek() + '/' + name;
+            if (elements.containsKey(key)) {
+                key += '#' + String.valueOf(counters.merge(key, 1, Integer::sum));
+            }
+            elements.put(key, new Element(kind, node, descriptor));
+            return key;
+        }
+
+        @Override
+        public void visitPackage(PackageNode node) {
+            add(ElementKind.PACKAGE, "P:" + node.getName(), node, node.getName());
+            super.visitPackage(node);
+        }
+
+        @Override
+        public void visitImport(ImportNode node) {
+            add(ElementKind.IMPORT, "I:" + node.getText(), node, node.getText());
+            super.visitImport(node);
+        }
+
+        @Override
+        public void visitClass(ClassNode node) {
+            StringBuilder descriptor = new StringBuilder();
+            descriptor.append(node.getModifiers()).append(' ');
+            if (node.getUnresolvedSuperClass() != null) {
+                descriptor.append(node.getUnresolvedSuperClass().toString(false));
+            }
+            for (ClassNode face : node.getUnresolvedInterfaces()) {
+                descriptor.append(',').append(face.toString(false));
+            }
+            owners.push(add(ElementKind.CLASS, "C:" + node.getName(), node, descriptor.toString()));
+            try {
+                super.visitClass(node);
+            } finally {
+                owners.pop();
+            }
+        }
+
+        @Override
+        public void visitMethod(MethodNode node) {
+            if (node == runMethod || "<clinit>".equals(node.getName())) return;
+            StringBuilder name = new StringBuilder("M:").append(node.getName()).append('(');
+            for (Parameter parameter : node.getParameters()) {
+                name.append(parameter.getOriginType().toString(false)).append(',');
+            }
+            name.append(')');
+            String descriptor = node.getModifiers() + " " + node.getReturnType().toString(false);
+
+            // the script body is visited last, so its owner is not on the stack
+            if (node.isScriptBody()) {
+                owners.push("C:" + node.getDeclaringClass().getName());
+            }
+            owners.push(add(ElementKind.METHOD, name.toString(), node, descriptor));
+            if (node.isScriptBody()) {
+                scriptBody = owners.peek();
+            }
+            try {
+                super.visitMethod(node);
+            } finally {
+                owners.pop();
+                if (node.isScriptBody()) {
+                    owners.pop();
+                }
+            }
+        }
+
+        @Override
+        public void visitField(FieldNode node) {
+            owners.push(add(ElementKind.FIELD, "F:" + node.getName(), node, node.getModifiers() + " " + node.getOriginType().toString(false)));
+            try {
+                super.visitField(node);
+            } finally {
+                owners.pop();
+            }
+        }
+
+        @Override
+        public void visitDeclarationExpression(DeclarationExpression expression) {
+            // declarations within closures or inner classes have a different owner
+            if (scriptBody != null && scriptBody.equals(owners.peek())) {
+                add(ElementKind.SCRIPT_VARIABLE, "V:" + expression.getLeftExpression().getText(), expression,
+                    expression.getLeftExpression().getType().toString(false));
+            }
+            super.visitDeclarationExpression(expression);
+        }
+
+        @Override
+        public void visitClosureExpression(ClosureExpression expression) {
+            if (expression.getEnd() > 0) {
+                closures.add(expression);
+                owners.push(add(ElementKind.CLOSURE, "{}", expression, String.valueOf(expression.getLastLineNumber() - expression.getLineNumber())));
+            }
+            try {
+                super.visitClosureExpression(expression);
+            } finally {
+                if (expression.getEnd() > 0) {
+                    owners.pop();
+                }
+            }
+        }
+    }
+}
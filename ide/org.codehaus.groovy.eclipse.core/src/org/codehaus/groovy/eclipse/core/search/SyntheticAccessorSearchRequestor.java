@@ -1,5 +1,5 @@
 /*
- * Copyright 2009-2017 the original author or authors.
+ * Copyright 2009-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -39,6 +39,7 @@ import org.eclipse.jdt.core.search.SearchMatch;
 import org.eclipse.jdt.core.search.SearchParticipant;
 import org.eclipse.jdt.core.search.SearchPattern;
 import org.eclipse.jdt.core.search.SearchRequestor;
+import org.eclipse.jdt.groovy.search.CombinedSearch;
 import org.eclipse.jdt.internal.core.search.JavaSearchParticipant;
 
 /**
@@ -47,16 +48,36 @@ import org.eclipse.jdt.internal.core.search.JavaSearchParticipant;
  */
 public class SyntheticAccessorSearchRequestor {
 
+    private static final int DEFAULT_LIMIT_TO = IJavaSearchConstants.REFERENCES | IJavaSearchConstants.IGNORE_RETURN_TYPE;
+
+    /**
+     * Finds the synthetic accessor references of {@code element} in the workspace.
+     * If a search for {@code element} was combined with the accessor search (see
+     * {@link #combineWith(SearchPattern, IJavaSearchScope)}), its results are reused.
+     */
     public void findSyntheticMatches(IJavaElement element, ISearchRequestor uiRequestor, IProgressMonitor monitor) throws CoreException {
-        findSyntheticMatches(element, IJavaSearchConstants.REFERENCES | IJavaSearchConstants.IGNORE_RETURN_TYPE, new SearchParticipant[] {new JavaSearchParticipant()}, SearchEngine.createWorkspaceScope(), uiRequestor, monitor);
+        if (!(element instanceof IMember) || !GroovyNature.hasGroovyNature(element.getJavaProject().getProject())) {
+            return;
+        }
+        SearchPattern pattern = CombinedSearch.claimCompanion(element);
+        try {
+            if (pattern == null) {
+                pattern = createPattern(element, DEFAULT_LIMIT_TO);
+            }
+            search(element, pattern, new SearchParticipant[] {new JavaSearchParticipant()}, SearchEngine.createWorkspaceScope(), uiRequestor, monitor);
+        } finally {
+            CombinedSearch.unregister(element);
+        }
     }
 
     public void findSyntheticMatches(IJavaElement element, int limitTo, SearchParticipant[] participants, IJavaSearchScope scope, final ISearchRequestor requestor, IProgressMonitor monitor) throws CoreException {
         if (!(element instanceof IMember) || !GroovyNature.hasGroovyNature(element.getJavaProject().getProject())) {
             return;
         }
+        search(element, createPattern(element, limitTo), participants, scope, requestor, monitor);
+    }
 
-        SearchPattern pattern = createPattern(element, limitTo);
+    private void search(IJavaElement element, SearchPattern pattern, SearchParticipant[] participants, IJavaSearchScope scope, final ISearchRequestor requestor, IProgressMonitor monitor) throws CoreException {
         if (pattern == null) {
             return;
         }
@@ -74,6 +95,23 @@ public class SyntheticAccessorSearchRequestor {
         }, monitor);
     }
 
+    /**
+     * Matches the synthetic accessors of {@code primary}'s focus element during
+     * the search for {@code primary}, which is about to start in {@code scope}.
+     * The next call to {@link #findSyntheticMatches(IJavaElement, ISearchRequestor, IProgressMonitor)}
+     * for the same element reuses the results for each Groovy file that was
+     * searched for {@code primary}, unless something has changed in between.
+     */
+    public void combineWith(SearchPattern primary, IJavaSearchScope scope) throws JavaModelException {
+        IJavaElement element = primary.focus;
+        if (element instanceof IMember && GroovyNature.hasGroovyNature(element.getJavaProject().getProject())) {
+            SearchPattern pattern = createPattern(element, DEFAULT_LIMIT_TO);
+            if (pattern != null) {
+                CombinedSearch.register(primary, pattern, scope);
+            }
+        }
+    }
+
     private SearchPattern createPattern(IJavaElement element, int limitTo) throws JavaModelException {
         IJavaElement[] toSearch = {
             findSyntheticProperty(element),
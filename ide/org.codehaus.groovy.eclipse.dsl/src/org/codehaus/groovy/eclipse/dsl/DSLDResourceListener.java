@@ -71,7 +71,7 @@ public class DSLDResourceListener implements IResourceChangeListener {
                         // just in case nature has been removed for this project
                         !GroovyNature.hasGroovyNature(project)) {
                     // no longer managing state for this project
-                    if (GroovyLogManager.manager.hasLoggers()) {
+                    if (GroovyLogManager.manager.isEnabled(TraceCategory.DSL)) {
                         GroovyLogManager.manager.log(TraceCategory.DSL, "Deleting DSL context for: " + project.getName());
                     }
                     contextStoreManager.clearDSLDStore(project);
@@ -96,7 +96,7 @@ public class DSLDResourceListener implements IResourceChangeListener {
                     DSLDStore store = contextStoreManager.getDSLDStore(project);
                     Assert.isNotNull(store, "Context store should not be null");
 
-                    if (GroovyLogManager.manager.hasLoggers()) {
+                    if (GroovyLogManager.manager.isEnabled(TraceCategory.DSL)) {
                         GroovyLogManager.manager.log(TraceCategory.DSL, "Processing " + file.getName());
                     }
                     // this file has been changed or deleted. Either way, must
@@ -66,7 +66,7 @@ public class DSLDStore {
     }
 
     public void purgeIdentifier(IStorage identifier) {
-        if (GroovyLogManager.manager.hasLoggers()) {
+        if (GroovyLogManager.manager.isEnabled(TraceCategory.DSL)) {
             GroovyLogManager.manager.log(TraceCategory.DSL, "Purging pointcut for DSL file " + identifier);
         }
         Set<IPointcut> pointcuts;
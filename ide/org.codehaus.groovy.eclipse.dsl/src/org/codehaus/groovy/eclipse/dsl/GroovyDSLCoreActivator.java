@@ -125,7 +125,7 @@ public class GroovyDSLCoreActivator extends AbstractUIPlugin {
         } catch (NullPointerException e) {
             // plugin starting up or shutting down.  can ignore
         }
-        if (GroovyLogManager.manager.hasLoggers()) {
+        if (GroovyLogManager.manager.isEnabled(TraceCategory.DSL)) {
             if (throwable != null) {
                 GroovyLogManager.manager.log(TraceCategory.DSL, "Exception caught.  See error log.  Message: " + throwable.getLocalizedMessage());
             } else if (message != null) {
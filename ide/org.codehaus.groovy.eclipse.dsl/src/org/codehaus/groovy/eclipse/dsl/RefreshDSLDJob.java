@@ -257,7 +257,7 @@ public class RefreshDSLDJob extends Job {
     public IStatus run(IProgressMonitor monitor) {
         try {
             if (GroovyDSLCoreActivator.getDefault().isDSLDDisabled()) {
-                if (GroovyLogManager.manager.hasLoggers()) {
+                if (GroovyLogManager.manager.isEnabled(TraceCategory.DSL)) {
                     GroovyLogManager.manager.log(TraceCategory.DSL, "DSLD support is currently disabled, so not refreshing DSLDs.");
                 }
                 return Status.OK_STATUS;
@@ -302,7 +302,7 @@ public class RefreshDSLDJob extends Job {
 
     private IStatus refreshProject(IProject project, IProgressMonitor monitor) {
         String event = null;
-        if (GroovyLogManager.manager.hasLoggers()) {
+        if (GroovyLogManager.manager.isEnabled(TraceCategory.DSL)) {
             GroovyLogManager.manager.log(TraceCategory.DSL, "Refreshing inferencing scripts for " + project.getName());
             event = "Refreshing inferencing scripts: " + project.getName();
             GroovyLogManager.manager.logStart(event);
@@ -317,7 +317,7 @@ public class RefreshDSLDJob extends Job {
 
 
         // purge existing
-        if (GroovyLogManager.manager.hasLoggers()) {
+        if (GroovyLogManager.manager.isEnabled(TraceCategory.DSL)) {
             GroovyLogManager.manager.log(TraceCategory.DSL, "Purging old state");
         }
         DSLDStore store = GroovyDSLCoreActivator.getDefault().getContextStoreManager().getDSLDStore(project);
@@ -329,7 +329,7 @@ public class RefreshDSLDJob extends Job {
         monitor.worked(1);
 
         // find dslds
-        if (GroovyLogManager.manager.hasLoggers()) {
+        if (GroovyLogManager.manager.isEnabled(TraceCategory.DSL)) {
             GroovyLogManager.manager.log(TraceCategory.DSL, "Finding inferencing DSL scripts");
         }
         Set<IStorage> findDSLDFiles = new DSLDResourceVisitor(project).findFiles(monitor);
@@ -341,7 +341,7 @@ public class RefreshDSLDJob extends Job {
 
         // now add the rest
         for (IStorage file : findDSLDFiles) {
-            if (GroovyLogManager.manager.hasLoggers()) {
+            if (GroovyLogManager.manager.isEnabled(TraceCategory.DSL)) {
                 GroovyLogManager.manager.log(TraceCategory.DSL, "Processing " + file.getName() + " in project " + project.getName());
             }
             monitor.subTask("Processing " + file.getName() + " in project " + project.getName());
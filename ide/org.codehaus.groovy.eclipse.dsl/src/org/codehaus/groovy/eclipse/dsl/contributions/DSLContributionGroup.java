@@ -224,7 +224,7 @@ public class DSLContributionGroup extends ContributionGroup {
             type = ((ClassExpression) expr).getType();
         } else {
             // invalid
-            if (GroovyLogManager.manager.hasLoggers()) {
+            if (GroovyLogManager.manager.isEnabled(TraceCategory.DSL)) {
                 GroovyLogManager.manager.log(TraceCategory.DSL, "Cannot invoke delegatesTo() on an invalid object: " + expr);
             }
             return;
@@ -563,7 +563,7 @@ public class DSLContributionGroup extends ContributionGroup {
      * Logs a message to the Groovy Event Console log if it's open.
      */
     Object log(Object msg) {
-        if (GroovyLogManager.manager.hasLoggers()) {
+        if (GroovyLogManager.manager.isEnabled(TraceCategory.DSL)) {
             GroovyLogManager.manager.log(TraceCategory.DSL, "========== " + msg);
         }
         return msg;
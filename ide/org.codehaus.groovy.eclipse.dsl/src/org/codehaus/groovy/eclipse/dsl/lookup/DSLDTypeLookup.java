@@ -35,6 +35,7 @@ import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.jdt.groovy.search.AbstractSimplifiedTypeLookup;
 import org.eclipse.jdt.groovy.search.ITypeLookup;
+import org.eclipse.jdt.groovy.search.ITypeLookupPrototype;
 import org.eclipse.jdt.groovy.search.ITypeResolver;
 import org.eclipse.jdt.groovy.search.TypeLookupResult.TypeConfidence;
 import org.eclipse.jdt.groovy.search.VariableScope;
@@ -42,7 +43,7 @@ import org.eclipse.jdt.groovy.search.VariableScope;
 /**
  * Uses the current set of DSLDs for this project to look up types.
  */
-public class DSLDTypeLookup extends AbstractSimplifiedTypeLookup implements ITypeLookup, ITypeResolver {
+public class DSLDTypeLookup extends AbstractSimplifiedTypeLookup implements ITypeLookupPrototype, ITypeResolver {
 
     private static final String GORM_SIGNATURE = "Provided by Grails ORM DSL";
 
@@ -54,6 +55,11 @@ public class DSLDTypeLookup extends AbstractSimplifiedTypeLookup implements ITyp
     private ModuleNode module;
     private JDTResolver resolver;
 
+    @Override
+    public ITypeLookup newLookup() {
+        return new DSLDTypeLookup(); // DSLD state is per unit
+    }
+
     @Override
     public void setResolverInformation(ModuleNode module, JDTResolver resolver) {
         this.module = module;
@@ -260,7 +260,7 @@ public abstract class AbstractPointcut implements IPointcut {
                 IPointcut normalized = this.normalize();
 
 
-                if (GroovyLogManager.manager.hasLoggers()) {
+                if (GroovyLogManager.manager.isEnabled(TraceCategory.DSL)) {
                     GroovyLogManager.manager.log(TraceCategory.DSL, "Registering pointcut:\n" + this.toString());
                 }
                 // register this pointcut and group for the given project
@@ -269,7 +269,7 @@ public abstract class AbstractPointcut implements IPointcut {
 
 
             } catch (PointcutVerificationException e) {
-                if (GroovyLogManager.manager.hasLoggers()) {
+                if (GroovyLogManager.manager.isEnabled(TraceCategory.DSL)) {
                     GroovyLogManager.manager.log(TraceCategory.DSL, "Ignoring invalid pointcut");
                     GroovyLogManager.manager.log(TraceCategory.DSL, e.getPointcutMessage());
                     GroovyLogManager.manager.logException(TraceCategory.DSL, e);
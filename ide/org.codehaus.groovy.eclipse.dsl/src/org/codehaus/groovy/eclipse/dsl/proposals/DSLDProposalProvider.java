@@ -52,19 +52,14 @@ public class DSLDProposalProvider implements IProposalProvider {
 
     @Override
     public List<IGroovyProposal> getStatementAndExpressionProposals(ContentAssistContext context, ClassNode completionType, boolean isStatic, Set<ClassNode> categories) {
-        String event = null;
-        if (GroovyLogManager.manager.hasLoggers()) {
-            GroovyLogManager.manager.log(TraceCategory.DSL, "Getting DSL proposals for " + context.fullCompletionExpression);
-            event = "DSL proposals";
-            GroovyLogManager.manager.logStart(event);
-        }
+        GroovyLogManager.Span span = GroovyLogManager.manager.startSpan(TraceCategory.DSL, "DSL proposals for ", context.fullCompletionExpression);
         List<IContributionElement> contributions;
         List<IGroovyProposal> proposals = new ArrayList<>();
         try {
             DSLDStore store = GroovyDSLCoreActivator.getDefault().getContextStoreManager().getDSLDStore(context.unit.getJavaProject());
             ModuleNodeInfo info = context.unit.getModuleInfo(true);
             if (info == null) {
-                if (GroovyLogManager.manager.hasLoggers()) {
+                if (GroovyLogManager.manager.isEnabled(TraceCategory.CONTENT_ASSIST)) {
                     GroovyLogManager.manager.log(TraceCategory.CONTENT_ASSIST, "Null module node for " + context.unit.getElementName());
                 }
                 return Collections.EMPTY_LIST;
@@ -93,9 +88,8 @@ public class DSLDProposalProvider implements IProposalProvider {
             }
         } catch (CoreException e) {
             GroovyDSLCoreActivator.logException(e);
-        }
-        if (event != null) {
-            GroovyLogManager.manager.logEnd(event, TraceCategory.DSL);
+        } finally {
+            span.end();
         }
 
         return proposals;
@@ -103,7 +103,7 @@ public class DSLDScriptExecutor {
                 }
                 return result;
             } else if (name.equals("log")) {
-                if (GroovyLogManager.manager.hasLoggers()) {
+                if (GroovyLogManager.manager.isEnabled(TraceCategory.DSL)) {
                     GroovyLogManager.manager.log(TraceCategory.DSL, "========== " + args);
                 }
                 return args;
@@ -162,7 +162,7 @@ public class DSLDScriptExecutor {
                     private static final long serialVersionUID = 1L;
                     @Override
                     public Object call(Object... args) {
-                        if (GroovyLogManager.manager.hasLoggers()) {
+                        if (GroovyLogManager.manager.isEnabled(TraceCategory.DSL)) {
                             String msg;
                             if (args == null) {
                                 msg = "null";
@@ -222,7 +222,7 @@ public class DSLDScriptExecutor {
         this.scriptFile = scriptFile;
         String event = null;
         try {
-            if (GroovyLogManager.manager.hasLoggers()) {
+            if (GroovyLogManager.manager.isEnabled(TraceCategory.DSL)) {
                 GroovyLogManager.manager.log(TraceCategory.DSL, "About to compile script for " + scriptFile);
                 event = "Script creation for " + scriptFile;
                 GroovyLogManager.manager.logStart(event);
@@ -235,7 +235,7 @@ public class DSLDScriptExecutor {
                 try {
                     clazz = gcl.parseClass(scriptContents, scriptFile.getName());
                 } catch (Exception e) {
-                    if (GroovyLogManager.manager.hasLoggers()) {
+                    if (GroovyLogManager.manager.isEnabled(TraceCategory.DSL)) {
                         StringWriter writer = new StringWriter();
                         e.printStackTrace(new PrintWriter(writer));
                         GroovyLogManager.manager.log(TraceCategory.DSL, "Attempted to compile " + scriptFile + "but failed because:\n" +
@@ -248,7 +248,7 @@ public class DSLDScriptExecutor {
                 if (!Script.class.isAssignableFrom(clazz)) {
                     // might be some strange compile error
                     // or a class is accidentally defined
-                    if (GroovyLogManager.manager.hasLoggers()) {
+                    if (GroovyLogManager.manager.isEnabled(TraceCategory.DSL)) {
                         GroovyLogManager.manager.log(TraceCategory.DSL, "Class " + scriptFile + " is not a script.  Can't execute as DSLD.");
                     }
                     return result;
@@ -257,7 +257,7 @@ public class DSLDScriptExecutor {
                 dsldScript.setBinding(new DSLDScriptBinding(dsldScript));
                 result = dsldScript.run();
             } catch (UnsupportedDSLVersion e) {
-                if (GroovyLogManager.manager.hasLoggers()) {
+                if (GroovyLogManager.manager.isEnabled(TraceCategory.DSL)) {
                     GroovyLogManager.manager.log(TraceCategory.DSL, e.getMessage());
                 }
             } catch (Exception e) {
@@ -291,7 +291,7 @@ public class DSLDScriptExecutor {
             factory.registerLocalPointcut((String) nameAndClosure[0], (Closure<?>) nameAndClosure[1]);
             return nameAndClosure[1];
         } else {
-            if (GroovyLogManager.manager.hasLoggers()) {
+            if (GroovyLogManager.manager.isEnabled(TraceCategory.DSL)) {
                 GroovyLogManager.manager.log(TraceCategory.DSL, "Cannot register custom pointcut for " +
                         (args instanceof Object[] ? Arrays.toString((Object[]) args) : args));
             }
@@ -16,18 +16,22 @@
 package org.codehaus.groovy.eclipse.refactoring.core.rename;
 
 import org.codehaus.groovy.eclipse.core.GroovyCore;
+import org.codehaus.groovy.eclipse.core.search.SyntheticAccessorSearchRequestor;
 import org.codehaus.jdt.groovy.integration.internal.ISearchScopeExpander;
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IField;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.search.IJavaSearchScope;
 import org.eclipse.jdt.core.search.SearchPattern;
 import org.eclipse.jdt.core.search.SearchRequestor;
 import org.eclipse.jdt.internal.corext.refactoring.CollectingSearchRequestor;
+import org.eclipse.jdt.internal.corext.refactoring.CuCollectingSearchRequestor;
 import org.eclipse.jdt.internal.corext.refactoring.RefactoringScopeFactory;
 
 /**
  * Expands the search scope of a refactoring search so that private declarations
- * still have a project-wide search.
+ * still have a project-wide search.  Also lets the synthetic accessor search of
+ * {@link SyntheticAccessorsRenameParticipant} share a field rename's search.
  */
 public class RefactoringSearchScopeExpander implements ISearchScopeExpander {
 
@@ -36,10 +40,18 @@ public class RefactoringSearchScopeExpander implements ISearchScopeExpander {
         // at this point, we already know this is a groovy project, so no need to check again
         if (pattern.focus.getOpenable() instanceof ICompilationUnit && requestor instanceof CollectingSearchRequestor) {
             try {
-                return RefactoringScopeFactory.create(pattern.focus, false, true);
+                scope = RefactoringScopeFactory.create(pattern.focus, false, true);
             } catch (JavaModelException e) {
                 GroovyCore.logException("Exception thrown when trying to expand the search scope of " + pattern.focus.getElementName(), e);
             }
+            // field rename participant searches for synthetic accessors next; match them in the same pass
+            if (pattern.focus instanceof IField && requestor instanceof CuCollectingSearchRequestor) {
+                try {
+                    new SyntheticAccessorSearchRequestor().combineWith(pattern, scope);
+                } catch (JavaModelException e) {
+                    GroovyCore.logException("Exception thrown when trying to find synthetic accessors of " + pattern.focus.getElementName(), e);
+                }
+            }
         }
         return scope;
     }
@@ -46,6 +46,7 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.SourceRange;
 import org.eclipse.jdt.core.refactoring.CompilationUnitChange;
 import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.groovy.search.CombinedSearch;
 import org.eclipse.jdt.internal.corext.refactoring.Checks;
 import org.eclipse.jdt.internal.corext.refactoring.RefactoringCoreMessages;
 import org.eclipse.jdt.internal.corext.refactoring.SearchResultGroup;
@@ -92,6 +93,8 @@ public class SyntheticAccessorsRenameParticipant extends RenameParticipant {
             if (shouldUpdateReferences()) {
                 matches = findExtraReferences(SubMonitor.convert(pm, "Finding synthetic Groovy references", 10));
             } else {
+                // drop the accessor matches recorded during the field search
+                CombinedSearch.unregister(renameTarget);
                 matches = Collections.emptyList();
             }
             checkForBinaryRefs(matches, status);
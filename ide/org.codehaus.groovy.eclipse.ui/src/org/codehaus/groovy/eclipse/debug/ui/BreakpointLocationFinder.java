@@ -15,8 +15,10 @@
  */
 package org.codehaus.groovy.eclipse.debug.ui;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
 import java.util.TreeSet;
 
 import org.codehaus.groovy.antlr.LocationSupport;
@@ -33,11 +35,38 @@ import org.codehaus.groovy.ast.expr.Expression;
 import org.codehaus.groovy.ast.expr.TupleExpression;
 import org.eclipse.jdt.groovy.core.util.DepthFirstVisitor;
 
+/**
+ * Finds the valid breakpoint location for each line of a module. Locations are
+ * computed for all lines at once, so {@link #forModule(ModuleNode)} should be
+ * used to share one finder among all breakpoints of a module.
+ */
 public class BreakpointLocationFinder {
 
+    /**
+     * Returns the location finder of the given module. The finder is kept in
+     * the module's metadata, so it is replaced along with the module when the
+     * compilation unit is reconciled.
+     */
+    public static BreakpointLocationFinder forModule(ModuleNode module) {
+        BreakpointLocationFinder finder = module.getNodeMetaData(BreakpointLocationFinder.class);
+        if (finder == null) {
+            synchronized (module) {
+                finder = module.getNodeMetaData(BreakpointLocationFinder.class);
+                if (finder == null) {
+                    finder = new BreakpointLocationFinder(module);
+                    module.putNodeMetaData(BreakpointLocationFinder.class, finder);
+                }
+            }
+        }
+        return finder;
+    }
+
     protected final LocationSupport locator;
     protected final Iterable<ASTNode> nodes;
 
+    /** best match for each line number; lines past the end have no location */
+    private final ASTNode[] locations;
+
     public BreakpointLocationFinder(ModuleNode module) {
         TreeSet<ASTNode> nodes = new TreeSet<>(Comparator.comparing(ASTNode::getLineNumber).thenComparing(ASTNode::getColumnNumber)
             .thenComparing(Comparator.comparing(ASTNode::getLastLineNumber).thenComparing(ASTNode::getLastColumnNumber).reversed()));
@@ -84,10 +113,17 @@ public class BreakpointLocationFinder {
 
         this.nodes = Collections.unmodifiableSet(nodes);
         this.locator = module.getNodeMetaData(LocationSupport.class);
+        this.locations = computeLocations();
     }
 
-    public ASTNode findBreakpointLocation(int lineNumber) {
-        ASTNode bestMatch = null;
+    /**
+     * Each line maps to the first candidate node that is on or after the line.
+     * Candidates are in source order, so each node claims the lines between
+     * the last line claimed so far and its own line.
+     */
+    private ASTNode[] computeLocations() {
+        List<ASTNode> candidates = new ArrayList<>();
+        int lastLine = 0;
         boolean skipNext = false;
         for (ASTNode node : nodes) {
             if (skipNext) { skipNext = false;
@@ -97,13 +133,26 @@ public class BreakpointLocationFinder {
                     // variable expression in a declaration expression with no initializer
                     skipNext = true;
                 }
-            } else if (lineNumber(node) >= lineNumber) {
-                bestMatch = node;
-                break;
+            } else {
+                candidates.add(node);
+                lastLine = Math.max(lastLine, lineNumber(node));
+            }
+        }
+
+        ASTNode[] locations = new ASTNode[lastLine + 1];
+        int claimed = 0;
+        for (ASTNode node : candidates) {
+            int line = lineNumber(node);
+            while (claimed < line) {
+                locations[++claimed] = node;
             }
         }
+        return locations;
+    }
 
-        return bestMatch;
+    public ASTNode findBreakpointLocation(int lineNumber) {
+        int line = Math.max(lineNumber, 1);
+        return (line < locations.length ? locations[line] : null);
     }
 
     protected int lineNumber(ASTNode node) {
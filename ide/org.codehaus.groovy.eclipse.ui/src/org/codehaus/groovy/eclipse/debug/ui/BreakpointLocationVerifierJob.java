@@ -108,7 +108,7 @@ public class BreakpointLocationVerifierJob extends Job {
 
             ModuleNode module = Adapters.adapt(fEditorPart, ModuleNode.class);
             if (module != null) {
-                ASTNode found = new BreakpointLocationFinder(module).findBreakpointLocation(fLineNumber);
+                ASTNode found = BreakpointLocationFinder.forModule(module).findBreakpointLocation(fLineNumber);
                 if (found instanceof ClassNode && ((ClassNode) found).getNameStart() > 0) {
                     createNewClassBreakpoint((ClassNode) found, module.getNodeMetaData(LocationSupport.class));
                 } else if (found instanceof FieldNode && ((FieldNode) found).getNameStart() > 0) {
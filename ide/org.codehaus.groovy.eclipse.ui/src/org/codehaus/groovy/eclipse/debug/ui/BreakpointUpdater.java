@@ -74,7 +74,7 @@ public class BreakpointUpdater implements IMarkerUpdater {
         try {
             Object attribute = marker.getAttribute(IMarker.LINE_NUMBER);
             if (attribute != null) {
-                ASTNode node = new BreakpointLocationFinder(unit.getModuleNode()).findBreakpointLocation(((Integer) attribute).intValue());
+                ASTNode node = BreakpointLocationFinder.forModule(unit.getModuleNode()).findBreakpointLocation(((Integer) attribute).intValue());
                 if (node == null) {
                     return false;
                 }
@@ -59,7 +59,7 @@ public class RunToLineAdapter implements IRunToLineTarget {
         ModuleNode moduleNode = Adapters.adapt(getTextEditor(part), ModuleNode.class);
         int lineNumber = ((ITextSelection) selection).getStartLine() + 1;
         if (moduleNode != null && lineNumber > 0) {
-            ASTNode found = new BreakpointLocationFinder(moduleNode).findBreakpointLocation(lineNumber);
+            ASTNode found = BreakpointLocationFinder.forModule(moduleNode).findBreakpointLocation(lineNumber);
             if (found != null && found.getLineNumber() == lineNumber) {
                 Map<String, Object> attributes = new HashMap<>(4);
                 BreakpointUtils.addRunToLineAttributes(attributes);
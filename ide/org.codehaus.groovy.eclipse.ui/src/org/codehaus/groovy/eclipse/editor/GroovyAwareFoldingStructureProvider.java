@@ -15,6 +15,11 @@
  */
 package org.codehaus.groovy.eclipse.editor;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.codehaus.groovy.ast.ASTNode;
 import org.codehaus.groovy.ast.ClassNode;
 import org.codehaus.groovy.ast.Comment;
 import org.codehaus.groovy.ast.MethodNode;
@@ -23,11 +28,11 @@ import org.codehaus.groovy.ast.expr.ClosureExpression;
 import org.codehaus.groovy.eclipse.GroovyPlugin;
 import org.codehaus.groovy.eclipse.codebrowsing.fragments.IASTFragment;
 import org.codehaus.groovy.eclipse.codebrowsing.selection.FindSurroundingNode;
+import org.codehaus.groovy.eclipse.core.model.ModuleStructure;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
-import org.eclipse.jdt.groovy.core.util.DepthFirstVisitor;
 import org.eclipse.jdt.groovy.core.util.ReflectionUtils;
 import org.eclipse.jdt.ui.text.folding.DefaultJavaFoldingStructureProvider;
 import org.eclipse.jface.text.BadLocationException;
@@ -81,28 +86,23 @@ public class GroovyAwareFoldingStructureProvider extends DefaultJavaFoldingStruc
         super.computeFoldingStructure(element, context);
     }
 
-    protected void computeClosureFoldingStructure(final IJavaElement element, final FoldingStructureComputationContext context) {
-        DepthFirstVisitor visitor = new DepthFirstVisitor() {
-            @Override
-            public void visitClosureExpression(ClosureExpression expression) {
-                if (expression.getEnd() > 0) {
-                    IRegion normalized = alignRegion(new Region(expression.getStart(), expression.getLength()), context);
-                    if (normalized != null) {
-                        // TODO: any consequences to using the main type as the member?
-                        Position position = createMemberPosition(normalized, (IMember) element);
-                        if (position != null) {
-                            boolean isCollapsed = false, isComment = false;
-                            context.addProjectionRange(new JavaProjectionAnnotation(isCollapsed, element, isComment), position);
-                        }
-                    }
+    protected void computeClosureFoldingStructure(IJavaElement element, FoldingStructureComputationContext context) {
+        // closures are collected by the same traversal that indexes the module for outline deltas
+        for (ClosureExpression expression : ModuleStructure.of(editor.getModuleNode()).getClosures()) {
+            IRegion normalized = alignRegion(new Region(expression.getStart(), expression.getLength()), context);
+            if (normalized != null) {
+                // TODO: any consequences to using the main type as the member?
+                Position position = createMemberPosition(normalized, (IMember) element);
+                if (position != null) {
+                    boolean isCollapsed = false, isComment = false;
+                    context.addProjectionRange(new JavaProjectionAnnotation(isCollapsed, element, isComment), position);
                 }
-                super.visitClosureExpression(expression);
             }
-        };
-        visitor.visitModule(editor.getModuleNode());
+        }
     }
 
     protected void computeCommentFoldingStructure(IJavaElement element, FoldingStructureComputationContext context) {
+        int[][] memberRanges = null;
         for (Comment comment : editor.getModuleNode().getContext().getComments()) {
             if (!comment.isJavadoc() && comment.eline > comment.sline) {
                 try {
@@ -112,7 +112,14 @@ public class GroovyAwareFoldingStructureProvider extends DefaultJavaFoldingStruc
                     int length = (document.getLineOffset(comment.eline - 1) + (comment.ecol - 1)) - offset;
 
                     IRegion normalized = alignRegion(new Region(offset, length), context);
-                    if (normalized != null && isScriptMethodElement(normalized)) {
+                    if (normalized == null) {
+                        continue;
+                    }
+                    if (memberRanges == null) {
+                        memberRanges = getMemberRanges(editor.getModuleNode());
+                    }
+                    // a comment clear of every member and top-level statement is in the script body
+                    if (!intersects(memberRanges, normalized) || isScriptMethodElement(normalized)) {
                         Position position = createCommentPosition(normalized);
                         if (position != null) {
                             boolean isCollapsed = false, isComment = true;
@@ -167,6 +174,53 @@ public class GroovyAwareFoldingStructureProvider extends DefaultJavaFoldingStruc
         return false;
     }
 
+    /**
+     * Returns the merged source ranges of a module's members and its script
+     * body statements, sorted by offset.
+     */
+    private static int[][] getMemberRanges(ModuleNode module) {
+        List<ASTNode> members = new ArrayList<>();
+        for (ClassNode classNode : module.getClasses()) {
+            if (!classNode.isScript()) {
+                members.add(classNode);
+            } else {
+                members.addAll(classNode.getFields());
+                for (MethodNode methodNode : classNode.getMethods()) {
+                    if (!methodNode.isScriptBody()) {
+                        members.add(methodNode);
+                    }
+                }
+            }
+        }
+        members.addAll(module.getStatementBlock().getStatements());
+
+        List<int[]> ranges = new ArrayList<>(members.size());
+        members.stream().filter(node -> node.getEnd() > 0).sorted(Comparator.comparingInt(ASTNode::getStart)).forEach(node -> {
+            int[] last = (ranges.isEmpty() ? null : ranges.get(ranges.size() - 1));
+            if (last != null && node.getStart() < last[1]) {
+                last[1] = Math.max(last[1], node.getEnd());
+            } else {
+                ranges.add(new int[] {node.getStart(), node.getEnd()});
+            }
+        });
+        return ranges.toArray(new int[ranges.size()][]);
+    }
+
+    private static boolean intersects(int[][] ranges, IRegion region) {
+        int lo = 0, hi = ranges.length - 1, end = region.getOffset() + region.getLength();
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (ranges[mid][1] <= region.getOffset()) {
+                lo = mid + 1;
+            } else if (ranges[mid][0] >= end) {
+                hi = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
     protected static IDocument getDocument(FoldingStructureComputationContext context) {
         return ReflectionUtils.executePrivateMethod(context.getClass(), "getDocument", context);
     }
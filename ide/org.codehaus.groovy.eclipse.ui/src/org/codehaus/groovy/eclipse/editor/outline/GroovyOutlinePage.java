@@ -1,5 +1,5 @@
 /*
- * Copyright 2009-2017 the original author or authors.
+ * Copyright 2009-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,8 +15,17 @@
  */
 package org.codehaus.groovy.eclipse.editor.outline;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.codehaus.groovy.ast.ModuleNode;
+import org.codehaus.groovy.eclipse.core.model.ModuleNodeDelta;
+import org.codehaus.groovy.eclipse.core.model.ModuleStructure.ElementKind;
 import org.codehaus.groovy.eclipse.editor.GroovyEditor;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IParent;
 import org.eclipse.jdt.core.ISourceReference;
+import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.internal.ui.javaeditor.JavaOutlinePage;
 import org.eclipse.jface.action.IMenuManager;
 import org.eclipse.jface.viewers.ViewerFilter;
@@ -26,6 +35,9 @@ public class GroovyOutlinePage extends JavaOutlinePage {
 
     private OCompilationUnit outlineCompilationUnit;
 
+    /** The module the outline elements were last computed from. */
+    private ModuleNode outlineModule;
+
     public GroovyOutlinePage(String contextMenuID, GroovyEditor editor, OCompilationUnit unit) {
         super(contextMenuID, editor);
         outlineCompilationUnit = unit;
@@ -52,12 +64,48 @@ public class GroovyOutlinePage extends JavaOutlinePage {
         }
     }
 
+    /**
+     * Brings the outline up to date with the compilation unit's module. This is
+     * called for every selection change in the editor, so nothing is done until
+     * the module has been replaced by a reconcile. Then the elements are rebuilt
+     * and the tree is refreshed only if the structure differs; otherwise, all of
+     * the existing tree items are bound to the new elements, which carry the new
+     * source ranges, and their labels are updated.
+     */
     public void refresh() {
+        ModuleNode module = getOutlineCompilationUnit().getUnit().getModuleNode();
+        if (module != null && module == outlineModule) {
+            return;
+        }
+        ModuleNodeDelta delta = (module != null && outlineModule != null ? ModuleNodeDelta.compute(outlineModule, module) : null);
+        outlineModule = module;
+
         getOutlineCompilationUnit().refresh();
 
         JavaOutlineViewer outlineViewer = getOutlineViewer();
         if (outlineViewer != null) {
-            outlineViewer.refresh();
+            if (delta == null || delta.isReordered() || delta.affects(ElementKind.PACKAGE, ElementKind.IMPORT,
+                    ElementKind.CLASS, ElementKind.METHOD, ElementKind.FIELD, ElementKind.SCRIPT_VARIABLE)) {
+                outlineViewer.refresh();
+            } else {
+                // rebind every item, not just the top-level ones, since nested elements carry the source ranges too
+                List<IJavaElement> elements = new ArrayList<>();
+                collectElements(getOutlineCompilationUnit().getChildren(), elements);
+                outlineViewer.update(elements.toArray(), null);
+            }
+        }
+    }
+
+    private static void collectElements(IJavaElement[] elements, List<IJavaElement> collector) {
+        for (IJavaElement element : elements) {
+            collector.add(element);
+            if (element instanceof IParent) {
+                try {
+                    collectElements(((IParent) element).getChildren(), collector);
+                } catch (JavaModelException e) {
+                    // element does not exist; it has no items to rebind
+                }
+            }
         }
     }
 
@@ -17,13 +17,17 @@ package org.codehaus.groovy.eclipse.refactoring.actions;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
+import org.codehaus.groovy.eclipse.core.GroovyCore;
 import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.search.TypeNameMatch;
 import org.eclipse.jdt.internal.corext.fix.CleanUpConstants;
 import org.eclipse.jdt.internal.corext.fix.FixMessages;
@@ -44,6 +48,9 @@ public class GroovyImportsCleanUp extends AbstractGroovyCleanUp {
 
     private ImportsCleanUp javaCleanUp = new ImportsCleanUp(Collections.singletonMap(CleanUpConstants.ORGANIZE_IMPORTS, CleanUpOptions.TRUE));
 
+    /** Type search shared by the units of the project between pre- and post-conditions. */
+    private TypeSearch typeSearch;
+
     @Override
     public CleanUpRequirements getRequirements() {
         return javaCleanUp.getRequirements();
@@ -68,11 +75,33 @@ public class GroovyImportsCleanUp extends AbstractGroovyCleanUp {
         RefactoringStatus groovyStatus = super.checkPreConditions(project, groovyUnits.toArray(new ICompilationUnit[groovyUnits.size()]), monitor);
         //RefactoringStatus otherStatus = javaCleanUp.checkPreConditions(project, otherUnits.toArray(new ICompilationUnit[otherUnits.size()]), monitor);
         javaCleanUp.checkPreConditions(project, new ICompilationUnit[0], monitor);
+
+        typeSearch = new TypeSearch();
+        if (groovyUnits.size() > 1 && !groovyStatus.hasFatalError()) {
+            // search for the missing types of all units at once; only units
+            // that are working copies have a module that can be reused -- the
+            // others would be parsed here and once again by createFix, so the
+            // names they need are added to the shared type search as they come
+            Set<String> missingTypeNames = new HashSet<>();
+            for (ICompilationUnit unit : groovyUnits) {
+                if (unit.isWorkingCopy()) {
+                    missingTypeNames.addAll(new OrganizeGroovyImports((GroovyCompilationUnit) unit, null).findMissingTypeNames());
+                }
+            }
+            if (!missingTypeNames.isEmpty()) {
+                try {
+                    typeSearch.prefetchTypes(project, missingTypeNames, monitor);
+                } catch (JavaModelException e) {
+                    GroovyCore.logException("Failed to search for missing types in " + project.getElementName(), e);
+                }
+            }
+        }
         return groovyStatus;
     }
 
     @Override
     public RefactoringStatus checkPostConditions(IProgressMonitor monitor) throws CoreException {
+        typeSearch = null;
         return javaCleanUp.checkPostConditions(monitor);
     }
 
@@ -87,7 +116,7 @@ public class GroovyImportsCleanUp extends AbstractGroovyCleanUp {
         OrganizeGroovyImports op = new OrganizeGroovyImports((GroovyCompilationUnit) unit, (choices, ranges) -> {
             hasAmbiguity[0] = true;
             return new TypeNameMatch[0];
-        });
+        }, (typeSearch != null ? typeSearch : new TypeSearch()), null);
         final TextEdit edit = op.calculateMissingImports();
         if (status == null) {
             status = new RefactoringStatus();
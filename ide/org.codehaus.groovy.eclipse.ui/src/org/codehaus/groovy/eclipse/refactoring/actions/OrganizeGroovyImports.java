@@ -18,7 +18,9 @@ package org.codehaus.groovy.eclipse.refactoring.actions;
 import static org.eclipse.jdt.groovy.core.util.GroovyUtils.getBaseType;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -400,6 +402,7 @@ public class OrganizeGroovyImports {
 
     private final SubMonitor monitor;
     private IChooseImportQuery query;
+    private final TypeSearch typeSearch;
     private final GroovyCompilationUnit unit;
     private Map<String, UnresolvedTypeData> missingTypes;
     private Map<String, ImportNode> importsSlatedForRemoval;
@@ -409,11 +412,52 @@ public class OrganizeGroovyImports {
     }
 
     public OrganizeGroovyImports(GroovyCompilationUnit unit, IChooseImportQuery query, IProgressMonitor monitor) {
+        this(unit, query, new TypeSearch(), monitor);
+    }
+
+    /**
+     * @param typeSearch may be shared by the operations for several units, so
+     *     that missing types are searched for once (see {@link #findMissingTypeNames()})
+     */
+    public OrganizeGroovyImports(GroovyCompilationUnit unit, IChooseImportQuery query, TypeSearch typeSearch, IProgressMonitor monitor) {
         this.unit = unit;
         this.query = query;
+        this.typeSearch = typeSearch;
         this.monitor = SubMonitor.convert(monitor, "Organize import statements", 7);
     }
 
+    /**
+     * Collects the simple names of the unresolved type references in the unit.
+     * The result may include a few names that {@link #calculateMissingImports()}
+     * would not search for, like those of statically-imported members; it is
+     * meant for {@link TypeSearch#prefetchTypes} on behalf of several units.
+     * <p>
+     * If the unit is not a working copy, this parses it; prefer to call this
+     * only for units whose module is already held by the module manager.
+     */
+    public Set<String> findMissingTypeNames() {
+        ModuleNodeInfo info = unit.getModuleInfo(true);
+        if (info.isEmpty() || isUnclean(info, unit)) {
+            return Collections.emptySet();
+        }
+
+        missingTypes = new HashMap<>();
+        importsSlatedForRemoval = new HashMap<>();
+        try {
+            for (ClassNode clazz : (Iterable<ClassNode>) info.module.getClasses()) {
+                GroovyClassVisitor visitor = new FindUnresolvedReferencesVisitor();
+                visitor.visitClass(clazz); // modifies missingTypes
+            }
+            return new HashSet<>(missingTypes.keySet());
+        } catch (Exception e) {
+            GroovyPlugin.getDefault().logError("Exception thrown when finding missing types for " + unit.getElementName(), e);
+            return Collections.emptySet();
+        } finally {
+            importsSlatedForRemoval = null;
+            missingTypes = null;
+        }
+    }
+
     public boolean calculateAndApplyMissingImports() throws JavaModelException {
         TextEdit edit = calculateMissingImports();
         if (edit != null) {
@@ -426,7 +470,7 @@ public class OrganizeGroovyImports {
 
     public TextEdit calculateMissingImports() {
         String event = null;
-        if (GroovyLogManager.manager.hasLoggers()) {
+        if (GroovyLogManager.manager.isEnabled(TraceCategory.ORGANIZE_IMPORTS)) {
             GroovyLogManager.manager.logStart(event = unit.getElementName());
             GroovyLogManager.manager.log(TraceCategory.ORGANIZE_IMPORTS, event);
         }
@@ -611,7 +655,7 @@ public class OrganizeGroovyImports {
 
     private IType[] resolveMissingTypes(IProgressMonitor monitor) throws JavaModelException {
         // fill in all the potential matches
-        new TypeSearch().searchForTypes(unit, missingTypes, monitor);
+        typeSearch.searchForTypes(unit, missingTypes, monitor);
 
         List<TypeNameMatch> missingTypesNoChoiceRequired = new ArrayList<>();
         List<TypeNameMatch[]> missingTypesChoiceRequired = new ArrayList<>();
@@ -764,7 +808,7 @@ public class OrganizeGroovyImports {
     }
 
     private static void trace(String message, Object... arguments) {
-        if (GroovyLogManager.manager.hasLoggers()) {
+        if (GroovyLogManager.manager.isEnabled(TraceCategory.ORGANIZE_IMPORTS)) {
             GroovyLogManager.manager.log(TraceCategory.ORGANIZE_IMPORTS, String.format(message, arguments));
         }
     }
@@ -16,6 +16,8 @@
 package org.codehaus.groovy.eclipse.refactoring.actions;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -27,6 +29,7 @@ import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.jdt.core.Flags;
 import org.eclipse.jdt.core.IAnnotation;
 import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.ISourceRange;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.search.IJavaSearchConstants;
@@ -69,16 +72,58 @@ public class TypeSearch {
     }
 
     /**
-     * Use a SearchEngine to look for the types.
+     * Matches by simple type name from previous searches of {@link #project}.
+     */
+    private final Map<String, List<TypeNameMatch>> matches = new HashMap<>();
+
+    private IJavaProject project;
+
+    /**
+     * Use a SearchEngine to look for the types. Names that were searched for
+     * before by this instance (in the same project) are not searched again.
      * <p>
      * NOTE: This will not find inner types.
      *
      * @see OrganizeImportsOperation.TypeReferenceProcessor#process(org.eclipse.core.runtime.IProgressMonitor)
      */
     public void searchForTypes(GroovyCompilationUnit unit, Map<String, UnresolvedTypeData> missingTypes, IProgressMonitor monitor) throws JavaModelException, OperationCanceledException {
-        char[][] allTypes = new char[missingTypes.size()][];
+        prefetchTypes(unit.getJavaProject(), missingTypes.keySet(), monitor);
+
+        for (Map.Entry<String, UnresolvedTypeData> entry : missingTypes.entrySet()) {
+            UnresolvedTypeData data = entry.getValue();
+            for (TypeNameMatch match : matches.get(entry.getKey())) {
+                if (isOfKind(match, data.isAnnotation)) {
+                    data.addInfo(match);
+                }
+            }
+        }
+    }
+
+    /**
+     * Searches the project for types with any of the given simple names in one
+     * pass of the search engine. Subsequent calls to {@link #searchForTypes}
+     * for units of the project use the results, so organizing the imports of
+     * many units does not repeat the search for each one.
+     */
+    public void prefetchTypes(IJavaProject javaProject, Collection<String> simpleNames, IProgressMonitor monitor) throws JavaModelException, OperationCanceledException {
+        if (!javaProject.equals(project)) {
+            project = javaProject;
+            matches.clear();
+        }
+
+        Map<String, List<TypeNameMatch>> found = new HashMap<>();
+        for (String simpleName : simpleNames) {
+            if (!matches.containsKey(simpleName)) {
+                found.put(simpleName, new ArrayList<>());
+            }
+        }
+        if (found.isEmpty()) {
+            return;
+        }
+
+        char[][] allTypes = new char[found.size()][];
         int i = 0;
-        for (String simpleName : missingTypes.keySet()) {
+        for (String simpleName : found.keySet()) {
             allTypes[i++] = simpleName.toCharArray();
         }
         List<TypeNameMatch> typesFound = new ArrayList<>();
@@ -90,20 +135,19 @@ public class TypeSearch {
                 }
             }
         };
-        IJavaSearchScope scope = SearchEngine.createJavaSearchScope(new IJavaElement[] {unit.getJavaProject()});
+        IJavaSearchScope scope = SearchEngine.createJavaSearchScope(new IJavaElement[] {javaProject});
         int policy = (monitor == null ? IJavaSearchConstants.CANCEL_IF_NOT_READY_TO_SEARCH : IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH);
         new SearchEngine().searchAllTypeNames(null, allTypes, scope, requestor, policy, monitor);
 
         for (TypeNameMatch match : typesFound) {
-            UnresolvedTypeData data = missingTypes.get(match.getSimpleTypeName());
-            if (data == null) {
+            List<TypeNameMatch> list = found.get(match.getSimpleTypeName());
+            if (list == null) {
                 GroovyCore.logException("GRECLIPSE-735: Match not found in missing types: " + match.getFullyQualifiedName(), new Exception());
                 continue;
             }
-            if (isOfKind(match, data.isAnnotation)) {
-                data.addInfo(match);
-            }
+            list.add(match);
         }
+        matches.putAll(found);
     }
 
     protected boolean isOfKind(TypeNameMatch match, boolean isAnnotation) throws JavaModelException {
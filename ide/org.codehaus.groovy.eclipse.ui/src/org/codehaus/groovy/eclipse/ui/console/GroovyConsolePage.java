@@ -21,6 +21,7 @@ import java.util.Date;
 import org.codehaus.groovy.eclipse.GroovyLogManager;
 import org.codehaus.groovy.eclipse.IGroovyLogger;
 import org.codehaus.groovy.eclipse.TraceCategory;
+import org.eclipse.jface.action.Action;
 import org.eclipse.jface.action.IToolBarManager;
 import org.eclipse.swt.custom.StyledText;
 import org.eclipse.swt.widgets.Composite;
@@ -40,6 +41,8 @@ public class GroovyConsolePage extends TextConsolePage implements IGroovyLogger
 
     private CloseConsoleAction fCloseConsoleAction;
 
+    private Action fDumpCaptureAction;
+
     public GroovyConsolePage(TextConsole console, IConsoleView view) {
         super(console, view);
     }
@@ -107,6 +110,7 @@ public class GroovyConsolePage extends TextConsolePage implements IGroovyLogger
             fScrollLockAction = null;
         }
         fCloseConsoleAction = null;
+        fDumpCaptureAction = null;
         GroovyLogManager.manager.removeLogger(this);
     }
 
@@ -122,9 +126,35 @@ public class GroovyConsolePage extends TextConsolePage implements IGroovyLogger
         super.createActions();
         fScrollLockAction = new ScrollLockAction(getConsoleView());
         fCloseConsoleAction = new CloseConsoleAction(getConsole());
+        fDumpCaptureAction = new Action("Dump Captured Events") {
+            @Override
+            public void run() {
+                dumpCapture();
+            }
+        };
+        fDumpCaptureAction.setToolTipText("Show the recent events kept by the trace capture buffer");
         setAutoScroll(!fScrollLockAction.isChecked());
     }
 
+    /**
+     * Appends the recent events kept by the trace capture buffer, including those
+     * from before this console was opened; see {@link GroovyLogManager#dumpCapture()}.
+     */
+    private void dumpCapture() {
+        TextConsoleViewer viewer = getViewer();
+        if (viewer != null) {
+            String capture = GroovyLogManager.manager.dumpCapture();
+            if (capture != null) {
+                viewer.getTextWidget().append("---------- Captured events ----------\n" + capture + "-------------------------------------\n");
+            } else {
+                viewer.getTextWidget().append("Event capture is disabled; start with -Dgreclipse.trace.capture=<number of events to keep>\n");
+            }
+            if (!fScrollLockAction.isChecked()) {
+                viewer.getTextWidget().setTopIndex(viewer.getTextWidget().getLineCount() - 1);
+            }
+        }
+    }
+
     public void setAutoScroll(boolean scroll) {
         TextConsoleViewer viewer = getViewer();
         if (viewer != null) {
@@ -136,6 +166,7 @@ public class GroovyConsolePage extends TextConsolePage implements IGroovyLogger
     protected void configureToolBar(IToolBarManager mgr) {
         super.configureToolBar(mgr);
         mgr.appendToGroup(IConsoleConstants.OUTPUT_GROUP, fScrollLockAction);
+        mgr.appendToGroup(IConsoleConstants.OUTPUT_GROUP, fDumpCaptureAction);
         mgr.appendToGroup(IConsoleConstants.LAUNCH_GROUP, fCloseConsoleAction);
     }
 }
@@ -68,6 +68,7 @@ import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.StringTokenizer;
 
+import org.codehaus.jdt.groovy.integration.LanguageSupportFactory;
 import org.eclipse.jdt.core.compiler.CategorizedProblem;
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.core.compiler.CompilationProgress;
@@ -1221,6 +1222,14 @@ public class Main implements ProblemSeverities, SuffixConstants {
 					&& (this.main.showProgress || isTimed || this.main.verbose)) {
 				logNumberOfClassFilesGenerated(this.main.exportedClassFilesCounter);
 			}
+			// GROOVY add
+			if (this.main.groovyProfile) {
+				String report = LanguageSupportFactory.takeProfileReport();
+				if (report != null) {
+					printlnOut(report);
+				}
+			}
+			// GROOVY end
 			if ((this.tagBits & Logger.XML) != 0) {
 				endTag(Logger.STATS);
 			}
@@ -1426,6 +1435,9 @@ public class Main implements ProblemSeverities, SuffixConstants {
 	public int timing = TIMING_DISABLED;
 	public CompilerStats[] compilerStats;
 	public boolean verbose = false;
+	// GROOVY add
+	public boolean groovyProfile = false;
+	// GROOVY end
 	private String[] expandedCommandLine;
 
 	private PrintWriter err;
@@ -2084,6 +2096,11 @@ public void configure(String[] argv) {
 					});
 					continue;
 				}
+				if (currentArg.equals("-groovyProfile")) { //$NON-NLS-1$
+					this.groovyProfile = true;
+					LanguageSupportFactory.setProfilingEnabled(true);
+					continue;
+				}
 				// GROOVY end
 				if (currentArg.equals("-log")) { //$NON-NLS-1$
 					if (this.log != null)
@@ -151,4 +151,12 @@ class DefaultLanguageSupport implements LanguageSupport {
 	public ISupplementalIndexer getSupplementalIndexer() {
 		return new NoopIndexer();
 	}
+
+	public void setProfilingEnabled(boolean enabled) {
+		// nop
+	}
+
+	public String takeProfileReport() {
+		return null;
+	}
 }
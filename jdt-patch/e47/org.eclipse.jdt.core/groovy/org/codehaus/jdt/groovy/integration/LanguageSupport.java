@@ -154,4 +154,16 @@ public interface LanguageSupport {
 	 * @return the supplemental indexer that provides extra indexing for interesting binary files
 	 */
 	ISupplementalIndexer getSupplementalIndexer();
+
+	/**
+	 * Enables or disables collection of compiler timings and counters (phases,
+	 * source units, AST transforms and type lookups).
+	 */
+	void setProfilingEnabled(boolean enabled);
+
+	/**
+	 * @return report of the compiler timings and counters collected since the
+	 *         previous report, or {@code null} if nothing was collected
+	 */
+	String takeProfileReport();
 }
@@ -219,4 +219,19 @@ public class LanguageSupportFactory {
 	public static ISupplementalIndexer getSupplementalIndexer() {
 		return getLanguageSupport().getSupplementalIndexer();
 	}
+
+	/**
+	 * Enables or disables collection of compiler timings and counters
+	 */
+	public static void setProfilingEnabled(boolean enabled) {
+		getLanguageSupport().setProfilingEnabled(enabled);
+	}
+
+	/**
+	 * @return report of the compiler timings and counters collected since the
+	 *         previous report, or {@code null} if nothing was collected
+	 */
+	public static String takeProfileReport() {
+		return getLanguageSupport().takeProfileReport();
+	}
 }
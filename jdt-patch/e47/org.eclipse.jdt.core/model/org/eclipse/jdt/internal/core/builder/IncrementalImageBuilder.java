@@ -648,6 +648,20 @@ protected boolean findSourceFiles(IResourceDelta sourceDelta, ClasspathMultiDire
 						if (JavaBuilder.DEBUG)
 							System.out.println("Compile this changed source file " + typeLocator); //$NON-NLS-1$
 						SourceFile unit = new SourceFile((IFile) resource, md, true);
+						// GROOVY add -- skip a Groovy source that was touched (e.g. by a checkout or refresh) but has the contents it was last compiled from
+						if (isInterestingProject && LanguageSupportFactory.isInterestingSourceFile(resourceName)) {
+							try {
+								unit.getContents();
+							} catch (AbortCompilation e) {
+								// compile it and let the compiler report the problem
+							}
+							if (this.newState.isSameContent(typeLocator, unit.contentHash)) {
+								if (JavaBuilder.DEBUG)
+									System.out.println("Skip unchanged contents of source file " + typeLocator); //$NON-NLS-1$
+								return true;
+							}
+						}
+						// GROOVY end
 						this.sourceFiles.add(unit);
 				}
 				return true;
@@ -764,6 +778,10 @@ protected void removeClassFile(IPath typePath, IContainer outputFolder) throws C
 			System.out.println("Found removed type " + typePath); //$NON-NLS-1$
 		addDependentsOf(typePath, true); // when member types are removed, their enclosing type is structurally changed
 	}
+	// GROOVY add -- a closure or anonymous class that an earlier build recorded as a top-level type
+	if (typePath.lastSegment().indexOf('$') != -1 && this.newState.isKnownType(typePath.toString()))
+		this.newState.removeQualifiedTypeName(typePath.toString());
+	// GROOVY end
 	IFile classFile = outputFolder.getFile(typePath.addFileExtension(SuffixConstants.EXTENSION_class));
 	if (classFile.exists()) {
 		if (JavaBuilder.DEBUG)
@@ -841,7 +859,12 @@ protected void writeClassFileContents(ClassFile classfile, IFile file, String qu
 	// If structural changes occurred then add dependent source files
 	byte[] bytes = classfile.getBytes();
 	if (file.exists()) {
-		if (writeClassFileCheck(file, qualifiedFileName, bytes) || compilationUnit.updateClassFile) { // see 46093
+		// GROOVY edit -- closure, anonymous and local class files of a Groovy source carry no InnerClasses attribute, so the
+		// structural check would add the dependents of the enclosing type; nothing outside the source can refer to them
+		//if (writeClassFileCheck(file, qualifiedFileName, bytes) || compilationUnit.updateClassFile) { // see 46093
+		boolean isGroovyImplementationType = !isTopLevelType && LanguageSupportFactory.isInterestingSourceFile(compilationUnit.resource.getName());
+		if ((isGroovyImplementationType ? writeClassFileChanged(file, bytes) : writeClassFileCheck(file, qualifiedFileName, bytes)) || compilationUnit.updateClassFile) { // see 46093
+		// GROOVY end
 			if (JavaBuilder.DEBUG)
 				System.out.println("Writing changed class file " + file.getName());//$NON-NLS-1$
 			if (!file.isDerived())
@@ -897,6 +920,13 @@ protected void writeClassFileContents(ClassFile classfile, IFile file, String qu
 	}
 }
 
+// GROOVY add
+protected boolean writeClassFileChanged(IFile file, byte[] newBytes) throws CoreException {
+	byte[] oldBytes = Util.getResourceContentsAsByteArray(file);
+	return !Arrays.equals(oldBytes, newBytes);
+}
+// GROOVY end
+
 protected boolean writeClassFileCheck(IFile file, String fileName, byte[] newBytes) throws CoreException {
 	try {
 		byte[] oldBytes = Util.getResourceContentsAsByteArray(file);
@@ -1,3 +1,4 @@
+// GROOVY PATCHED
 /*******************************************************************************
  * Copyright (c) 2000, 2018 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
@@ -41,6 +42,10 @@ ClasspathLocation[] binaryLocations;
 SimpleLookupTable references;
 // keyed by qualified type name "p1/p2/A", value is the project relative path which defines this type "src1/p1/p2/A.java"
 public SimpleLookupTable typeLocators;
+// GROOVY add
+// keyed by the project relative path of a Groovy source, value is the digest of the contents it was last compiled from
+SimpleLookupTable contentHashes;
+// GROOVY end
 
 int buildNumber;
 long lastStructuralBuildTime;
@@ -72,6 +77,9 @@ protected State(JavaBuilder javaBuilder) {
 	this.binaryLocations = javaBuilder.nameEnvironment.binaryLocations;
 	this.references = new SimpleLookupTable(7);
 	this.typeLocators = new SimpleLookupTable(7);
+	// GROOVY add
+	this.contentHashes = new SimpleLookupTable(7);
+	// GROOVY end
 
 	this.buildNumber = 0; // indicates a full build
 	this.lastStructuralBuildTime = computeStructuralBuildTime(javaBuilder.lastState == null ? 0 : javaBuilder.lastState.lastStructuralBuildTime);
@@ -111,6 +119,18 @@ void copyFrom(State lastState) {
 			if (keyTable[i] != null)
 				this.typeLocators.put(keyTable[i], valueTable[i]);
 	}
+	// GROOVY add
+	try {
+		this.contentHashes = (SimpleLookupTable) lastState.contentHashes.clone();
+	} catch (CloneNotSupportedException e) {
+		this.contentHashes = new SimpleLookupTable(lastState.contentHashes.elementSize);
+		Object[] keyTable = lastState.contentHashes.keyTable;
+		Object[] valueTable = lastState.contentHashes.valueTable;
+		for (int i = 0, l = keyTable.length; i < l; i++)
+			if (keyTable[i] != null)
+				this.contentHashes.put(keyTable[i], valueTable[i]);
+	}
+	// GROOVY end
 }
 public char[][] getDefinedTypeNamesFor(String typeLocator) {
 	Object c = this.references.get(typeLocator);
@@ -205,8 +225,30 @@ void removeLocator(String typeLocatorToRemove) {
 	this.knownPackageNames = null;
 	this.references.removeKey(typeLocatorToRemove);
 	this.typeLocators.removeValue(typeLocatorToRemove);
+	// GROOVY add
+	this.contentHashes.removeKey(typeLocatorToRemove);
+	// GROOVY end
 }
 
+// GROOVY add
+/**
+ * Records the digest of the contents that the given source was compiled from; {@code null} forgets it.
+ */
+void recordContentHash(String typeLocator, String contentHash) {
+	if (contentHash == null)
+		this.contentHashes.removeKey(typeLocator);
+	else
+		this.contentHashes.put(typeLocator, contentHash);
+}
+
+/**
+ * Answers whether the given source was last compiled, without problems, from contents with the given digest.
+ */
+boolean isSameContent(String typeLocator, String contentHash) {
+	return contentHash != null && contentHash.equals(this.contentHashes.get(typeLocator));
+}
+// GROOVY end
+
 void removePackage(IResourceDelta sourceDelta) {
 	IResource resource = sourceDelta.getResource();
 	switch(resource.getType()) {
@@ -375,6 +417,14 @@ static State read(IProject project, DataInputStream in) throws IOException {
 		}
 		newState.references.put(typeLocator, collection);
 	}
+	// GROOVY add -- optional trailing section; absent if written by an unpatched builder
+	newState.contentHashes = new SimpleLookupTable(7);
+	if (in.available() > 0) {
+		newState.contentHashes = new SimpleLookupTable(length = in.readInt());
+		for (int i = 0; i < length; i++)
+			newState.contentHashes.put(internedTypeLocators[in.readInt()], in.readUTF());
+	}
+	// GROOVY end
 	if (JavaBuilder.DEBUG)
 		System.out.println("Successfully read state for " + newState.javaProjectName); //$NON-NLS-1$
 	return newState;
@@ -756,6 +806,28 @@ void write(DataOutputStream out) throws IOException {
 		if (JavaBuilder.DEBUG && length != 0)
 			System.out.println("references table is inconsistent"); //$NON-NLS-1$
 	}
+
+	// GROOVY add
+/*
+ * Content hashes table (last, so that it is skipped by readers that do not know it)
+ * int		interned locator id
+ * String		digest
+ */
+	int count = 0;
+	keyTable = this.contentHashes.keyTable;
+	valueTable = this.contentHashes.valueTable;
+	for (int i = 0, l = keyTable.length; i < l; i++)
+		if (keyTable[i] != null && internedTypeLocators.containsKey(keyTable[i]))
+			count += 1;
+	out.writeInt(count);
+	for (int i = 0, l = keyTable.length; i < l; i++) {
+		if (keyTable[i] != null && internedTypeLocators.containsKey(keyTable[i])) {
+			Integer index = (Integer) internedTypeLocators.get(keyTable[i]);
+			out.writeInt(index.intValue());
+			out.writeUTF((String) valueTable[i]);
+		}
+	}
+	// GROOVY end
 }
 
 private void writeName(char[] name, DataOutputStream out) throws IOException {
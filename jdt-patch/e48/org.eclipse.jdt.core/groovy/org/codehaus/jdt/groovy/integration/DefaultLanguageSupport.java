@@ -169,4 +169,14 @@ class DefaultLanguageSupport implements LanguageSupport {
 	public ISupplementalIndexer getSupplementalIndexer() {
 		return new NoopIndexer();
 	}
+
+	@Override
+	public void setProfilingEnabled(boolean enabled) {
+		// nop
+	}
+
+	@Override
+	public String takeProfileReport() {
+		return null;
+	}
 }
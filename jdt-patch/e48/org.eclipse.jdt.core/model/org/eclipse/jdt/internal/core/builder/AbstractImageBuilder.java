@@ -155,6 +155,9 @@ public void acceptResult(CompilationResult result) {
 		IType mainType = null;
 		String mainTypeName = null;
 		String typeLocator = compilationUnit.typeLocator();
+		// GROOVY add -- a source with problems is compiled again even if unchanged, so touching it still forces a rebuild
+		this.newState.recordContentHash(typeLocator, result.hasProblems() ? null : compilationUnit.contentHash);
+		// GROOVY end
 		ClassFile[] classFiles = result.getClassFiles();
 		int length = classFiles.length;
 		ArrayList duplicateTypeNames = null;
@@ -171,6 +174,11 @@ public void acceptResult(CompilationResult result) {
 				String qualifiedTypeName = new String(classFile.outerMostEnclosingClassFile().fileName());
 				if (this.newState.isDuplicateLocator(qualifiedTypeName, typeLocator))
 					continue;
+				// GROOVY add -- closures and anonymous classes were recorded as top-level types by earlier builds
+				String nestedTypeName = new String(classFile.fileName());
+				if (this.newState.isKnownType(nestedTypeName))
+					this.newState.removeQualifiedTypeName(nestedTypeName);
+				// GROOVY end
 			} else {
 				String qualifiedTypeName = new String(classFile.fileName()); // the qualified type name "p1/p2/A"
 				if (this.newState.isDuplicateLocator(qualifiedTypeName, typeLocator)) {
@@ -11,6 +11,11 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.core.builder;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.codehaus.jdt.groovy.integration.LanguageSupportFactory;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.CoreException;
@@ -27,6 +32,10 @@ public IFile resource;
 ClasspathMultiDirectory sourceLocation;
 String initialTypeName;
 boolean updateClassFile;
+// GROOVY add
+// digest of the contents first read from a Groovy source; see State#isSameContent
+String contentHash;
+// GROOVY end
 
 public SourceFile(IFile resource, ClasspathMultiDirectory sourceLocation) {
 	this.resource = resource;
@@ -80,7 +89,14 @@ String extractTypeName() {
 public char[] getContents() {
 
 	try {
-		return Util.getResourceContentsAsCharArray(this.resource);
+		// GROOVY edit
+		//return Util.getResourceContentsAsCharArray(this.resource);
+		char[] contents = Util.getResourceContentsAsCharArray(this.resource);
+		// keep the first digest; if the source is changed later, it will not match the next build's digest
+		if (this.contentHash == null && LanguageSupportFactory.isInterestingSourceFile(this.resource.getName()))
+			this.contentHash = digest(contents);
+		return contents;
+		// GROOVY end
 	} catch (CoreException e) {
 		throw new AbortCompilation(true, new MissingSourceFileException(this.resource.getFullPath().toString()));
 	}
@@ -135,5 +151,17 @@ public char[] getModuleName() {
 public IPath getOutputLocation() {
 	return this.sourceLocation.getProjectRelativePath();
 }
+
+private static String digest(char[] contents) {
+	try {
+		byte[] bytes = MessageDigest.getInstance("SHA-1").digest(new String(contents).getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+		StringBuilder hex = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes)
+			hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		return hex.toString();
+	} catch (NoSuchAlgorithmException e) {
+		return null;
+	}
+}
 // GROOVY end
 }